@@ -2,7 +2,7 @@ package com.capstone.HRMS.Config;
 
 
 import com.capstone.HRMS.Service.JwtService;
-import com.capstone.HRMS.Service.UserDetailsServiceImpl;
+import com.capstone.HRMS.Service.UserPrincipalCache;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -11,12 +11,14 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 
 @Component
 public class JwtFilter extends OncePerRequestFilter {
@@ -25,7 +27,7 @@ public class JwtFilter extends OncePerRequestFilter {
     private JwtService jwtService;
 
     @Autowired
-    private UserDetailsServiceImpl userDetailsServiceImpl;
+    private UserPrincipalCache userPrincipalCache;
 
     @Autowired
     ApplicationContext applicationContext;
@@ -34,27 +36,41 @@ public class JwtFilter extends OncePerRequestFilter {
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         String authHeader = request.getHeader("Authorization");
-        String token = null;
-        String username = null;
 
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            token = authHeader.substring(7);
-            username = jwtService.extractUserName(token); // extract from token
+        if (authHeader != null && authHeader.startsWith("Bearer ")
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            // One parse checks signature and expiry and yields userId/role/version; no DB access
+            Optional<JwtService.TokenClaims> claims = jwtService.parseToken(authHeader.substring(7));
 
-            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = userDetailsServiceImpl.loadUserByUsername(username);
+            // Disabling an account or changing its password or role bumps the version and revokes older tokens
+            if (claims.isPresent() && isCurrent(claims.get())) {
+                UserDetails userDetails = User.builder()
+                        .username(claims.get().username())
+                        .password("")
+                        .authorities("ROLE_" + claims.get().role().name())
+                        .build();
+                request.setAttribute(JwtService.TOKEN_CLAIMS_ATTRIBUTE, claims.get());
 
-                if (jwtService.validateToken(token, userDetails)) {
-                    UsernamePasswordAuthenticationToken authToken =
-                            new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                UsernamePasswordAuthenticationToken authToken =
+                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
 
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-                }
+                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(authToken);
             }
         }
 
         filterChain.doFilter(request, response);
     }
 
+    // Checked against the cached users row rather than per-node state, so a revocation made on any
+    // node is seen here within app.user-cache.ttl-ms (immediately on the node that made it)
+    private boolean isCurrent(JwtService.TokenClaims claims) {
+        return userPrincipalCache.get(claims.username())
+                .filter(user -> user.userId() == claims.userId())
+                .filter(UserPrincipalCache.UserSnapshot::enabled)
+                .filter(user -> user.tokenVersion() == claims.tokenVersion())
+                .filter(user -> user.role() == claims.role())
+                .isPresent();
+    }
+
 }
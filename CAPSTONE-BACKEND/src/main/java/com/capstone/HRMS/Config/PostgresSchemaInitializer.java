@@ -0,0 +1,151 @@
+package com.capstone.HRMS.Config;
+
+import com.capstone.HRMS.Entity.OutboundEmail;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.List;
+
+// PostgreSQL-only schema objects that JPA annotations can't express (extensions, expression and
+// partial indexes). ddl-auto=update creates the tables first; this runs once the app is up.
+// Every statement is idempotent. STATEMENTS are best effort (failures are logged); the constraints
+// that correctness depends on are applied separately and fail startup if they can't be created.
+@Component
+public class PostgresSchemaInitializer {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostgresSchemaInitializer.class);
+
+    private static final List<String> STATEMENTS = List.of(
+            // Trigram indexes so the timelog name search (lower(col) LIKE '%x%') doesn't scan every row
+            "CREATE EXTENSION IF NOT EXISTS pg_trgm",
+            "CREATE INDEX IF NOT EXISTS idx_users_username_trgm ON users USING gin (lower(username) gin_trgm_ops)",
+            "CREATE INDEX IF NOT EXISTS idx_employee_details_first_name_trgm ON employee_details USING gin (lower(first_name) gin_trgm_ops)",
+            "CREATE INDEX IF NOT EXISTS idx_employee_details_last_name_trgm ON employee_details USING gin (lower(last_name) gin_trgm_ops)",
+            "CREATE INDEX IF NOT EXISTS idx_employee_details_department_lower ON employee_details (lower(department))",
+            // Adjusted timelogs are a small slice of the table
+            "CREATE INDEX IF NOT EXISTS idx_timelog_adjusted ON timelog (log_date DESC, id DESC) WHERE adjusted_by_user_id IS NOT NULL",
+            // Revoking a refresh-token chain only ever touches its live tokens
+            "CREATE INDEX IF NOT EXISTS idx_refresh_token_live_family ON refresh_token (family_id) WHERE revoked_at IS NULL",
+            // Outbox rows finished before bodies were redacted on SENT/DEAD may still hold reset links
+            "UPDATE outbound_email SET body = '" + OutboundEmail.REDACTED_BODY + "' "
+                    + "WHERE status <> 'PENDING' AND body <> '" + OutboundEmail.REDACTED_BODY + "'",
+            // Reset tokens used to be stored raw; drop those rows (10-minute links anyway) and the column
+            "DELETE FROM password_reset_tokens WHERE selector IS NULL OR verifier_hash IS NULL",
+            "ALTER TABLE password_reset_tokens DROP COLUMN IF EXISTS token"
+    );
+
+    // Backfill for rows written before email_normalized existed
+    private static final String BACKFILL_NORMALIZED_EMAILS = "UPDATE employee_details SET email_normalized = lower(trim(email)) "
+            + "WHERE email_normalized IS NULL AND email IS NOT NULL AND trim(email) <> ''";
+
+    private static final String COUNT_SHARED_EMAILS = "SELECT count(*) FROM (SELECT email_normalized FROM employee_details "
+            + "WHERE email_normalized IS NOT NULL GROUP BY email_normalized HAVING count(*) > 1) shared";
+
+    // Rows left open before uk_timelog_active_user existed: keep each user's newest open timelog
+    // and close the older ones at their last known activity, so HR can adjust them afterwards
+    private static final String CLOSE_DUPLICATE_OPEN_TIMELOGS = """
+            UPDATE timelog t SET status = 'CLOCKED_OUT',
+                   time_out = COALESCE(t.time_out, t.break_time_start, t.time_in, t.log_date),
+                   break_time_end = CASE WHEN t.break_time_start IS NOT NULL AND t.break_time_end IS NULL
+                                         THEN t.break_time_start ELSE t.break_time_end END,
+                   updated_date = now(), version = COALESCE(t.version, 0) + 1
+            WHERE t.status <> 'CLOCKED_OUT'
+              AND EXISTS (SELECT 1 FROM timelog newer
+                          WHERE newer.user_id = t.user_id AND newer.status <> 'CLOCKED_OUT' AND newer.id > t.id)
+            """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (!isPostgres()) {
+            return;
+        }
+
+        for (String statement : STATEMENTS) {
+            try {
+                jdbcTemplate.execute(statement);
+            } catch (Exception e) {
+                logger.warn("Schema statement failed ({}): {}", statement, e.getMessage());
+            }
+        }
+
+        ensureSingleOpenTimelogPerUser();
+        ensureUniqueNormalizedEmails();
+    }
+
+    // Email lookups (password reset, duplicate checks) tolerate shared addresses, so existing
+    // duplicates don't stop startup. They are reported on every start instead of being skipped
+    // quietly, and get a plain index until HR gives each account its own address.
+    private void ensureUniqueNormalizedEmails() {
+        Integer shared = transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("LOCK TABLE employee_details IN SHARE ROW EXCLUSIVE MODE");
+            jdbcTemplate.update(BACKFILL_NORMALIZED_EMAILS);
+            Integer count = jdbcTemplate.queryForObject(COUNT_SHARED_EMAILS, Integer.class);
+            if (count == null || count == 0) {
+                jdbcTemplate.execute("CREATE UNIQUE INDEX IF NOT EXISTS uk_employee_details_email_normalized "
+                        + "ON employee_details (email_normalized)");
+            } else {
+                jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_employee_details_email_normalized "
+                        + "ON employee_details (email_normalized)");
+            }
+            return count;
+        });
+        if (shared != null && shared > 0) {
+            logger.error("{} email address(es) are shared by several accounts, so uk_employee_details_email_normalized "
+                    + "was not created and password reset by email is refused for them; give each account its own address", shared);
+            return;
+        }
+        requireValidIndex("uk_employee_details_email_normalized");
+    }
+
+    // At most one open (clocked in / on break) timelog per user, whatever the request interleaving.
+    // The conditional clock-in relies on this index, so it is not optional: duplicates are closed
+    // under a table lock in the same transaction that creates it, and a missing index stops startup.
+    private void ensureSingleOpenTimelogPerUser() {
+        Integer closed = transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("LOCK TABLE timelog IN SHARE ROW EXCLUSIVE MODE");
+            int updated = jdbcTemplate.update(CLOSE_DUPLICATE_OPEN_TIMELOGS);
+            jdbcTemplate.execute("CREATE UNIQUE INDEX IF NOT EXISTS uk_timelog_active_user ON timelog (user_id) "
+                    + "WHERE status <> 'CLOCKED_OUT'");
+            return updated;
+        });
+        if (closed != null && closed > 0) {
+            logger.warn("Closed {} duplicate open timelog(s) so each user has at most one; review them for adjustment", closed);
+        }
+        requireValidIndex("uk_timelog_active_user");
+    }
+
+    private void requireValidIndex(String name) {
+        Integer valid = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM pg_index i JOIN pg_class c ON c.oid = i.indexrelid "
+                        + "WHERE c.relname = ? AND i.indisvalid", Integer.class, name);
+        if (valid == null || valid == 0) {
+            throw new IllegalStateException("Required index " + name + " is missing or invalid");
+        }
+    }
+
+    private boolean isPostgres() {
+        try (Connection connection = dataSource.getConnection()) {
+            return "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+        } catch (Exception e) {
+            logger.warn("Could not determine database type, skipping PostgreSQL schema setup: {}", e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.capstone.HRMS.Config;
+
+import com.capstone.HRMS.Service.RateLimitRule;
+import com.capstone.HRMS.Service.RateLimiter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.Set;
+
+// Per-client-IP token buckets for the unauthenticated endpoints that are worth abusing: logins,
+// forgot-password and public application submission. Registered for those paths in WebConfig.
+// The per-IP login bucket is generous because a whole office can share one NAT address; the
+// tighter limit is per address and username, applied in AuthService once the body is read.
+@Component
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    public static final Set<String> LOGIN_PATHS = Set.of("/employee/login", "/hr/login", "/admin/login", "/auth/login");
+    public static final String FORGOT_PASSWORD_PATH = "/auth/forgot-password";
+    public static final String APPLICATION_SUBMIT_PATH = "/api/applications/submit";
+
+    @Autowired
+    private RateLimiter rateLimiter;
+
+    @Value("${app.rate-limit.trust-forwarded-for:false}")
+    private boolean trustForwardedFor;
+
+    // How many proxies in front of the app append to X-Forwarded-For. Only the entries they added are
+    // trusted, so the client address is read that many places from the right; anything further left
+    // came from the client and could be forged to get a fresh bucket.
+    @Value("${app.rate-limit.forwarded-for-hops:1}")
+    private int forwardedForHops;
+
+    private final RateLimitRule loginRule;
+    private final RateLimitRule forgotPasswordRule;
+    private final RateLimitRule applicationSubmitRule;
+
+    public RateLimitInterceptor(@Value("${app.rate-limit.login.capacity:100}") int loginCapacity,
+                                @Value("${app.rate-limit.login.per-minute:60}") double loginPerMinute,
+                                @Value("${app.rate-limit.forgot-password.capacity:3}") int forgotCapacity,
+                                @Value("${app.rate-limit.forgot-password.per-minute:1}") double forgotPerMinute,
+                                @Value("${app.rate-limit.application-submit.capacity:5}") int submitCapacity,
+                                @Value("${app.rate-limit.application-submit.per-minute:1}") double submitPerMinute) {
+        this.loginRule = RateLimitRule.perMinute("login", loginCapacity, loginPerMinute);
+        this.forgotPasswordRule = RateLimitRule.perMinute("forgot-password", forgotCapacity, forgotPerMinute);
+        this.applicationSubmitRule = RateLimitRule.perMinute("application-submit", submitCapacity, submitPerMinute);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        // CORS preflights carry no credentials and shouldn't spend tokens
+        if (!"POST".equalsIgnoreCase(request.getMethod())) {
+            return true;
+        }
+
+        String clientAddress = clientAddress(request);
+        request.setAttribute(RateLimiter.CLIENT_ADDRESS_ATTRIBUTE, clientAddress);
+
+        RateLimitRule rule = ruleFor(request.getServletPath());
+        if (rule == null || rateLimiter.tryAcquire(rule, clientAddress)) {
+            return true;
+        }
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader("Retry-After", String.valueOf(rule.secondsPerToken()));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"success\":false,\"error\":\"Too many requests, please try again later\","
+                + "\"message\":\"Too many requests, please try again later\"}");
+        return false;
+    }
+
+    private RateLimitRule ruleFor(String path) {
+        if (LOGIN_PATHS.contains(path)) {
+            return loginRule;
+        }
+        if (FORGOT_PASSWORD_PATH.equals(path)) {
+            return forgotPasswordRule;
+        }
+        if (APPLICATION_SUBMIT_PATH.equals(path)) {
+            return applicationSubmitRule;
+        }
+        return null;
+    }
+
+    // X-Forwarded-For is client-controlled, so it's only honoured behind a trusted proxy
+    String clientAddress(HttpServletRequest request) {
+        if (trustForwardedFor) {
+            String forwarded = request.getHeader("X-Forwarded-For");
+            if (forwarded != null && !forwarded.isBlank()) {
+                String[] hops = forwarded.split(",");
+                return hops[Math.max(0, hops.length - Math.max(1, forwardedForHops))].trim();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+}
@@ -1,10 +1,13 @@
 package com.capstone.HRMS.Config;
 
+import com.capstone.HRMS.Service.PasswordHashingService;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
@@ -13,9 +16,8 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
@@ -31,6 +33,9 @@ public class SecConfig {
     @Autowired
     private final UserDetailsService userDetailsService;
 
+    // Single PasswordEncoder for the app (algorithm/cost/pool from app.password.*)
+    private final PasswordHashingService passwordHashingService;
+
     @Autowired
     private JwtFilter jwtFilter;
 
@@ -40,6 +45,8 @@ public class SecConfig {
         http
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(auth -> auth
+                        // Async dispatches (SSE streams, streamed downloads) were authorized on the original request
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                         .requestMatchers(
                                 "/employee/login",
@@ -49,8 +56,10 @@ public class SecConfig {
                                 "/auth/forgot-password",
                                 "/auth/reset-password",
                                 "/auth/validate-reset-token",
+                                "/auth/login",
+                                "/auth/refresh",
+                                "/auth/logout",
                                 "/api/applications/submit",
-                                "api/notifications/all",
                                 "api/timelog/time-in",
                                 "/api/job-positions",
                                 "/api/health",
@@ -66,6 +75,10 @@ public class SecConfig {
 
                         .requestMatchers("/api/positions/add", "/api/positions/getPositions").hasAnyRole("HR", "ADMIN")
                         .requestMatchers("/admin/**").hasRole("ADMIN")
+                        .requestMatchers("/api/notifications/all").hasAnyRole("HR", "ADMIN")
+                        // Operational stats (pool load, latencies, queue sizes) are for admins only
+                        .requestMatchers("/api/health/password-hashing", "/api/health/login-latency",
+                                "/api/health/email-outbox").hasRole("ADMIN")
                         .requestMatchers("/hr/**","/api/resume-review/review-resume-file").hasRole("HR")
                         .requestMatchers(HttpMethod.GET, "/api/job-positions/**").permitAll()
                         .requestMatchers(HttpMethod.POST, "/api/job-positions/**").hasRole("HR")
@@ -82,6 +95,8 @@ public class SecConfig {
                 )
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                // 401 (not 403) for a missing or expired access token, so clients know to refresh
+                .exceptionHandling(exceptions -> exceptions.authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
                 .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
@@ -91,7 +106,7 @@ public class SecConfig {
     @Bean
     public AuthenticationProvider authenticationProvider(){
         DaoAuthenticationProvider daoAuthenticationProvider = new DaoAuthenticationProvider();
-        daoAuthenticationProvider.setPasswordEncoder(new BCryptPasswordEncoder());
+        daoAuthenticationProvider.setPasswordEncoder(passwordHashingService);
         daoAuthenticationProvider.setUserDetailsService(userDetailsService);
         return daoAuthenticationProvider;
     }
@@ -102,11 +117,6 @@ public class SecConfig {
 
     }
 
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
-    }
-
 
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
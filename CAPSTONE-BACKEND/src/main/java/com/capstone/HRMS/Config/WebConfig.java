@@ -1,12 +1,24 @@
 package com.capstone.HRMS.Config;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+    @Autowired
+    private RateLimitInterceptor rateLimitInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(rateLimitInterceptor)
+                .addPathPatterns(RateLimitInterceptor.LOGIN_PATHS.toArray(String[]::new))
+                .addPathPatterns(RateLimitInterceptor.FORGOT_PASSWORD_PATH, RateLimitInterceptor.APPLICATION_SUBMIT_PATH);
+    }
+
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
 
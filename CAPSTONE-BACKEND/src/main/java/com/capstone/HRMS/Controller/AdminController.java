@@ -2,19 +2,17 @@ package com.capstone.HRMS.Controller;
 
 import com.capstone.HRMS.Entity.Role;
 import com.capstone.HRMS.Entity.Users;
-import com.capstone.HRMS.Repository.UserRepo;
+import com.capstone.HRMS.Service.AuthService;
 import com.capstone.HRMS.Service.AdminService;
 import com.capstone.HRMS.Service.EmployeeService;
 import com.capstone.HRMS.Service.HRService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Optional;
 
 @RestController
 @RequestMapping("/admin")
@@ -25,37 +23,14 @@ public class AdminController {
     private final AdminService adminService;
     private final HRService hrService;
     private final EmployeeService employeeService;
-    private final UserRepo userRepo;
+    private final AuthService authService;
 
 
 
+    // Failures are answered by LoginExceptionHandler
     @PostMapping("/login")
     public ResponseEntity<Map<String, Object>> login(@RequestBody Users loginRequest) {
-        String result = adminService.verify(loginRequest, Role.ADMIN);
-
-        if (result.equals("failed") || result.equals("unauthorized")) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Collections.singletonMap("error", "Authentication failed"));
-        }
-
-        Optional<Users> dbAdminOpt = userRepo.findByUsername(loginRequest.getUsername());
-        if (dbAdminOpt.isEmpty()) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Collections.singletonMap("error", "Admin not found"));
-        }
-
-        Users dbAdmin = dbAdminOpt.get();
-        
-
-        if (!dbAdmin.isEnabled()) {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Collections.singletonMap("error", "Your account has been disabled"));
-        }
-
-        Map<String, Object> response = new HashMap<>();
-        response.put("token", result);
-        response.put("role", dbAdmin.getRole().name());
-        response.put("username", dbAdmin.getUsername());
-        response.put("userId", dbAdmin.getUserId());
-
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(authService.login(loginRequest.getUsername(), loginRequest.getPassword(), Role.ADMIN));
     }
 
     //cr8 hr
@@ -0,0 +1,66 @@
+package com.capstone.HRMS.Controller;
+
+import com.capstone.HRMS.Entity.Role;
+import com.capstone.HRMS.Service.AuthService;
+import com.capstone.HRMS.Service.RefreshTokenService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/auth")
+@CrossOrigin(origins = "${frontend.url}")
+public class AuthController {
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private AuthService authService;
+
+    // Role-agnostic login; pass "role" to require a specific one (same checks as /employee, /hr, /admin login).
+    // Failures are answered by LoginExceptionHandler
+    @PostMapping("/login")
+    public ResponseEntity<?> login(@RequestBody Map<String, String> request) {
+        Role role;
+        try {
+            String requestedRole = request.get("role");
+            role = requestedRole == null || requestedRole.isBlank() ? null : Role.valueOf(requestedRole.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Unknown role"));
+        }
+
+        return ResponseEntity.ok(authService.login(request.get("username"), request.get("password"), role));
+    }
+
+    // Exchange a refresh token for a new access token and a new refresh token
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@RequestBody Map<String, String> request) {
+        String refreshToken = request.get("refreshToken");
+        if (refreshToken == null || refreshToken.isBlank()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Refresh token is required"));
+        }
+
+        try {
+            RefreshTokenService.TokenPair tokens = refreshTokenService.rotate(refreshToken.trim());
+            return ResponseEntity.ok(Map.of(
+                    "token", tokens.accessToken(),
+                    "refreshToken", tokens.refreshToken()
+            ));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@RequestBody Map<String, String> request) {
+        String refreshToken = request.get("refreshToken");
+        if (refreshToken != null && !refreshToken.isBlank()) {
+            refreshTokenService.revoke(refreshToken.trim());
+        }
+        return ResponseEntity.ok(Map.of("message", "Logged out"));
+    }
+}
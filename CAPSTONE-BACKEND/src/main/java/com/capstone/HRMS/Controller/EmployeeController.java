@@ -6,6 +6,7 @@ import com.capstone.HRMS.Entity.Role;
 import com.capstone.HRMS.Entity.Users;
 import com.capstone.HRMS.Repository.PositionRepo;
 import com.capstone.HRMS.Repository.UserRepo;
+import com.capstone.HRMS.Service.AuthService;
 import com.capstone.HRMS.Service.EmployeeService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -14,8 +15,6 @@ import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.io.Serializable;
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 
@@ -27,40 +26,12 @@ public class EmployeeController {
     private final EmployeeService employeeService;
     private final UserRepo userRepo;
     private final PositionRepo positionRepo;
+    private final AuthService authService;
 
+    // Failures are answered by LoginExceptionHandler
     @PostMapping("/login")
     public ResponseEntity<Map<String, Object>> login(@RequestBody Users loginRequest) {
-        String result = employeeService.verify(loginRequest, Role.EMPLOYEE);
-
-        if (result.equals("failed") || result.equals("unauthorized")) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Collections.singletonMap("error", "Authentication failed"));
-        }
-
-        Optional<Users> dbEmpOpt = userRepo.findByUsername(loginRequest.getUsername());
-        if (dbEmpOpt.isEmpty()) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Collections.singletonMap("error", "Employee not found"));
-        }
-
-        Users dbEmp = dbEmpOpt.get();
-        
-
-        if (!dbEmp.isEnabled()) {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Collections.singletonMap("error", "Your account has been disabled"));
-        }
-
-        String positionTitle = null;
-        if (dbEmp.getPosition() != null) {
-            positionTitle = dbEmp.getPosition().getTitle();
-        }
-
-        Map<String, Object> response = new HashMap<>();
-        response.put("token", result);
-        response.put("role", dbEmp.getRole().name());
-        response.put("username", dbEmp.getUsername());
-        response.put("userId", dbEmp.getUserId());
-        response.put("position", positionTitle);
-
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(authService.login(loginRequest.getUsername(), loginRequest.getPassword(), Role.EMPLOYEE));
     }
 
     @GetMapping("/details")
@@ -4,8 +4,10 @@ import com.capstone.HRMS.Entity.EmployeeDetails;
 import com.capstone.HRMS.Entity.Role;
 import com.capstone.HRMS.Entity.Users;
 import com.capstone.HRMS.Repository.UserRepo;
+import com.capstone.HRMS.Service.AuthService;
 import com.capstone.HRMS.Service.EmployeeService;
 import com.capstone.HRMS.Service.HRService;
+import com.capstone.HRMS.Service.UsersService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -13,7 +15,6 @@ import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.io.Serializable;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -28,39 +29,13 @@ public class HRController {
     private final HRService hrService;
     private final EmployeeService employeeService;
     private final UserRepo userRepo;
+    private final UsersService usersService;
+    private final AuthService authService;
 
+    // Failures are answered by LoginExceptionHandler
     @PostMapping("/login")
     public ResponseEntity<Map<String, Object>> login(@RequestBody Users loginRequest) {
-        String result = hrService.verify(loginRequest, Role.HR);
-
-        if (result.equals("failed") || result.equals("unauthorized")) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Collections.singletonMap("error", "Authentication failed"));
-        }
-
-        Optional<Users> dbHrOpt = userRepo.findByUsername(loginRequest.getUsername());
-        if (dbHrOpt.isEmpty()) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Collections.singletonMap("error", "Employee not found"));
-        }
-
-        Users dbHr = dbHrOpt.get();
-        
-
-        if (!dbHr.isEnabled()) {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Collections.singletonMap("error", "Your account has been disabled"));
-        }
-        String positionTitle = null;
-        if (dbHr.getPosition() != null) {
-            positionTitle = dbHr.getPosition().getTitle();
-        }
-
-        Map<String, Object> response = new HashMap<>();
-        response.put("token", result);
-        response.put("role", dbHr.getRole().name());
-        response.put("username", dbHr.getUsername());
-        response.put("userId", dbHr.getUserId());
-        response.put("position", positionTitle);
-
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(authService.login(loginRequest.getUsername(), loginRequest.getPassword(), Role.HR));
     }
 
     //cr8 hr
@@ -230,7 +205,7 @@ public class HRController {
     @PutMapping("/users/{userId}/disable")
     public ResponseEntity<Map<String, Object>> disableUserAccount(@PathVariable Long userId) {
         try {
-            Optional<Users> userOpt = userRepo.findById(userId);
+            Optional<Users> userOpt = usersService.setEnabled(userId, false);
             
             if (userOpt.isEmpty()) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -238,8 +213,6 @@ public class HRController {
             }
             
             Users user = userOpt.get();
-            user.setEnabled(false);
-            userRepo.save(user);
             
             return ResponseEntity.ok(Map.of(
                 "message", "User account disabled successfully",
@@ -257,7 +230,7 @@ public class HRController {
     @PutMapping("/users/{userId}/enable")
     public ResponseEntity<Map<String, Object>> enableUserAccount(@PathVariable Long userId) {
         try {
-            Optional<Users> userOpt = userRepo.findById(userId);
+            Optional<Users> userOpt = usersService.setEnabled(userId, true);
             
             if (userOpt.isEmpty()) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -265,8 +238,6 @@ public class HRController {
             }
             
             Users user = userOpt.get();
-            user.setEnabled(true);
-            userRepo.save(user);
             
             return ResponseEntity.ok(Map.of(
                 "message", "User account enabled successfully",
@@ -1,5 +1,9 @@
 package com.capstone.HRMS.Controller;
 
+import com.capstone.HRMS.Service.AuthService;
+import com.capstone.HRMS.Service.EmailOutboxDispatcher;
+import com.capstone.HRMS.Service.PasswordHashingService;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -12,6 +16,15 @@ import java.util.Map;
 @RequestMapping("/api")
 public class HealthController {
 
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private EmailOutboxDispatcher emailOutboxDispatcher;
+
     @GetMapping("/health")
     public ResponseEntity<Map<String, String>> health() {
         Map<String, String> response = new HashMap<>();
@@ -20,4 +33,22 @@ public class HealthController {
         response.put("timestamp", java.time.Instant.now().toString());
         return ResponseEntity.ok(response);
     }
+
+    // Password hashing pool load (queue depth, rejections); ADMIN only
+    @GetMapping("/health/password-hashing")
+    public ResponseEntity<Map<String, Object>> passwordHashing() {
+        return ResponseEntity.ok(passwordHashingService.getStats());
+    }
+
+    // Login latency histograms, split by outcome; ADMIN only
+    @GetMapping("/health/login-latency")
+    public ResponseEntity<Map<String, Object>> loginLatency() {
+        return ResponseEntity.ok(authService.getLoginLatency());
+    }
+
+    // Outbound email queue (pending/dead rows, send counters); ADMIN only
+    @GetMapping("/health/email-outbox")
+    public ResponseEntity<Map<String, Object>> emailOutbox() {
+        return ResponseEntity.ok(emailOutboxDispatcher.getStats());
+    }
 }
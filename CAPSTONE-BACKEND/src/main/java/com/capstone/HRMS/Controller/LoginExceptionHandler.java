@@ -0,0 +1,44 @@
+package com.capstone.HRMS.Controller;
+
+import com.capstone.HRMS.Service.AuthService;
+import com.capstone.HRMS.Service.PasswordHashingService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.DisabledException;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.Map;
+
+// Maps what AuthService.login throws to responses, for /auth/login and the per-role logins alike
+@RestControllerAdvice(assignableTypes = {AuthController.class, EmployeeController.class, HRController.class, AdminController.class})
+public class LoginExceptionHandler {
+
+    @ExceptionHandler(DisabledException.class)
+    public ResponseEntity<Map<String, Object>> disabled(DisabledException e) {
+        return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", e.getMessage()));
+    }
+
+    @ExceptionHandler(AuthenticationException.class)
+    public ResponseEntity<Map<String, Object>> authenticationFailed(AuthenticationException e) {
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "Authentication failed"));
+    }
+
+    @ExceptionHandler(AuthService.TooManyAttemptsException.class)
+    public ResponseEntity<Map<String, Object>> tooManyAttempts(AuthService.TooManyAttemptsException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header("Retry-After", String.valueOf(e.getRetryAfterSeconds()))
+                .body(Map.of("error", e.getMessage()));
+    }
+
+    @ExceptionHandler(PasswordHashingService.HashingBusyException.class)
+    public ResponseEntity<Map<String, Object>> hashingBusy(PasswordHashingService.HashingBusyException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("error", e.getMessage()));
+    }
+
+    @ExceptionHandler(AuthService.LoginFailedException.class)
+    public ResponseEntity<Map<String, Object>> loginFailed(AuthService.LoginFailedException e) {
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("error", "Login failed"));
+    }
+}
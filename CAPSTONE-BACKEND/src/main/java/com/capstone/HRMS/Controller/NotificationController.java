@@ -1,13 +1,20 @@
 package com.capstone.HRMS.Controller;
 
+import com.capstone.HRMS.DTO.CursorPageDTO;
+import com.capstone.HRMS.DTO.NotificationDTO;
+import com.capstone.HRMS.Entity.BroadcastNotification;
 import com.capstone.HRMS.Entity.Notification;
 import com.capstone.HRMS.Entity.NotificationType;
 import com.capstone.HRMS.Entity.Role;
 import com.capstone.HRMS.Entity.Users;
+import com.capstone.HRMS.Service.NotificationFanoutService;
 import com.capstone.HRMS.Service.NotificationService;
+import com.capstone.HRMS.Service.NotificationStreamService;
+import com.capstone.HRMS.Service.UserPrincipalCache;
 import com.capstone.HRMS.Service.UsersService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
@@ -26,30 +33,72 @@ public class NotificationController {
     @Autowired
     private UsersService usersService;
 
+    @Autowired
+    private NotificationFanoutService notificationFanoutService;
+
+    @Autowired
+    private NotificationStreamService notificationStreamService;
+
+    // Newest page only (at most 100); use /user/page for the rest
     @GetMapping("/user")
-    public ResponseEntity<List<Notification>> getUserNotifications(Authentication authentication) {
+    public ResponseEntity<List<NotificationDTO>> getUserNotifications(Authentication authentication) {
         try {
             String username = authentication.getName();
             Users user = usersService.getUserByUsername(username);
             if (user == null) {
                 return ResponseEntity.notFound().build();
             }
-            List<Notification> notifications = notificationService.getNotificationsByUser(user);
+            List<NotificationDTO> notifications = notificationService.getNotificationsByUser(user);
             return ResponseEntity.ok(notifications);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
+    // Keyset-paginated inbox; pass nextCursor back as cursor for the following page
+    @GetMapping("/user/page")
+    public ResponseEntity<?> getUserNotificationPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean unreadOnly,
+            Authentication authentication) {
+        try {
+            Users user = usersService.getUserByUsername(authentication.getName());
+            if (user == null) {
+                return ResponseEntity.notFound().build();
+            }
+            CursorPageDTO<NotificationDTO> page = notificationService.getInboxPage(user, unreadOnly, cursor, size);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    // Live feed of new notifications; Last-Event-ID resumes after a "notificationId:broadcastId" cursor
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<?> streamNotifications(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+            Authentication authentication) {
+        Users user = usersService.getUserByUsername(authentication.getName());
+        if (user == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("User not found");
+        }
+        return ResponseEntity.ok()
+                .header("X-Accel-Buffering", "no")
+                .body(notificationStreamService.subscribe(user, lastEventId));
+    }
+
     @GetMapping("/user/unread")
-    public ResponseEntity<List<Notification>> getUnreadNotifications(Authentication authentication) {
+    public ResponseEntity<List<NotificationDTO>> getUnreadNotifications(Authentication authentication) {
         try {
             String username = authentication.getName();
             Users user = usersService.getUserByUsername(username);
             if (user == null) {
                 return ResponseEntity.notFound().build();
             }
-            List<Notification> notifications = notificationService.getUnreadNotificationsByUser(user);
+            List<NotificationDTO> notifications = notificationService.getUnreadNotificationsByUser(user);
             return ResponseEntity.ok(notifications);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -121,11 +170,15 @@ public class NotificationController {
         }
     }
 
+    // HR/ADMIN only (SecConfig); keyset-paginated like /user/page
     @GetMapping("/all")
-    public ResponseEntity<List<Notification>> getAllNotifications() {
+    public ResponseEntity<?> getAllNotifications(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
         try {
-            List<Notification> notifications = notificationService.getAllNotifications();
-            return ResponseEntity.ok(notifications);
+            return ResponseEntity.ok(notificationService.getAllNotificationsPage(cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -167,7 +220,7 @@ public class NotificationController {
 
 
     @PostMapping("/send-all")
-    public ResponseEntity<String> sendNotificationToAll(
+    public ResponseEntity<?> sendNotificationToAll(
             @RequestBody Map<String, String> request,
             Authentication authentication) {
         try {
@@ -186,8 +239,10 @@ public class NotificationController {
                 return ResponseEntity.badRequest().body("Title and message are required");
             }
 
-            notificationService.notifyAllUsers(title, message, NotificationType.GENERAL);
-            return ResponseEntity.ok("Notification sent to all users successfully");
+            BroadcastNotification broadcast = notificationService.notifyAllUsers(title, message, NotificationType.GENERAL);
+            return ResponseEntity.ok(Map.of(
+                    "message", "Notification sent to all users successfully",
+                    "broadcastId", broadcast.getId()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Failed to send notification");
         }
@@ -195,7 +250,7 @@ public class NotificationController {
 
 
     @PostMapping("/send-role/{role}")
-    public ResponseEntity<String> sendNotificationToRole(
+    public ResponseEntity<?> sendNotificationToRole(
             @PathVariable String role,
             @RequestBody Map<String, String> request,
             Authentication authentication) {
@@ -215,10 +270,27 @@ public class NotificationController {
                 return ResponseEntity.badRequest().body("Title and message are required");
             }
 
-            notificationService.notifyUsersByRole(Role.valueOf(role.toUpperCase()), title, message, NotificationType.GENERAL);
-            return ResponseEntity.ok("Notification sent to " + role + " users successfully");
+            NotificationFanoutService.FanoutJob job = notificationService.notifyUsersByRole(
+                    Role.valueOf(role.toUpperCase()), title, message, NotificationType.GENERAL);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(Map.of(
+                    "message", "Notification is being sent to " + role + " users",
+                    "jobId", job.jobId()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Failed to send notification");
         }
     }
+
+    // Progress of a send-all / send-role fan-out
+    @GetMapping("/fanout/{jobId}")
+    public ResponseEntity<?> getFanoutJob(@PathVariable String jobId, Authentication authentication) {
+        Role requesterRole = usersService.getPrincipal(authentication.getName())
+                .map(UserPrincipalCache.UserSnapshot::role)
+                .orElse(null);
+        if (requesterRole != Role.HR && requesterRole != Role.ADMIN) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Access denied");
+        }
+        return notificationFanoutService.getJob(jobId)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
 }
@@ -1,23 +1,39 @@
 package com.capstone.HRMS.Controller;
 
+import com.capstone.HRMS.DTO.AttendanceEntryDTO;
+import com.capstone.HRMS.DTO.CursorPageDTO;
+import com.capstone.HRMS.DTO.TimelogFilter;
+import com.capstone.HRMS.DTO.TimelogSummaryDTO;
 import com.capstone.HRMS.Entity.Timelog;
+import com.capstone.HRMS.Entity.TimelogStatus;
 import com.capstone.HRMS.Entity.Users;
+import com.capstone.HRMS.Service.AttendanceStreamService;
 import com.capstone.HRMS.Service.TimelogService;
 import com.capstone.HRMS.Service.UsersService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.Resource;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/timelog")
@@ -32,8 +48,11 @@ public class TimelogController {
     @Autowired
     private UsersService usersService;
 
+    @Autowired
+    private AttendanceStreamService attendanceStreamService;
+
     // Clock in endpoint
-    @PostMapping("/time-in")
+    @PostMapping(value = "/time-in", consumes = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<?> clockIn(@RequestBody Map<String, String> request, Authentication authentication) {
         try {
             String username = authentication.getName();
@@ -56,8 +75,54 @@ public class TimelogController {
         }
     }
 
+    // Clock in with the photo as a multipart file part named "photo"
+    @PostMapping(value = "/time-in", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> clockInMultipart(@RequestParam("photo") MultipartFile photo, Authentication authentication) {
+        try {
+            String username = authentication.getName();
+            Users user = usersService.getUserByUsername(username);
+            if (user == null) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("User not found");
+            }
+
+            if (photo.isEmpty()) {
+                return ResponseEntity.badRequest().body("Photo is required for clock in");
+            }
+
+            try (InputStream in = photo.getInputStream()) {
+                Timelog timelog = timelogService.clockIn(user, in);
+                return ResponseEntity.ok(timelog);
+            }
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("An error occurred while clocking in");
+        }
+    }
+
+    // Clock in with the raw image bytes as the request body
+    @PostMapping(value = "/time-in", consumes = {
+            MediaType.APPLICATION_OCTET_STREAM_VALUE, MediaType.IMAGE_JPEG_VALUE, MediaType.IMAGE_PNG_VALUE, "image/webp"
+    })
+    public ResponseEntity<?> clockInBinary(HttpServletRequest request, Authentication authentication) {
+        try {
+            String username = authentication.getName();
+            Users user = usersService.getUserByUsername(username);
+            if (user == null) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("User not found");
+            }
+
+            Timelog timelog = timelogService.clockIn(user, request.getInputStream());
+            return ResponseEntity.ok(timelog);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("An error occurred while clocking in");
+        }
+    }
+
     // Clock out endpoint
-    @PostMapping("/time-out")
+    @PostMapping(value = "/time-out", consumes = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<?> clockOut(@RequestBody Map<String, String> request, Authentication authentication) {
         try {
             String username = authentication.getName();
@@ -80,6 +145,52 @@ public class TimelogController {
         }
     }
 
+    // Clock out with the photo as a multipart file part named "photo"
+    @PostMapping(value = "/time-out", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> clockOutMultipart(@RequestParam("photo") MultipartFile photo, Authentication authentication) {
+        try {
+            String username = authentication.getName();
+            Users user = usersService.getUserByUsername(username);
+            if (user == null) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("User not found");
+            }
+
+            if (photo.isEmpty()) {
+                return ResponseEntity.badRequest().body("Photo is required for clock out");
+            }
+
+            try (InputStream in = photo.getInputStream()) {
+                Timelog timelog = timelogService.clockOut(user, in);
+                return ResponseEntity.ok(timelog);
+            }
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("An error occurred while clocking out");
+        }
+    }
+
+    // Clock out with the raw image bytes as the request body
+    @PostMapping(value = "/time-out", consumes = {
+            MediaType.APPLICATION_OCTET_STREAM_VALUE, MediaType.IMAGE_JPEG_VALUE, MediaType.IMAGE_PNG_VALUE, "image/webp"
+    })
+    public ResponseEntity<?> clockOutBinary(HttpServletRequest request, Authentication authentication) {
+        try {
+            String username = authentication.getName();
+            Users user = usersService.getUserByUsername(username);
+            if (user == null) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("User not found");
+            }
+
+            Timelog timelog = timelogService.clockOut(user, request.getInputStream());
+            return ResponseEntity.ok(timelog);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("An error occurred while clocking out");
+        }
+    }
+
     // Start break endpoint
     @PostMapping("/break/start")
     public ResponseEntity<?> startBreak(Authentication authentication) {
@@ -132,7 +243,10 @@ public class TimelogController {
             }
 
             String status = timelogService.getCurrentStatus(user);
-            Optional<Timelog> currentTimelog = timelogService.getCurrentTimelog(user);
+            // Clocked-out users have no active timelog, so skip the lookup
+            Optional<Timelog> currentTimelog = status.equals("CLOCKED_OUT")
+                    ? Optional.empty()
+                    : timelogService.getCurrentTimelog(user);
             
             Map<String, Object> response = new HashMap<>();
             response.put("status", status);
@@ -168,6 +282,52 @@ public class TimelogController {
         }
     }
 
+    // Stream the clock-in ("in") or clock-out ("out") photo of a timelog (owner, HR or Admin).
+    // List views should pass variant=thumbnail; the full-size photo is only needed for verification.
+    @GetMapping("/{timelogId}/photo/{kind}")
+    public ResponseEntity<?> getTimelogPhoto(@PathVariable Long timelogId, @PathVariable String kind,
+                                             @RequestParam(defaultValue = "full") String variant,
+                                             Authentication authentication) {
+        try {
+            String username = authentication.getName();
+            Users user = usersService.getUserByUsername(username);
+            if (user == null) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("User not found");
+            }
+
+            if (!kind.equals("in") && !kind.equals("out")) {
+                return ResponseEntity.badRequest().body("Photo kind must be 'in' or 'out'");
+            }
+            if (!variant.equals("full") && !variant.equals("thumbnail")) {
+                return ResponseEntity.badRequest().body("Photo variant must be 'full' or 'thumbnail'");
+            }
+
+            Timelog timelog = timelogService.getTimelogById(timelogId);
+            boolean isOwner = timelog.getUser().getUserId() == user.getUserId();
+            if (!isOwner && !user.getRole().name().equals("HR") && !user.getRole().name().equals("ADMIN")) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Access denied");
+            }
+
+            boolean thumbnail = variant.equals("thumbnail");
+            Optional<Resource> photo = timelogService.getTimelogPhoto(timelog, kind.equals("out"), thumbnail);
+            if (photo.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+
+            // Photos are content-addressed, so the bytes behind a key never change
+            return ResponseEntity.ok()
+                    .contentType(detectImageType(photo.get()))
+                    .cacheControl(CacheControl.maxAge(Duration.ofDays(365)).cachePrivate().immutable())
+                    .eTag(timelogService.getTimelogPhotoKey(timelog, kind.equals("out"), thumbnail))
+                    .body(photo.get());
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            logger.error("Error streaming photo for timelog {}", timelogId, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("An error occurred while getting photo");
+        }
+    }
+
     // Get user timelogs for date range
     @GetMapping("/range")
     public ResponseEntity<?> getTimelogsByDateRange(
@@ -206,10 +366,13 @@ public class TimelogController {
     }
 
     // Calculate total worked hours for date range
+    // Either a calendar month (year + month, a single rollup lookup) or an explicit date range
     @GetMapping("/hours/total")
     public ResponseEntity<?> getTotalWorkedHours(
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false) Integer year,
+            @RequestParam(required = false) Integer month,
             Authentication authentication) {
         try {
             String username = authentication.getName();
@@ -218,7 +381,14 @@ public class TimelogController {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("User not found");
             }
 
-            Double totalHours = timelogService.calculateTotalWorkedHours(user, startDate, endDate);
+            Double totalHours;
+            if (year != null && month != null) {
+                totalHours = timelogService.getMonthlyWorkedHours(user, year, month);
+            } else if (startDate != null && endDate != null) {
+                totalHours = timelogService.calculateTotalWorkedHours(user, startDate, endDate);
+            } else {
+                return ResponseEntity.badRequest().body("Provide year and month, or startDate and endDate");
+            }
             return ResponseEntity.ok(Map.of("totalHours", totalHours));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("An error occurred while calculating total hours");
@@ -254,28 +424,6 @@ public class TimelogController {
         }
     }
 
-    // Get all timelogs
-    @GetMapping("/all")
-    public ResponseEntity<?> getAllTimelogs(Authentication authentication) {
-        try {
-            String username = authentication.getName();
-            Users user = usersService.getUserByUsername(username);
-            if (user == null) {
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("User not found");
-            }
-
-
-            if (user.getRole().name().equals("HR") || user.getRole().name().equals("ADMIN")) {
-                List<Timelog> timelogs = timelogService.getAllTimelogs();
-                return ResponseEntity.ok(timelogs);
-            } else {
-                return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Access denied");
-            }
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("An error occurred while getting all timelogs");
-        }
-    }
-
     // Get users currently clocked in
     @GetMapping("/users/clocked-in")
     public ResponseEntity<?> getUsersClockedIn(Authentication authentication) {
@@ -287,7 +435,7 @@ public class TimelogController {
             }
 
             if (user.getRole().name().equals("HR") || user.getRole().name().equals("ADMIN")) {
-                List<Users> users = timelogService.getUsersCurrentlyClockedIn();
+                List<AttendanceEntryDTO> users = timelogService.getUsersCurrentlyClockedIn();
                 return ResponseEntity.ok(users);
             } else {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Access denied");
@@ -308,7 +456,7 @@ public class TimelogController {
             }
 
             if (user.getRole().name().equals("HR") || user.getRole().name().equals("ADMIN")) {
-                List<Users> users = timelogService.getUsersCurrentlyOnBreak();
+                List<AttendanceEntryDTO> users = timelogService.getUsersCurrentlyOnBreak();
                 return ResponseEntity.ok(users);
             } else {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Access denied");
@@ -318,6 +466,21 @@ public class TimelogController {
         }
     }
 
+    // Live attendance feed (HR/Admin): a "snapshot" event followed by "attendance" deltas
+    @GetMapping(value = "/hr/live", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<?> streamAttendance(Authentication authentication) {
+        Users user = usersService.getUserByUsername(authentication.getName());
+        if (user == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("User not found");
+        }
+        if (!user.getRole().name().equals("HR") && !user.getRole().name().equals("ADMIN")) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Access denied");
+        }
+        return ResponseEntity.ok()
+                .header("X-Accel-Buffering", "no")
+                .body(attendanceStreamService.subscribe());
+    }
+
     // Get incomplete timelogs
     @GetMapping("/incomplete")
     public ResponseEntity<?> getIncompleteTimelogs(Authentication authentication) {
@@ -359,6 +522,25 @@ public class TimelogController {
         }
     }
 
+    // Recompute the worked-hours rollups from the raw timelogs (admin only)
+    @PostMapping("/admin/rollups/rebuild")
+    public ResponseEntity<?> rebuildWorkedHoursRollups(Authentication authentication) {
+        try {
+            String username = authentication.getName();
+            Users user = usersService.getUserByUsername(username);
+            if (user == null) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("User not found");
+            }
+
+            timelogService.rebuildWorkedHoursRollups(user);
+            return ResponseEntity.ok("Worked-hours rollups rebuilt");
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("An error occurred while rebuilding rollups");
+        }
+    }
+
     // Delete timelog
     @DeleteMapping("/{timelogId}")
     public ResponseEntity<?> deleteTimelog(@PathVariable Long timelogId, Authentication authentication) {
@@ -378,17 +560,23 @@ public class TimelogController {
         }
     }
 
-    // Get all timelogs with search functionality
+    // Get one page of timelogs with search functionality; pass the returned nextCursor to continue
     @GetMapping("/hr/all")
     public ResponseEntity<?> getAllTimelogsForHR(
             @RequestParam(required = false) String search,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) String startDate,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) String endDate,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) String department,
+            @RequestParam(required = false) TimelogStatus status,
+            @RequestParam(required = false) Boolean adjusted,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size,
             Authentication authentication) {
         try {
             String username = authentication.getName();
-            logger.info("HR timelog request from user: {}, search: '{}', startDate: '{}', endDate: '{}'", 
-                       username, search, startDate, endDate);
+            logger.info("HR timelog request from user: {}, search: '{}', startDate: '{}', endDate: '{}', cursor: '{}'", 
+                       username, search, startDate, endDate, cursor);
             
             Users user = usersService.getUserByUsername(username);
             if (user == null) {
@@ -418,10 +606,13 @@ public class TimelogController {
                 return ResponseEntity.badRequest().body("Invalid date format. Please use YYYY-MM-DD format.");
             }
 
-            List<Timelog> timelogs = timelogService.getAllTimelogsWithSearch(search, startDateTime, endDateTime);
-            logger.info("Found {} timelogs for HR request with search='{}', startDateTime={}, endDateTime={}", 
-                       timelogs.size(), search, startDateTime, endDateTime);
-            return ResponseEntity.ok(timelogs);
+            TimelogFilter filter = buildFilter(search, startDateTime, endDateTime, userId, department, status, adjusted);
+            CursorPageDTO<TimelogSummaryDTO> page = timelogService.getAllTimelogsWithSearch(filter, cursor, size);
+            logger.info("Found {} timelogs for HR request with search='{}', startDateTime={}, endDateTime={}, hasMore={}", 
+                       page.getItems().size(), search, startDateTime, endDateTime, page.isHasMore());
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
         } catch (Exception e) {
             logger.error("Error getting timelogs for HR: ", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -429,12 +620,18 @@ public class TimelogController {
         }
     }
 
-    // Download timelogs as CSV (HR/Admin only)
+    // Download timelogs as CSV (HR/Admin only). Rows are streamed as they are read;
+    // pass gzip=true to get a compressed .csv.gz instead.
     @GetMapping("/hr/download-csv")
     public ResponseEntity<?> downloadTimelogsCSV(
             @RequestParam(required = false) String search,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) String startDate,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) String endDate,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) String department,
+            @RequestParam(required = false) TimelogStatus status,
+            @RequestParam(required = false) Boolean adjusted,
+            @RequestParam(defaultValue = "false") boolean gzip,
             Authentication authentication) {
         try {
             String username = authentication.getName();
@@ -459,12 +656,21 @@ public class TimelogController {
                 endDateTime = java.time.LocalDate.parse(endDate).atTime(23, 59, 59);
             }
 
-            String csvContent = timelogService.generateTimelogsCSV(search, startDateTime, endDateTime);
-            
+            TimelogFilter filter = buildFilter(search, startDateTime, endDateTime, userId, department, status, adjusted);
+            StreamingResponseBody body = output -> {
+                if (gzip) {
+                    GZIPOutputStream compressed = new GZIPOutputStream(output, 8192);
+                    timelogService.writeTimelogsCSV(filter, compressed);
+                    compressed.finish();
+                } else {
+                    timelogService.writeTimelogsCSV(filter, output);
+                }
+            };
+
             return ResponseEntity.ok()
-                    .header("Content-Type", "text/csv")
-                    .header("Content-Disposition", "attachment; filename=timelogs.csv")
-                    .body(csvContent);
+                    .header("Content-Type", gzip ? "application/gzip" : "text/csv")
+                    .header("Content-Disposition", "attachment; filename=" + (gzip ? "timelogs.csv.gz" : "timelogs.csv"))
+                    .body(body);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("An error occurred while generating CSV");
         }
@@ -493,4 +699,33 @@ public class TimelogController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("An error occurred while getting timelog");
         }
     }
+
+    private TimelogFilter buildFilter(String search, LocalDateTime startDate, LocalDateTime endDate, Long userId,
+                                      String department, TimelogStatus status, Boolean adjusted) {
+        TimelogFilter filter = new TimelogFilter(search, startDate, endDate);
+        filter.setUserId(userId);
+        filter.setDepartment(department);
+        filter.setStatus(status);
+        filter.setAdjusted(adjusted);
+        return filter;
+    }
+
+    // Sniff the image type from the magic bytes; stored blobs carry no metadata
+    private MediaType detectImageType(Resource photo) throws IOException {
+        byte[] header;
+        try (InputStream in = photo.getInputStream()) {
+            header = in.readNBytes(12);
+        }
+        if (header.length >= 8 && (header[0] & 0xFF) == 0x89 && header[1] == 'P' && header[2] == 'N' && header[3] == 'G') {
+            return MediaType.IMAGE_PNG;
+        }
+        if (header.length >= 6 && header[0] == 'G' && header[1] == 'I' && header[2] == 'F') {
+            return MediaType.IMAGE_GIF;
+        }
+        if (header.length >= 12 && header[0] == 'R' && header[1] == 'I' && header[2] == 'F' && header[3] == 'F'
+                && header[8] == 'W' && header[9] == 'E' && header[10] == 'B' && header[11] == 'P') {
+            return MediaType.parseMediaType("image/webp");
+        }
+        return MediaType.IMAGE_JPEG;
+    }
 }
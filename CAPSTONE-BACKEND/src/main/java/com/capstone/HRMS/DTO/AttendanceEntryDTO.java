@@ -0,0 +1,36 @@
+package com.capstone.HRMS.DTO;
+
+import com.capstone.HRMS.Entity.TimelogStatus;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// What the live attendance board knows about one user who is currently clocked in or on break
+// Value equality lets AttendanceBoard.rebuild tell which entries it actually changed
+@Getter
+@EqualsAndHashCode
+public class AttendanceEntryDTO {
+
+    private final long userId;
+    private final String username;
+    private final String firstName;
+    private final String lastName;
+    private final String positionTitle;
+    private final TimelogStatus status;
+    private final Long timelogId;
+    // When the current status started (clock-in time, or break start while on break)
+    private final LocalDateTime since;
+
+    public AttendanceEntryDTO(long userId, String username, String firstName, String lastName, String positionTitle,
+                              TimelogStatus status, Long timelogId, LocalDateTime since) {
+        this.userId = userId;
+        this.username = username;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.positionTitle = positionTitle;
+        this.status = status;
+        this.timelogId = timelogId;
+        this.since = since;
+    }
+}
@@ -0,0 +1,20 @@
+package com.capstone.HRMS.DTO;
+
+import lombok.Getter;
+
+import java.util.List;
+
+// One page of a keyset-paginated listing. Pass nextCursor back to get the following page.
+@Getter
+public class CursorPageDTO<T> {
+
+    private final List<T> items;
+    private final String nextCursor;
+    private final boolean hasMore;
+
+    public CursorPageDTO(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasMore = nextCursor != null;
+    }
+}
@@ -0,0 +1,48 @@
+package com.capstone.HRMS.DTO;
+
+import com.capstone.HRMS.Entity.Notification;
+import com.capstone.HRMS.Entity.NotificationType;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// Inbox row without the owning Users graph; broadcasts use negative ids (see BroadcastNotificationService)
+@Getter
+public class NotificationDTO {
+
+    private final Long notificationId;
+    private final String title;
+    private final String message;
+    private final NotificationType type;
+    private final Boolean read;
+    private final LocalDateTime createdAt;
+    private final Long relatedEntityId;
+    // Recipient, only filled in for the HR/admin listing of every notification
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private final Long userId;
+
+    // Argument order must match the JPQL projections in NotificationRepository
+    public NotificationDTO(Long notificationId, String title, String message, NotificationType type,
+                           Boolean read, LocalDateTime createdAt, Long relatedEntityId) {
+        this(notificationId, title, message, type, read, createdAt, relatedEntityId, null);
+    }
+
+    public NotificationDTO(Long notificationId, String title, String message, NotificationType type,
+                           Boolean read, LocalDateTime createdAt, Long relatedEntityId, Long userId) {
+        this.notificationId = notificationId;
+        this.title = title;
+        this.message = message;
+        this.type = type;
+        this.read = read;
+        this.createdAt = createdAt;
+        this.relatedEntityId = relatedEntityId;
+        this.userId = userId;
+    }
+
+    public static NotificationDTO from(Notification notification) {
+        return new NotificationDTO(notification.getNotificationId(), notification.getTitle(), notification.getMessage(),
+                notification.getType(), notification.getRead(), notification.getCreatedAt(),
+                notification.getRelatedEntityId());
+    }
+}
@@ -0,0 +1,32 @@
+package com.capstone.HRMS.DTO;
+
+import com.capstone.HRMS.Entity.TimelogStatus;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+// Optional criteria for timelog searches; unset fields don't constrain the result
+@Getter
+@Setter
+public class TimelogFilter {
+
+    // Matches username, first name or last name (case-insensitive substring)
+    private String search;
+    private Long userId;
+    private String department;
+    private TimelogStatus status;
+    private LocalDateTime startDate;
+    private LocalDateTime endDate;
+    // true = only adjusted timelogs, false = only unadjusted ones
+    private Boolean adjusted;
+
+    public TimelogFilter() {
+    }
+
+    public TimelogFilter(String search, LocalDateTime startDate, LocalDateTime endDate) {
+        this.search = search;
+        this.startDate = startDate;
+        this.endDate = endDate;
+    }
+}
@@ -0,0 +1,77 @@
+package com.capstone.HRMS.DTO;
+
+import com.capstone.HRMS.Entity.TimelogStatus;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// Flat, read-only view of a timelog for HR listings: no entity graph and no photo bytes
+@Getter
+public class TimelogSummaryDTO {
+
+    private final Long id;
+    private final long userId;
+    private final String username;
+    private final String firstName;
+    private final String lastName;
+    private final String department;
+    private final LocalDateTime logDate;
+    private final LocalDateTime timeIn;
+    private final LocalDateTime timeOut;
+    private final LocalDateTime breakTimeStart;
+    private final LocalDateTime breakTimeEnd;
+    private final Long breakDurationMinutes;
+    private final Double totalWorkedHours;
+    private final LocalDateTime adjustedTimeIn;
+    private final LocalDateTime adjustedTimeOut;
+    private final Long adjustedBreakDurationMinutes;
+    private final String adjustmentReason;
+    private final String adjustedByUsername;
+    private final LocalDateTime adjustmentDate;
+    private final TimelogStatus status;
+    private final String timeInPhotoKey;
+    private final String timeOutPhotoKey;
+
+    // Argument order must match the Criteria projection in TimelogRepositoryCustomImpl
+    public TimelogSummaryDTO(Long id, long userId, String username, String firstName, String lastName,
+                             String department, LocalDateTime logDate, LocalDateTime timeIn, LocalDateTime timeOut,
+                             LocalDateTime breakTimeStart, LocalDateTime breakTimeEnd, Long breakDurationMinutes,
+                             Double totalWorkedHours, LocalDateTime adjustedTimeIn, LocalDateTime adjustedTimeOut,
+                             Long adjustedBreakDurationMinutes, String adjustmentReason, String adjustedByUsername,
+                             LocalDateTime adjustmentDate, TimelogStatus status, String timeInPhotoKey,
+                             String timeOutPhotoKey) {
+        this.id = id;
+        this.userId = userId;
+        this.username = username;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.department = department;
+        this.logDate = logDate;
+        this.timeIn = timeIn;
+        this.timeOut = timeOut;
+        this.breakTimeStart = breakTimeStart;
+        this.breakTimeEnd = breakTimeEnd;
+        this.breakDurationMinutes = breakDurationMinutes;
+        this.totalWorkedHours = totalWorkedHours;
+        this.adjustedTimeIn = adjustedTimeIn;
+        this.adjustedTimeOut = adjustedTimeOut;
+        this.adjustedBreakDurationMinutes = adjustedBreakDurationMinutes;
+        this.adjustmentReason = adjustmentReason;
+        this.adjustedByUsername = adjustedByUsername;
+        this.adjustmentDate = adjustmentDate;
+        this.status = status;
+        this.timeInPhotoKey = timeInPhotoKey;
+        this.timeOutPhotoKey = timeOutPhotoKey;
+    }
+
+    public String getEmployeeName() {
+        if (firstName != null && lastName != null) {
+            return firstName + " " + lastName;
+        } else if (firstName != null) {
+            return firstName;
+        } else if (lastName != null) {
+            return lastName;
+        }
+        return username;
+    }
+}
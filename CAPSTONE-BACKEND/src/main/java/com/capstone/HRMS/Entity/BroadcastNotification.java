@@ -0,0 +1,49 @@
+package com.capstone.HRMS.Entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+// A notification addressed to every user, stored once. Each user's read/dismissed state lives in
+// BroadcastReceipt and BroadcastWatermark; NotificationService merges broadcasts into the inbox.
+@Getter
+@Setter
+@Entity
+@Table(name = "broadcast_notifications", indexes = {
+        @Index(name = "idx_broadcast_notifications_created_at", columnList = "created_at")
+})
+public class BroadcastNotification {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "title", nullable = false)
+    private String title;
+
+    @Column(name = "message", nullable = false, length = 1000)
+    private String message;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type")
+    private NotificationType type;
+
+    @Column(name = "related_entity_id")
+    private Long relatedEntityId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public BroadcastNotification() {
+    }
+
+    public BroadcastNotification(String title, String message, NotificationType type, Long relatedEntityId) {
+        this.title = title;
+        this.message = message;
+        this.type = type;
+        this.relatedEntityId = relatedEntityId;
+        this.createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,43 @@
+package com.capstone.HRMS.Entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+// One user's state for one broadcast above their watermark: present means read; dismissed
+// means the user deleted it from their inbox
+@Getter
+@Setter
+@Entity
+@Table(name = "broadcast_receipts", indexes = {
+        @Index(name = "uk_broadcast_receipts_user_broadcast", columnList = "user_id, broadcast_id", unique = true)
+})
+public class BroadcastReceipt {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private long userId;
+
+    @Column(name = "broadcast_id", nullable = false)
+    private long broadcastId;
+
+    @Column(name = "read_at", nullable = false)
+    private LocalDateTime readAt;
+
+    @Column(name = "dismissed", nullable = false)
+    private boolean dismissed;
+
+    public BroadcastReceipt() {
+    }
+
+    public BroadcastReceipt(long userId, long broadcastId) {
+        this.userId = userId;
+        this.broadcastId = broadcastId;
+        this.readAt = LocalDateTime.now();
+    }
+}
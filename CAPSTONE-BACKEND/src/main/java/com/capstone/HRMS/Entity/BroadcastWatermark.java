@@ -0,0 +1,28 @@
+package com.capstone.HRMS.Entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+// Every broadcast with id <= lastReadBroadcastId counts as read for this user ("mark all as read")
+@Getter
+@Setter
+@Entity
+@Table(name = "broadcast_watermarks")
+public class BroadcastWatermark {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "last_read_broadcast_id", nullable = false)
+    private long lastReadBroadcastId;
+
+    public BroadcastWatermark() {
+    }
+
+    public BroadcastWatermark(Long userId, long lastReadBroadcastId) {
+        this.userId = userId;
+        this.lastReadBroadcastId = lastReadBroadcastId;
+    }
+}
@@ -1,11 +1,14 @@
 package com.capstone.HRMS.Entity;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.annotation.Nullable;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.util.Locale;
+
 @Getter @Setter
 @Entity
 @Table(name = "employeeDetails")
@@ -17,6 +20,12 @@ public class EmployeeDetails {
 
     @Nullable
     public String email;
+
+    // Trimmed, lower-cased copy of email for indexed lookups (unique index in PostgresSchemaInitializer)
+    @Nullable
+    @JsonIgnore
+    @Column(name = "email_normalized")
+    private String emailNormalized;
     @Nullable
     public String firstName;
     @Nullable
@@ -32,6 +41,12 @@ public class EmployeeDetails {
     @Column(name = "profile_picture", columnDefinition = "TEXT")
     public String profilePicture;
 
+    // Small avatar used by list views; only the owner's page needs the full picture
+    @Nullable
+    @JsonIgnore
+    @Column(name = "profile_picture_thumbnail", columnDefinition = "TEXT")
+    public String profilePictureThumbnail;
+
     @OneToOne
     @JoinColumn(name = "user_id")
     @JsonBackReference
@@ -42,6 +57,19 @@ public class EmployeeDetails {
 
     }
 
+    public static String normalizeEmail(String email) {
+        if (email == null || email.isBlank()) {
+            return null;
+        }
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    @PrePersist
+    @PreUpdate
+    void syncEmailNormalized() {
+        this.emailNormalized = normalizeEmail(email);
+    }
+
     public void setUser(Users user) {
         this.user = user;
         user.setEmployeeDetails(this);
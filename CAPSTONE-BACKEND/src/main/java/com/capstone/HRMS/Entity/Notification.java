@@ -10,11 +10,16 @@ import java.time.LocalDateTime;
 @Getter
 @Setter
 @Entity
-@Table(name = "notifications")
+// Inbox pages seek on (created_at, notification_id) per user; unread pages also filter on read
+@Table(name = "notifications", indexes = {
+        @Index(name = "idx_notifications_user_read_created", columnList = "user_id, read, created_at"),
+        @Index(name = "idx_notifications_user_created", columnList = "user_id, created_at, notification_id")
+})
 public class Notification {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "notification_id")
     private Long notificationId;
 
     @ManyToOne
@@ -34,7 +39,7 @@ public class Notification {
     @Column(nullable = false)
     private Boolean read = false;
 
-    @Column(nullable = false)
+    @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 
     @Column
@@ -0,0 +1,78 @@
+package com.capstone.HRMS.Entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+// Transactional outbox row: written in the same transaction as the change that triggers the
+// email, then delivered by EmailOutboxDispatcher. DEAD rows ran out of attempts or expired.
+// The body is replaced with REDACTED_BODY once a row is SENT or DEAD (it may hold a reset link).
+@Getter
+@Setter
+@Entity
+@Table(name = "outbound_email", indexes = {
+        @Index(name = "idx_outbound_email_due", columnList = "status, next_attempt_at"),
+        @Index(name = "idx_outbound_email_created_at", columnList = "created_at")
+})
+public class OutboundEmail {
+
+    public static final String REDACTED_BODY = "[redacted]";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "recipient", nullable = false)
+    private String recipient;
+
+    @Column(name = "subject", nullable = false)
+    private String subject;
+
+    @Column(name = "body", nullable = false, columnDefinition = "TEXT")
+    private String body;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 16)
+    private OutboundEmailStatus status = OutboundEmailStatus.PENDING;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+
+    // Emails that are useless after a deadline (reset links) are dead-lettered instead of sent late
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+
+    public OutboundEmail() {
+    }
+
+    public OutboundEmail(String recipient, String subject, String body) {
+        this.recipient = recipient;
+        this.subject = subject;
+        this.body = body;
+        this.createdAt = LocalDateTime.now();
+        this.nextAttemptAt = this.createdAt;
+    }
+
+    public OutboundEmail(String recipient, String subject, String body, LocalDateTime expiresAt) {
+        this(recipient, subject, body);
+        this.expiresAt = expiresAt;
+    }
+
+    public boolean isExpired(LocalDateTime now) {
+        return expiresAt != null && !now.isBefore(expiresAt);
+    }
+}
@@ -0,0 +1,7 @@
+package com.capstone.HRMS.Entity;
+
+public enum OutboundEmailStatus {
+    PENDING,
+    SENT,
+    DEAD
+}
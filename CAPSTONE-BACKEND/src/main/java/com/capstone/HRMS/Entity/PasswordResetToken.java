@@ -6,24 +6,33 @@ import lombok.Setter;
 
 import java.time.LocalDateTime;
 
+// A reset link carries "selector.verifier". The selector is the indexed lookup key; only the
+// SHA-256 of the verifier is stored, so a leaked table can't be turned into working links.
+// Both columns are nullable at the DB level so ddl-auto could add them next to legacy rows.
 @Getter
 @Setter
 @Entity
-@Table(name = "password_reset_tokens")
+@Table(name = "password_reset_tokens", indexes = {
+        @Index(name = "uk_password_reset_tokens_selector", columnList = "selector", unique = true),
+        @Index(name = "idx_password_reset_tokens_expires_at", columnList = "expires_at")
+})
 public class PasswordResetToken {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(nullable = false, unique = true)
-    private String token;
+    @Column(name = "selector", length = 16)
+    private String selector;
+
+    @Column(name = "verifier_hash", length = 32)
+    private byte[] verifierHash;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private Users user;
 
-    @Column(nullable = false)
+    @Column(name = "expires_at", nullable = false)
     private LocalDateTime expiresAt;
 
     @Column
@@ -36,9 +45,10 @@ public class PasswordResetToken {
         this.createdAt = LocalDateTime.now();
     }
 
-    public PasswordResetToken(String token, Users user, LocalDateTime expiresAt) {
+    public PasswordResetToken(String selector, byte[] verifierHash, Users user, LocalDateTime expiresAt) {
         this();
-        this.token = token;
+        this.selector = selector;
+        this.verifierHash = verifierHash;
         this.user = user;
         this.expiresAt = expiresAt;
     }
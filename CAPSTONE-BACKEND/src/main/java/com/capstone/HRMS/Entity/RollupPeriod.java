@@ -0,0 +1,7 @@
+package com.capstone.HRMS.Entity;
+
+public enum RollupPeriod {
+    DAY,
+    WEEK,   // ISO week, starting Monday
+    MONTH
+}
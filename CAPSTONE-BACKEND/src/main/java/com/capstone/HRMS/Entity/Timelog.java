@@ -10,7 +10,13 @@ import java.time.Duration;
 @Getter
 @Setter
 @Entity
-@Table(name = "timelog")
+@Table(name = "timelog", indexes = {
+        // Keyset pagination for the HR listing walks (log_date, id) in descending order
+        @Index(name = "idx_timelog_log_date_id", columnList = "log_date, id"),
+        // Per-user history and the user filter of the HR search
+        @Index(name = "idx_timelog_user_log_date", columnList = "user_id, log_date"),
+        @Index(name = "idx_timelog_status", columnList = "status")
+})
 public class Timelog {
 
     @Id
@@ -33,11 +39,20 @@ public class Timelog {
     @Column(name = "break_time_end")
     private LocalDateTime breakTimeEnd;
 
-    @Column(columnDefinition = "TEXT")
-    private String timeInPhoto;
+    // SHA-256 keys into the PhotoStorageService; the photo bytes live outside the row
+    @Column(name = "time_in_photo_key", length = 64)
+    private String timeInPhotoKey;
+
+    @Column(name = "time_out_photo_key", length = 64)
+    private String timeOutPhotoKey;
+
+    // Downscaled variants for list views
+    @Column(name = "time_in_thumbnail_key", length = 64)
+    private String timeInThumbnailKey;
+
+    @Column(name = "time_out_thumbnail_key", length = 64)
+    private String timeOutThumbnailKey;
 
-    @Column(columnDefinition = "TEXT")
-    private String timeOutPhoto;
     @Column(name = "total_worked_hours")
     private Double totalWorkedHours;
 
@@ -77,6 +92,12 @@ public class Timelog {
     @Column(name = "status")
     private TimelogStatus status = TimelogStatus.CLOCKED_OUT;
 
+    // Bumped by every write, including the conditional clock transitions in TimelogRepository,
+    // so an HR adjustment racing a clock action fails instead of overwriting it
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "bigint default 0")
+    private Long version = 0L;
+
     public Timelog() {
         this.createdDate = LocalDateTime.now();
         this.updatedDate = LocalDateTime.now();
@@ -1,6 +1,7 @@
 package com.capstone.HRMS.Entity;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
 import lombok.Getter;
@@ -25,6 +26,11 @@ public class Users {
     @Column(name = "is_enabled", nullable = false)
     private boolean isEnabled = true;
 
+    // Embedded in issued JWTs; bumping it revokes every token issued before (see UsersService.revokeTokens)
+    @JsonIgnore
+    @Column(name = "token_version", nullable = false, columnDefinition = "integer default 0")
+    private int tokenVersion;
+
     @OneToOne(mappedBy = "user", cascade = {CascadeType.PERSIST, CascadeType.MERGE, CascadeType.REMOVE})
     @JsonManagedReference
     private EmployeeDetails employeeDetails;
@@ -0,0 +1,43 @@
+package com.capstone.HRMS.Entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Precomputed worked hours per user and day/week/month, keyed by the first day of the period.
+// Maintained by WorkedHoursRollupService; never edited by hand.
+@Getter
+@Setter
+@Entity
+@Table(name = "worked_hours_rollup", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_worked_hours_rollup_period", columnNames = {"user_id", "period", "period_start"})
+})
+public class WorkedHoursRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "period", nullable = false, length = 10)
+    private RollupPeriod period;
+
+    @Column(name = "period_start", nullable = false)
+    private LocalDate periodStart;
+
+    @Column(name = "total_hours", nullable = false)
+    private Double totalHours;
+
+    // Number of timelogs with worked hours in the period
+    @Column(name = "timelog_count", nullable = false)
+    private Integer timelogCount;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
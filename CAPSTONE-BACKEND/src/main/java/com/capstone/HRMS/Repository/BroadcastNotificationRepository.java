@@ -0,0 +1,44 @@
+package com.capstone.HRMS.Repository;
+
+import com.capstone.HRMS.Entity.BroadcastNotification;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface BroadcastNotificationRepository extends JpaRepository<BroadcastNotification, Long> {
+
+    // Dismissed broadcasts never show; unreadOnly also drops those under the watermark or with a receipt
+    String INBOX_FILTER = "NOT EXISTS (SELECT r FROM BroadcastReceipt r WHERE r.broadcastId = b.id AND r.userId = :userId "
+            + "AND (r.dismissed = true OR :unreadOnly = true)) "
+            + "AND (:unreadOnly = false OR b.id > :watermark) ";
+
+    // Inbox pages, newest first. Inbox ids are -id and sort descending, so ties on createdAt go to
+    // the lower broadcast id; the seek below matches that order.
+    @Query("SELECT b FROM BroadcastNotification b WHERE " + INBOX_FILTER + "ORDER BY b.createdAt DESC, b.id ASC")
+    List<BroadcastNotification> findInboxPage(@Param("userId") long userId, @Param("watermark") long watermark,
+                                              @Param("unreadOnly") boolean unreadOnly, Pageable page);
+
+    @Query("SELECT b FROM BroadcastNotification b WHERE " + INBOX_FILTER
+            + "AND (b.createdAt < :afterCreatedAt OR (b.createdAt = :afterCreatedAt AND b.id > :afterBroadcastId)) "
+            + "ORDER BY b.createdAt DESC, b.id ASC")
+    List<BroadcastNotification> findInboxPageAfter(@Param("userId") long userId, @Param("watermark") long watermark,
+                                                   @Param("unreadOnly") boolean unreadOnly,
+                                                   @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                                   @Param("afterBroadcastId") long afterBroadcastId, Pageable page);
+
+    List<BroadcastNotification> findTop100ByIdGreaterThanOrderByIdAsc(long id);
+
+    @Query("SELECT COALESCE(MAX(b.id), 0) FROM BroadcastNotification b")
+    long findMaxId();
+
+    // Broadcasts above the watermark with no receipt (a receipt means read or dismissed)
+    @Query("SELECT COUNT(b) FROM BroadcastNotification b WHERE b.id > :watermark AND NOT EXISTS "
+            + "(SELECT r FROM BroadcastReceipt r WHERE r.broadcastId = b.id AND r.userId = :userId)")
+    long countUnread(@Param("userId") long userId, @Param("watermark") long watermark);
+}
@@ -0,0 +1,35 @@
+package com.capstone.HRMS.Repository;
+
+import com.capstone.HRMS.Entity.BroadcastReceipt;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface BroadcastReceiptRepository extends JpaRepository<BroadcastReceipt, Long> {
+
+    List<BroadcastReceipt> findByUserIdAndBroadcastIdIn(long userId, Collection<Long> broadcastIds);
+
+    // Idempotent under double clicks; once dismissed a receipt stays dismissed
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO broadcast_receipts (user_id, broadcast_id, read_at, dismissed) "
+            + "VALUES (:userId, :broadcastId, :readAt, :dismissed) "
+            + "ON CONFLICT (user_id, broadcast_id) DO UPDATE "
+            + "SET dismissed = broadcast_receipts.dismissed OR EXCLUDED.dismissed", nativeQuery = true)
+    int upsert(@Param("userId") long userId, @Param("broadcastId") long broadcastId,
+               @Param("readAt") LocalDateTime readAt, @Param("dismissed") boolean dismissed);
+
+    // Read receipts at or below a new watermark are implied by it; dismissals are kept
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM BroadcastReceipt r WHERE r.userId = :userId AND r.broadcastId <= :watermark AND r.dismissed = false")
+    int deleteReadUpTo(@Param("userId") long userId, @Param("watermark") long watermark);
+}
@@ -0,0 +1,21 @@
+package com.capstone.HRMS.Repository;
+
+import com.capstone.HRMS.Entity.BroadcastWatermark;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface BroadcastWatermarkRepository extends JpaRepository<BroadcastWatermark, Long> {
+
+    // Only ever moves forward, whatever order concurrent "mark all" requests commit in
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO broadcast_watermarks (user_id, last_read_broadcast_id) VALUES (:userId, :watermark) "
+            + "ON CONFLICT (user_id) DO UPDATE SET last_read_broadcast_id = "
+            + "GREATEST(broadcast_watermarks.last_read_broadcast_id, EXCLUDED.last_read_broadcast_id)", nativeQuery = true)
+    int advance(@Param("userId") long userId, @Param("watermark") long watermark);
+}
@@ -1,26 +1,82 @@
 package com.capstone.HRMS.Repository;
 
+import com.capstone.HRMS.DTO.NotificationDTO;
 import com.capstone.HRMS.Entity.Notification;
 import com.capstone.HRMS.Entity.NotificationType;
 import com.capstone.HRMS.Entity.Users;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
     
-    List<Notification> findByUserOrderByCreatedAtDesc(Users user);
-    
     List<Notification> findByUserAndReadOrderByCreatedAtDesc(Users user, Boolean read);
     
+    // Inbox pages, newest first, seeking on (createdAt, notificationId) so deep pages cost the same as the
+    // first. Projected straight into NotificationDTO, so the owning Users row is never loaded.
+    String INBOX_PROJECTION = "SELECT new com.capstone.HRMS.DTO.NotificationDTO(n.notificationId, n.title, n.message, "
+            + "n.type, n.read, n.createdAt, n.relatedEntityId) FROM Notification n WHERE n.user.userId = :userId ";
+    String INBOX_AFTER = "AND (n.createdAt < :afterCreatedAt "
+            + "OR (n.createdAt = :afterCreatedAt AND n.notificationId < :afterId)) ";
+    String INBOX_ORDER = "ORDER BY n.createdAt DESC, n.notificationId DESC";
+
+    @Query(INBOX_PROJECTION + INBOX_ORDER)
+    List<NotificationDTO> findInboxPage(@Param("userId") long userId, Pageable page);
+
+    @Query(INBOX_PROJECTION + INBOX_AFTER + INBOX_ORDER)
+    List<NotificationDTO> findInboxPageAfter(@Param("userId") long userId,
+                                             @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                             @Param("afterId") long afterId, Pageable page);
+
+    @Query(INBOX_PROJECTION + "AND n.read = false " + INBOX_ORDER)
+    List<NotificationDTO> findUnreadInboxPage(@Param("userId") long userId, Pageable page);
+
+    @Query(INBOX_PROJECTION + "AND n.read = false " + INBOX_AFTER + INBOX_ORDER)
+    List<NotificationDTO> findUnreadInboxPageAfter(@Param("userId") long userId,
+                                                   @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                                   @Param("afterId") long afterId, Pageable page);
+
+    // Every user's notifications, newest first, for the HR/admin listing; same keyset as the inbox
+    String ALL_PROJECTION = "SELECT new com.capstone.HRMS.DTO.NotificationDTO(n.notificationId, n.title, n.message, "
+            + "n.type, n.read, n.createdAt, n.relatedEntityId, n.user.userId) FROM Notification n ";
+
+    @Query(ALL_PROJECTION + INBOX_ORDER)
+    List<NotificationDTO> findAllPage(Pageable page);
+
+    @Query(ALL_PROJECTION + "WHERE (n.createdAt < :afterCreatedAt "
+            + "OR (n.createdAt = :afterCreatedAt AND n.notificationId < :afterId)) " + INBOX_ORDER)
+    List<NotificationDTO> findAllPageAfter(@Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                           @Param("afterId") long afterId, Pageable page);
+
     @Query("SELECT COUNT(n) FROM Notification n WHERE n.user = :user AND n.read = false")
     Long countUnreadNotificationsByUser(@Param("user") Users user);
     
     List<Notification> findByTypeOrderByCreatedAtDesc(NotificationType type);
     
     List<Notification> findByUserAndTypeOrderByCreatedAtDesc(Users user, NotificationType type);
+
+    // Stream backlog/catch-up: a user's notifications after a cursor, oldest first
+    List<Notification> findTop100ByUserAndNotificationIdGreaterThanOrderByNotificationIdAsc(Users user, Long notificationId);
+
+    @Query("SELECT COALESCE(MAX(n.notificationId), 0) FROM Notification n WHERE n.user = :user")
+    long findMaxIdByUser(@Param("user") Users user);
+
+    // Fan-out as one INSERT ... SELECT, so notifying a whole role is a single statement instead of
+    // one save per recipient. relatedEntityId is cast so a null binds as bigint.
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO notifications (user_id, title, message, type, read, created_at, related_entity_id) "
+            + "SELECT u.user_id, :title, :message, :type, false, :createdAt, CAST(:relatedEntityId AS bigint) "
+            + "FROM users u WHERE u.role = :role", nativeQuery = true)
+    int insertForRole(@Param("role") String role, @Param("title") String title, @Param("message") String message,
+                      @Param("type") String type, @Param("createdAt") LocalDateTime createdAt,
+                      @Param("relatedEntityId") Long relatedEntityId);
 }
@@ -0,0 +1,65 @@
+package com.capstone.HRMS.Repository;
+
+import com.capstone.HRMS.Entity.OutboundEmail;
+import com.capstone.HRMS.Entity.OutboundEmailStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboundEmailRepository extends JpaRepository<OutboundEmail, Long> {
+
+    // Claim due emails by pushing next_attempt_at out to leaseUntil. SKIP LOCKED lets several
+    // dispatchers claim disjoint batches; a dispatcher that dies mid-send frees its batch when
+    // the lease runs out.
+    @Transactional
+    @Query(value = """
+            UPDATE outbound_email SET next_attempt_at = :leaseUntil
+            WHERE id IN (
+                SELECT id FROM outbound_email
+                WHERE status = 'PENDING' AND next_attempt_at <= :now
+                ORDER BY next_attempt_at
+                LIMIT :batchSize
+                FOR UPDATE SKIP LOCKED)
+            RETURNING *
+            """, nativeQuery = true)
+    List<OutboundEmail> claimDue(@Param("now") LocalDateTime now, @Param("leaseUntil") LocalDateTime leaseUntil,
+                                 @Param("batchSize") int batchSize);
+
+    // SENT and DEAD rows drop their body, so reset links don't sit in the table until retention
+    @Modifying
+    @Transactional
+    @Query("UPDATE OutboundEmail e SET e.status = com.capstone.HRMS.Entity.OutboundEmailStatus.SENT, "
+            + "e.sentAt = :sentAt, e.attempts = e.attempts + 1, e.lastError = NULL, "
+            + "e.body = '" + OutboundEmail.REDACTED_BODY + "' WHERE e.id = :id")
+    int markSent(@Param("id") long id, @Param("sentAt") LocalDateTime sentAt);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE OutboundEmail e SET e.attempts = :attempts, e.nextAttemptAt = :nextAttemptAt, "
+            + "e.lastError = :lastError WHERE e.id = :id")
+    int markRetry(@Param("id") long id, @Param("attempts") int attempts,
+                  @Param("nextAttemptAt") LocalDateTime nextAttemptAt, @Param("lastError") String lastError);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE OutboundEmail e SET e.status = com.capstone.HRMS.Entity.OutboundEmailStatus.DEAD, "
+            + "e.attempts = :attempts, e.lastError = :lastError, "
+            + "e.body = '" + OutboundEmail.REDACTED_BODY + "' WHERE e.id = :id")
+    int markDead(@Param("id") long id, @Param("attempts") int attempts, @Param("lastError") String lastError);
+
+    long countByStatus(OutboundEmailStatus status);
+
+    // Delivered and dead emails are kept (redacted) for troubleshooting; purged in batches by the retention job
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM outbound_email WHERE id IN (SELECT id FROM outbound_email "
+            + "WHERE status <> 'PENDING' AND created_at < :cutoff LIMIT :batchSize)", nativeQuery = true)
+    int deleteFinishedBatch(@Param("cutoff") LocalDateTime cutoff, @Param("batchSize") int batchSize);
+}
@@ -2,7 +2,9 @@ package com.capstone.HRMS.Repository;
 
 import com.capstone.HRMS.Entity.PasswordResetToken;
 import com.capstone.HRMS.Entity.Users;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -15,17 +17,22 @@ import java.util.Optional;
 @Repository
 public interface PasswordResetTokenRepository extends JpaRepository<PasswordResetToken, Long> {
     
-    Optional<PasswordResetToken> findByToken(String token);
-    
-    Optional<PasswordResetToken> findByTokenAndUsedAtIsNull(String token);
+    Optional<PasswordResetToken> findBySelector(String selector);
+
+    // Locked so two concurrent resets with the same link can't both succeed
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT prt FROM PasswordResetToken prt JOIN FETCH prt.user WHERE prt.selector = :selector")
+    Optional<PasswordResetToken> findBySelectorForUpdate(@Param("selector") String selector);
     
     @Query("SELECT prt FROM PasswordResetToken prt WHERE prt.user = :user AND prt.usedAt IS NULL AND prt.expiresAt > :now")
     Optional<PasswordResetToken> findValidTokenByUser(@Param("user") Users user, @Param("now") LocalDateTime now);
     
+    // One bounded batch per call so a large backlog never holds a long table-wide lock
     @Modifying
     @Transactional
-    @Query("DELETE FROM PasswordResetToken prt WHERE prt.expiresAt < :now")
-    void deleteExpiredTokens(@Param("now") LocalDateTime now);
+    @Query(value = "DELETE FROM password_reset_tokens WHERE id IN "
+            + "(SELECT id FROM password_reset_tokens WHERE expires_at < :cutoff LIMIT :batchSize)", nativeQuery = true)
+    int deleteExpiredBatch(@Param("cutoff") LocalDateTime cutoff, @Param("batchSize") int batchSize);
     
     @Modifying
     @Transactional
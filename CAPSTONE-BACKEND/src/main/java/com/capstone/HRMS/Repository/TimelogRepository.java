@@ -1,5 +1,6 @@
 package com.capstone.HRMS.Repository;
 
+import com.capstone.HRMS.DTO.AttendanceEntryDTO;
 import com.capstone.HRMS.Entity.Timelog;
 import com.capstone.HRMS.Entity.TimelogStatus;
 import com.capstone.HRMS.Entity.Users;
@@ -7,13 +8,14 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface TimelogRepository extends JpaRepository<Timelog, Long> {
+public interface TimelogRepository extends JpaRepository<Timelog, Long>, TimelogRepositoryCustom {
 
     // Find current active timelog for a user (not clocked out)
     @Query("SELECT t FROM Timelog t WHERE t.user = :user AND t.status != 'CLOCKED_OUT' ORDER BY t.createdDate DESC")
@@ -33,6 +35,15 @@ public interface TimelogRepository extends JpaRepository<Timelog, Long> {
     // Find timelogs by status
     List<Timelog> findByStatus(TimelogStatus status);
 
+    // Attendance board reload: every open timelog as a board entry in one statement (no per-row user,
+    // details or position loads), oldest first so a user's newest open timelog is applied last
+    @Transactional(readOnly = true)
+    @Query("SELECT new com.capstone.HRMS.DTO.AttendanceEntryDTO(u.userId, u.username, d.firstName, d.lastName, p.title, "
+            + "t.status, t.id, CASE WHEN t.status = 'ON_BREAK' THEN t.breakTimeStart ELSE t.timeIn END) "
+            + "FROM Timelog t JOIN t.user u LEFT JOIN u.employeeDetails d LEFT JOIN u.position p "
+            + "WHERE t.status <> 'CLOCKED_OUT' ORDER BY t.createdDate ASC NULLS FIRST, t.id ASC")
+    List<AttendanceEntryDTO> findActiveAttendanceEntries();
+
     // Find timelogs that need adjustment (for HR dashboard)
     @Query("SELECT t FROM Timelog t WHERE t.adjustedBy IS NOT NULL ORDER BY t.adjustmentDate DESC")
     List<Timelog> findAdjustedTimelogs();
@@ -49,73 +60,84 @@ public interface TimelogRepository extends JpaRepository<Timelog, Long> {
     @Query("SELECT SUM(t.totalWorkedHours) FROM Timelog t WHERE t.user = :user AND t.logDate BETWEEN :startDate AND :endDate AND t.totalWorkedHours IS NOT NULL")
     Double calculateTotalWorkedHours(@Param("user") Users user, @Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
 
-    // Find users who are currently clocked in
-    @Query("SELECT DISTINCT t.user FROM Timelog t WHERE t.status = 'CLOCKED_IN'")
-    List<Users> findUsersCurrentlyClockedIn();
-
-    // Find users who are currently on break
-    @Query("SELECT DISTINCT t.user FROM Timelog t WHERE t.status = 'ON_BREAK'")
-    List<Users> findUsersCurrentlyOnBreak();
-
-    // Find all timelogs (for admin/HR view)
-    @Query("SELECT t FROM Timelog t ORDER BY t.logDate DESC")
-    List<Timelog> findAllTimelogs();
-
-    // Find timelogs by user and month
-    @Query("SELECT t FROM Timelog t WHERE t.user = :user AND EXTRACT(YEAR FROM t.logDate) = :year AND EXTRACT(MONTH FROM t.logDate) = :month ORDER BY t.logDate DESC")
-    List<Timelog> findTimelogsByUserAndMonth(@Param("user") Users user, @Param("year") int year, @Param("month") int month);
-
-    // Find timelogs with search functionality (by username or full name) - search only
-    @Query("SELECT t FROM Timelog t LEFT JOIN t.user.employeeDetails ed WHERE " +
-           "(LOWER(t.user.username) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(COALESCE(ed.firstName, '')) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(COALESCE(ed.lastName, '')) LIKE LOWER(CONCAT('%', :search, '%'))) " +
-           "ORDER BY t.logDate DESC")
-    List<Timelog> findTimelogsBySearch(@Param("search") String search);
-
-    // Find timelogs with search functionality and date range
-    @Query("SELECT t FROM Timelog t LEFT JOIN t.user.employeeDetails ed WHERE " +
-           "(LOWER(t.user.username) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(COALESCE(ed.firstName, '')) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(COALESCE(ed.lastName, '')) LIKE LOWER(CONCAT('%', :search, '%'))) " +
-           "AND t.logDate >= :startDate AND t.logDate <= :endDate " +
-           "ORDER BY t.logDate DESC")
-    List<Timelog> findTimelogsWithSearchAndDateRange(@Param("search") String search, 
-                                                    @Param("startDate") LocalDateTime startDate, 
-                                                    @Param("endDate") LocalDateTime endDate);
-
-    // Find timelogs with search functionality and start date only
-    @Query("SELECT t FROM Timelog t LEFT JOIN t.user.employeeDetails ed WHERE " +
-           "(LOWER(t.user.username) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(COALESCE(ed.firstName, '')) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(COALESCE(ed.lastName, '')) LIKE LOWER(CONCAT('%', :search, '%'))) " +
-           "AND t.logDate >= :startDate " +
-           "ORDER BY t.logDate DESC")
-    List<Timelog> findTimelogsWithSearchAndStartDate(@Param("search") String search, 
-                                                    @Param("startDate") LocalDateTime startDate);
-
-    // Find timelogs with search functionality and end date only
-    @Query("SELECT t FROM Timelog t LEFT JOIN t.user.employeeDetails ed WHERE " +
-           "(LOWER(t.user.username) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(COALESCE(ed.firstName, '')) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(COALESCE(ed.lastName, '')) LIKE LOWER(CONCAT('%', :search, '%'))) " +
-           "AND t.logDate <= :endDate " +
-           "ORDER BY t.logDate DESC")
-    List<Timelog> findTimelogsWithSearchAndEndDate(@Param("search") String search, 
-                                                  @Param("endDate") LocalDateTime endDate);
-
-    // Find timelogs by date range only - both dates
-    @Query("SELECT t FROM Timelog t WHERE " +
-           "t.logDate >= :startDate AND t.logDate <= :endDate " +
-           "ORDER BY t.logDate DESC")
-    List<Timelog> findTimelogsByDateRange(@Param("startDate") LocalDateTime startDate, 
-                                        @Param("endDate") LocalDateTime endDate);
-
-    // Find timelogs by start date only
-    @Query("SELECT t FROM Timelog t WHERE t.logDate >= :startDate ORDER BY t.logDate DESC")
-    List<Timelog> findTimelogsByStartDate(@Param("startDate") LocalDateTime startDate);
-
-    // Find timelogs by end date only
-    @Query("SELECT t FROM Timelog t WHERE t.logDate <= :endDate ORDER BY t.logDate DESC")
-    List<Timelog> findTimelogsByEndDate(@Param("endDate") LocalDateTime endDate);
+    // Clock transitions: each is one conditional UPDATE ... RETURNING guarded by the expected status,
+    // so two concurrent requests from the same user can't both succeed. An empty result means the
+    // user wasn't in the expected state. Declared @Transactional because repository query methods
+    // are read-only by default.
+
+    // Reopen today's clocked-out timelog, or create it if the user has none today. Opening a second
+    // active timelog violates uk_timelog_active_user.
+    @Transactional
+    @Query(value = """
+            WITH reopened AS (
+                UPDATE timelog SET time_in = :now, status = 'CLOCKED_IN',
+                       time_in_photo_key = :photoKey, time_in_thumbnail_key = :thumbnailKey,
+                       updated_date = :now, version = version + 1
+                WHERE id = (SELECT max(id) FROM timelog
+                            WHERE user_id = :userId AND log_date >= :dayStart AND log_date < :dayEnd)
+                  AND status = 'CLOCKED_OUT'
+                RETURNING *
+            ), inserted AS (
+                INSERT INTO timelog (user_id, log_date, time_in, status, time_in_photo_key, time_in_thumbnail_key,
+                                     created_date, updated_date, version)
+                SELECT :userId, :now, :now, 'CLOCKED_IN', :photoKey, :thumbnailKey, :now, :now, 0
+                WHERE NOT EXISTS (SELECT 1 FROM timelog
+                                  WHERE user_id = :userId AND log_date >= :dayStart AND log_date < :dayEnd)
+                RETURNING *
+            )
+            SELECT * FROM reopened UNION ALL SELECT * FROM inserted
+            """, nativeQuery = true)
+    Optional<Timelog> clockIn(@Param("userId") Long userId, @Param("now") LocalDateTime now,
+                              @Param("dayStart") LocalDateTime dayStart, @Param("dayEnd") LocalDateTime dayEnd,
+                              @Param("photoKey") String photoKey, @Param("thumbnailKey") String thumbnailKey);
+
+    // Whether any timelog still points at a photo blob; only asked when a rejected transition cleans up
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM timelog WHERE time_in_photo_key = :key OR time_out_photo_key = :key "
+            + "OR time_in_thumbnail_key = :key OR time_out_thumbnail_key = :key)", nativeQuery = true)
+    boolean isPhotoKeyReferenced(@Param("key") String key);
+
+    // Close the open timelog, ending a running break and computing worked hours the same way as
+    // Timelog.calculateTotalWorkedHours()
+    @Transactional
+    @Query(value = """
+            UPDATE timelog t SET time_out = :now, status = 'CLOCKED_OUT',
+                   time_out_photo_key = :photoKey, time_out_thumbnail_key = :thumbnailKey,
+                   break_time_end = c.break_end,
+                   break_duration_minutes = c.break_minutes,
+                   total_worked_hours = (floor(extract(epoch FROM (COALESCE(t.adjusted_time_out, :now)
+                                                  - COALESCE(t.adjusted_time_in, t.time_in))) / 60)
+                                         - COALESCE(t.adjusted_break_duration_minutes, c.break_minutes, 0)) / 60.0,
+                   updated_date = :now, version = t.version + 1
+            FROM (SELECT id,
+                         CASE WHEN break_time_start IS NOT NULL AND break_time_end IS NULL
+                              THEN :now ELSE break_time_end END AS break_end,
+                         CASE WHEN break_time_start IS NOT NULL AND break_time_end IS NULL
+                              THEN CAST(floor(extract(epoch FROM (:now - break_time_start)) / 60) AS bigint)
+                              ELSE break_duration_minutes END AS break_minutes
+                  FROM timelog
+                  WHERE user_id = :userId AND status IN ('CLOCKED_IN', 'ON_BREAK') AND time_in IS NOT NULL) c
+            WHERE t.id = c.id AND t.status IN ('CLOCKED_IN', 'ON_BREAK')
+            RETURNING t.*
+            """, nativeQuery = true)
+    Optional<Timelog> clockOut(@Param("userId") Long userId, @Param("now") LocalDateTime now,
+                               @Param("photoKey") String photoKey, @Param("thumbnailKey") String thumbnailKey);
+
+    @Transactional
+    @Query(value = """
+            UPDATE timelog SET break_time_start = :now, status = 'ON_BREAK',
+                   updated_date = :now, version = version + 1
+            WHERE user_id = :userId AND status = 'CLOCKED_IN' AND time_in IS NOT NULL
+            RETURNING *
+            """, nativeQuery = true)
+    Optional<Timelog> startBreak(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Query(value = """
+            UPDATE timelog SET break_time_end = :now, status = 'CLOCKED_IN',
+                   break_duration_minutes = CAST(floor(extract(epoch FROM (:now - break_time_start)) / 60) AS bigint),
+                   updated_date = :now, version = version + 1
+            WHERE user_id = :userId AND status = 'ON_BREAK' AND break_time_start IS NOT NULL
+            RETURNING *
+            """, nativeQuery = true)
+    Optional<Timelog> endBreak(@Param("userId") Long userId, @Param("now") LocalDateTime now);
 }
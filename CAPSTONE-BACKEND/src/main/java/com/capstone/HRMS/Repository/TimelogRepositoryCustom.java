@@ -0,0 +1,19 @@
+package com.capstone.HRMS.Repository;
+
+import com.capstone.HRMS.DTO.TimelogFilter;
+import com.capstone.HRMS.DTO.TimelogSummaryDTO;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface TimelogRepositoryCustom {
+
+    // Keyset page ordered by (logDate, id) descending; pass the last row of the previous page as
+    // afterLogDate/afterId (both null for the first page)
+    List<TimelogSummaryDTO> findTimelogSummaries(TimelogFilter filter, LocalDateTime afterLogDate, Long afterId, int limit);
+
+    // Same rows as a forward-only cursor fetched fetchSize rows at a time. Must be consumed
+    // (and closed) inside a transaction, otherwise the PostgreSQL driver buffers the whole result.
+    Stream<TimelogSummaryDTO> streamTimelogSummaries(TimelogFilter filter, int fetchSize);
+}
@@ -0,0 +1,124 @@
+package com.capstone.HRMS.Repository;
+
+import com.capstone.HRMS.DTO.TimelogFilter;
+import com.capstone.HRMS.DTO.TimelogSummaryDTO;
+import com.capstone.HRMS.Entity.EmployeeDetails;
+import com.capstone.HRMS.Entity.Timelog;
+import com.capstone.HRMS.Entity.Users;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.hibernate.jpa.AvailableHints;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+// Single search engine behind every timelog listing. Each TimelogFilter field maps to one
+// predicate; the ones that are set are AND-ed together.
+//
+// Name search is a case-insensitive substring match on lower(username/first_name/last_name).
+// On PostgreSQL those expressions carry trigram GIN indexes (see PostgresSchemaInitializer), and
+// the match runs as a user-id subquery, so the timelog side can use (user_id, log_date).
+public class TimelogRepositoryCustomImpl implements TimelogRepositoryCustom {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TimelogSummaryDTO> findTimelogSummaries(TimelogFilter filter, LocalDateTime afterLogDate, Long afterId, int limit) {
+        return entityManager.createQuery(buildSummaryQuery(filter, afterLogDate, afterId))
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public Stream<TimelogSummaryDTO> streamTimelogSummaries(TimelogFilter filter, int fetchSize) {
+        return entityManager.createQuery(buildSummaryQuery(filter, null, null))
+                .setHint(AvailableHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(AvailableHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    private CriteriaQuery<TimelogSummaryDTO> buildSummaryQuery(TimelogFilter filter, LocalDateTime afterLogDate, Long afterId) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TimelogSummaryDTO> query = cb.createQuery(TimelogSummaryDTO.class);
+        Root<Timelog> t = query.from(Timelog.class);
+        Join<Timelog, Users> user = t.join("user");
+        Join<Users, EmployeeDetails> details = user.join("employeeDetails", JoinType.LEFT);
+        Join<Timelog, Users> adjustedBy = t.join("adjustedBy", JoinType.LEFT);
+
+        query.select(cb.construct(TimelogSummaryDTO.class,
+                t.get("id"), user.get("userId"), user.get("username"),
+                details.get("firstName"), details.get("lastName"), details.get("department"),
+                t.get("logDate"), t.get("timeIn"), t.get("timeOut"),
+                t.get("breakTimeStart"), t.get("breakTimeEnd"), t.get("breakDurationMinutes"),
+                t.get("totalWorkedHours"), t.get("adjustedTimeIn"), t.get("adjustedTimeOut"),
+                t.get("adjustedBreakDurationMinutes"), t.get("adjustmentReason"), adjustedBy.get("username"),
+                t.get("adjustmentDate"), t.get("status"), t.get("timeInPhotoKey"), t.get("timeOutPhotoKey")));
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter != null) {
+            addFilterPredicates(filter, cb, query, t, user, details, predicates);
+        }
+        if (afterLogDate != null && afterId != null) {
+            predicates.add(cb.or(
+                    cb.lessThan(t.<LocalDateTime>get("logDate"), afterLogDate),
+                    cb.and(cb.equal(t.get("logDate"), afterLogDate), cb.lessThan(t.<Long>get("id"), afterId))));
+        }
+
+        return query.where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.desc(t.get("logDate")), cb.desc(t.get("id")));
+    }
+
+    private void addFilterPredicates(TimelogFilter filter, CriteriaBuilder cb, CriteriaQuery<?> query, Root<Timelog> t,
+                                     Join<Timelog, Users> user, Join<Users, EmployeeDetails> details,
+                                     List<Predicate> predicates) {
+        if (filter.getSearch() != null && !filter.getSearch().isBlank()) {
+            predicates.add(user.get("userId").in(usersMatching(filter.getSearch(), cb, query)));
+        }
+        if (filter.getUserId() != null) {
+            predicates.add(cb.equal(user.get("userId"), filter.getUserId()));
+        }
+        if (filter.getDepartment() != null && !filter.getDepartment().isBlank()) {
+            predicates.add(cb.equal(cb.lower(details.<String>get("department")), filter.getDepartment().trim().toLowerCase()));
+        }
+        if (filter.getStatus() != null) {
+            predicates.add(cb.equal(t.get("status"), filter.getStatus()));
+        }
+        if (filter.getStartDate() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(t.<LocalDateTime>get("logDate"), filter.getStartDate()));
+        }
+        if (filter.getEndDate() != null) {
+            predicates.add(cb.lessThanOrEqualTo(t.<LocalDateTime>get("logDate"), filter.getEndDate()));
+        }
+        if (filter.getAdjusted() != null) {
+            predicates.add(filter.getAdjusted() ? cb.isNotNull(t.get("adjustedBy")) : cb.isNull(t.get("adjustedBy")));
+        }
+    }
+
+    // Ids of users whose username, first name or last name contains the search text
+    private Subquery<Long> usersMatching(String search, CriteriaBuilder cb, CriteriaQuery<?> query) {
+        String pattern = "%" + escapeLike(search.trim().toLowerCase()) + "%";
+        Subquery<Long> matching = query.subquery(Long.class);
+        Root<Users> u = matching.from(Users.class);
+        Join<Users, EmployeeDetails> ed = u.join("employeeDetails", JoinType.LEFT);
+        return matching.select(u.get("userId")).where(cb.or(
+                cb.like(cb.lower(u.<String>get("username")), pattern, LIKE_ESCAPE),
+                cb.like(cb.lower(ed.<String>get("firstName")), pattern, LIKE_ESCAPE),
+                cb.like(cb.lower(ed.<String>get("lastName")), pattern, LIKE_ESCAPE)));
+    }
+
+    private String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -3,9 +3,11 @@ package com.capstone.HRMS.Repository;
 import com.capstone.HRMS.Entity.Role;
 import com.capstone.HRMS.Entity.Users;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -25,4 +27,15 @@ public interface UserRepo extends JpaRepository<Users, Long> {
     List<Users> findByPositionTitle(@Param("title") String title);
     
     List<Users> findByUsernameContainingIgnoreCase(String username);
+
+    // emailNormalized must already be normalized (EmployeeDetails.normalizeEmail). A list, because
+    // rows from before the unique index may share an address (see PostgresSchemaInitializer)
+    @Query("SELECT u FROM Users u JOIN FETCH u.employeeDetails d WHERE d.emailNormalized = :emailNormalized")
+    List<Users> findAllByEmailNormalized(@Param("emailNormalized") String emailNormalized);
+
+    // Swap in a re-hashed password only if the stored hash is still the one that was verified
+    @Modifying
+    @Transactional
+    @Query("UPDATE Users u SET u.password = :newHash WHERE u.userId = :userId AND u.password = :oldHash")
+    int updatePasswordHash(@Param("userId") long userId, @Param("oldHash") String oldHash, @Param("newHash") String newHash);
 }
\ No newline at end of file
@@ -0,0 +1,72 @@
+package com.capstone.HRMS.Repository;
+
+import com.capstone.HRMS.Entity.RollupPeriod;
+import com.capstone.HRMS.Entity.WorkedHoursRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface WorkedHoursRollupRepository extends JpaRepository<WorkedHoursRollup, Long> {
+
+    Optional<WorkedHoursRollup> findByUserIdAndPeriodAndPeriodStart(Long userId, RollupPeriod period, LocalDate periodStart);
+
+    @Query("SELECT COALESCE(SUM(r.totalHours), 0) FROM WorkedHoursRollup r WHERE r.userId = :userId " +
+           "AND r.period = com.capstone.HRMS.Entity.RollupPeriod.DAY AND r.periodStart BETWEEN :startDay AND :endDay")
+    Double sumDailyHours(@Param("userId") Long userId, @Param("startDay") LocalDate startDay, @Param("endDay") LocalDate endDay);
+
+    // Recompute one user's DAY row from the raw timelogs of that day
+    @Modifying
+    @Query(value = "INSERT INTO worked_hours_rollup (user_id, period, period_start, total_hours, timelog_count, updated_at) " +
+                   "SELECT :userId, 'DAY', :day, COALESCE(SUM(t.total_worked_hours), 0), COUNT(t.total_worked_hours), now() " +
+                   "FROM timelog t WHERE t.user_id = :userId AND t.log_date >= :dayStart AND t.log_date < :dayEnd " +
+                   "ON CONFLICT (user_id, period, period_start) DO UPDATE SET total_hours = EXCLUDED.total_hours, " +
+                   "timelog_count = EXCLUDED.timelog_count, updated_at = EXCLUDED.updated_at",
+           nativeQuery = true)
+    int upsertDay(@Param("userId") Long userId, @Param("day") LocalDate day,
+                  @Param("dayStart") LocalDateTime dayStart, @Param("dayEnd") LocalDateTime dayEnd);
+
+    // Recompute a WEEK or MONTH row from the DAY rows in [periodStart, periodEnd)
+    @Modifying
+    @Query(value = "INSERT INTO worked_hours_rollup (user_id, period, period_start, total_hours, timelog_count, updated_at) " +
+                   "SELECT :userId, :period, :periodStart, COALESCE(SUM(r.total_hours), 0), COALESCE(SUM(r.timelog_count), 0), now() " +
+                   "FROM worked_hours_rollup r WHERE r.user_id = :userId AND r.period = 'DAY' " +
+                   "AND r.period_start >= :periodStart AND r.period_start < :periodEnd " +
+                   "ON CONFLICT (user_id, period, period_start) DO UPDATE SET total_hours = EXCLUDED.total_hours, " +
+                   "timelog_count = EXCLUDED.timelog_count, updated_at = EXCLUDED.updated_at",
+           nativeQuery = true)
+    int upsertFromDays(@Param("userId") Long userId, @Param("period") String period,
+                       @Param("periodStart") LocalDate periodStart, @Param("periodEnd") LocalDate periodEnd);
+
+    // Full rebuild, set-based: wipe, then DAY rows from timelogs and WEEK/MONTH rows from DAY rows
+    @Modifying
+    @Query(value = "DELETE FROM worked_hours_rollup", nativeQuery = true)
+    int deleteAllRollups();
+
+    @Modifying
+    @Query(value = "INSERT INTO worked_hours_rollup (user_id, period, period_start, total_hours, timelog_count, updated_at) " +
+                   "SELECT t.user_id, 'DAY', CAST(t.log_date AS date), COALESCE(SUM(t.total_worked_hours), 0), COUNT(t.total_worked_hours), now() " +
+                   "FROM timelog t WHERE t.log_date IS NOT NULL GROUP BY t.user_id, CAST(t.log_date AS date)",
+           nativeQuery = true)
+    int rebuildDays();
+
+    @Modifying
+    @Query(value = "INSERT INTO worked_hours_rollup (user_id, period, period_start, total_hours, timelog_count, updated_at) " +
+                   "SELECT r.user_id, 'WEEK', CAST(date_trunc('week', r.period_start) AS date), SUM(r.total_hours), SUM(r.timelog_count), now() " +
+                   "FROM worked_hours_rollup r WHERE r.period = 'DAY' GROUP BY r.user_id, CAST(date_trunc('week', r.period_start) AS date)",
+           nativeQuery = true)
+    int rebuildWeeks();
+
+    @Modifying
+    @Query(value = "INSERT INTO worked_hours_rollup (user_id, period, period_start, total_hours, timelog_count, updated_at) " +
+                   "SELECT r.user_id, 'MONTH', CAST(date_trunc('month', r.period_start) AS date), SUM(r.total_hours), SUM(r.timelog_count), now() " +
+                   "FROM worked_hours_rollup r WHERE r.period = 'DAY' GROUP BY r.user_id, CAST(date_trunc('month', r.period_start) AS date)",
+           nativeQuery = true)
+    int rebuildMonths();
+}
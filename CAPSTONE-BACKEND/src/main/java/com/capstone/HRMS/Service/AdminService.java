@@ -9,27 +9,18 @@ import jakarta.persistence.Enumerated;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
-import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
 public class AdminService {
 
     public final UserRepo userRepo;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
+    private final BroadcastNotificationService broadcastNotificationService;
 
-    @Autowired
-    AuthenticationManager authenticationManager;
 
-    @Autowired
-    JwtService jwtService;
 
     @PostConstruct
     public void adminAcc() {
@@ -40,30 +31,13 @@ public class AdminService {
         if (!userRepo.existsByUsername(defUsername)) {
             Users admin = new Users();
             admin.setUsername(defUsername);
-            admin.setPassword(passwordEncoder.encode(defPass));
+            admin.setPassword(passwordHashingService.encode(defPass));
             admin.setRole(Role.ADMIN);
-            userRepo.save(admin);
+            broadcastNotificationService.startAtLatest(userRepo.save(admin));
             System.out.println("Default admin created with encoded password");
         }
     }
 
-    public String verify(Users admin, Role expectedRole) {
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(admin.getUsername(), admin.getPassword())
-        );
-
-        if (authentication.isAuthenticated()) {
-            Optional<Users> foundEmployee = userRepo.findByUsername(admin.getUsername());
-
-            if (foundEmployee.isPresent() && foundEmployee.get().getRole() == expectedRole) {
-                return jwtService.generateToken(admin.getUsername());
-            } else {
-                return "unauthorized";
-            }
-        }
-        return "failed";
-    }
-
     public void saveAdmin(Users admin) {
 
         if (userRepo.existsByUsername(admin.getUsername())) {
@@ -71,12 +45,12 @@ public class AdminService {
         }
 
 
-        admin.setPassword(passwordEncoder.encode(admin.getPassword()));
+        admin.setPassword(passwordHashingService.encode(admin.getPassword()));
         admin.setRole(Role.ADMIN);
         admin.setEnabled(true);
         admin.setPosition(null);
         
-        userRepo.save(admin);
+        broadcastNotificationService.startAtLatest(userRepo.save(admin));
     }
 
 }
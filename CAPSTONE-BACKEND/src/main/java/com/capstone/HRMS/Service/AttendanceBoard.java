@@ -0,0 +1,162 @@
+package com.capstone.HRMS.Service;
+
+import com.capstone.HRMS.DTO.AttendanceEntryDTO;
+import com.capstone.HRMS.Entity.EmployeeDetails;
+import com.capstone.HRMS.Entity.Timelog;
+import com.capstone.HRMS.Entity.TimelogStatus;
+import com.capstone.HRMS.Entity.Users;
+import com.capstone.HRMS.Repository.TimelogRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// In-process index of who is clocked in or on break right now, keyed by userId.
+// Loaded from the timelog table at startup, kept current by the TimelogService transitions and
+// re-read periodically, so the HR dashboards never have to scan the table. Users who are clocked
+// out have no entry. It is a read model only and may lag the database (another node's
+// transitions, a lost after-commit update); clock transitions never consult it.
+@Service
+public class AttendanceBoard {
+
+    private static final Logger logger = LoggerFactory.getLogger(AttendanceBoard.class);
+
+    private final ConcurrentHashMap<Long, AttendanceEntryDTO> entries = new ConcurrentHashMap<>();
+
+    // Sequence number of the last live change per user. A rebuild leaves alone any user changed
+    // after its query started, since its snapshot may predate that change (e.g. a clock-out
+    // committed mid-rebuild). Changes and rebuild writes go through entries.compute, so they are
+    // serialized per user.
+    private final AtomicLong changeSequence = new AtomicLong();
+    private final Map<Long, Long> lastChanged = new ConcurrentHashMap<>();
+
+    @Autowired
+    private TimelogRepository timelogRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.attendance.board-refresh-ms:60000}",
+            fixedDelayString = "${app.attendance.board-refresh-ms:60000}")
+    public void rebuild() {
+        long startedAt = changeSequence.get();
+        // Oldest first, so if a user somehow has several open timelogs the newest one wins
+        // (same as findActiveTimelogByUser)
+        Map<Long, AttendanceEntryDTO> loaded = new HashMap<>();
+        for (AttendanceEntryDTO entry : timelogRepository.findActiveAttendanceEntries()) {
+            loaded.put(entry.getUserId(), entry);
+        }
+
+        Set<Long> userIds = new HashSet<>(entries.keySet());
+        userIds.addAll(loaded.keySet());
+        int repaired = 0;
+        for (Long userId : userIds) {
+            AttendanceEntryDTO fresh = loaded.get(userId);
+            AtomicBoolean changed = new AtomicBoolean();
+            entries.compute(userId, (id, current) -> {
+                if (lastChanged.getOrDefault(id, 0L) > startedAt || Objects.equals(current, fresh)) {
+                    return current;
+                }
+                changed.set(true);
+                return fresh;
+            });
+            // Repairs reach the live streams like any other change
+            if (changed.get()) {
+                eventPublisher.publishEvent(new AttendanceChangedEvent(userId, fresh));
+                repaired++;
+            }
+        }
+        logger.debug("Attendance board loaded with {} active users ({} repaired)", entries.size(), repaired);
+    }
+
+    // Record the state of a timelog after a clock or break transition
+    public void update(Timelog timelog) {
+        long userId = timelog.getUser().getUserId();
+        AttendanceEntryDTO entry = timelog.getStatus() == TimelogStatus.CLOCKED_OUT ? null : toEntry(timelog);
+        afterCommit(() -> {
+            entries.compute(userId, (id, current) -> {
+                lastChanged.put(id, changeSequence.incrementAndGet());
+                return entry;
+            });
+            eventPublisher.publishEvent(new AttendanceChangedEvent(userId, entry));
+        });
+    }
+
+    // Drop the entry that points at a deleted timelog, if any
+    public void removeTimelog(Long timelogId) {
+        afterCommit(() -> entries.values().stream()
+                .filter(entry -> timelogId.equals(entry.getTimelogId()))
+                .findFirst()
+                .ifPresent(entry -> {
+                    AtomicBoolean removed = new AtomicBoolean();
+                    entries.computeIfPresent(entry.getUserId(), (id, current) -> {
+                        if (current != entry) {
+                            return current;
+                        }
+                        lastChanged.put(id, changeSequence.incrementAndGet());
+                        removed.set(true);
+                        return null;
+                    });
+                    if (removed.get()) {
+                        eventPublisher.publishEvent(new AttendanceChangedEvent(entry.getUserId(), null));
+                    }
+                }));
+    }
+
+    public List<AttendanceEntryDTO> getAllEntries() {
+        return List.copyOf(entries.values());
+    }
+
+    public List<AttendanceEntryDTO> getUsersWithStatus(TimelogStatus status) {
+        return entries.values().stream()
+                .filter(entry -> entry.getStatus() == status)
+                .sorted(Comparator.comparing(AttendanceEntryDTO::getUsername, Comparator.nullsLast(Comparator.naturalOrder())))
+                .toList();
+    }
+
+    private AttendanceEntryDTO toEntry(Timelog timelog) {
+        Users user = timelog.getUser();
+        EmployeeDetails details = user.getEmployeeDetails();
+        return new AttendanceEntryDTO(
+                user.getUserId(),
+                user.getUsername(),
+                details != null ? details.getFirstName() : null,
+                details != null ? details.getLastName() : null,
+                user.getPosition() != null ? user.getPosition().getTitle() : null,
+                timelog.getStatus(),
+                timelog.getId(),
+                timelog.getStatus() == TimelogStatus.ON_BREAK ? timelog.getBreakTimeStart() : timelog.getTimeIn());
+    }
+
+    // Only publish state the database has actually committed
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.capstone.HRMS.Service;
+
+import com.capstone.HRMS.DTO.AttendanceEntryDTO;
+import com.capstone.HRMS.Entity.TimelogStatus;
+import lombok.Getter;
+
+// Published by the AttendanceBoard after a committed change. entry is null when the user
+// clocked out (or their active timelog was deleted).
+@Getter
+public class AttendanceChangedEvent {
+
+    private final long userId;
+    private final TimelogStatus status;
+    private final AttendanceEntryDTO entry;
+
+    public AttendanceChangedEvent(long userId, AttendanceEntryDTO entry) {
+        this.userId = userId;
+        this.status = entry != null ? entry.getStatus() : TimelogStatus.CLOCKED_OUT;
+        this.entry = entry;
+    }
+}
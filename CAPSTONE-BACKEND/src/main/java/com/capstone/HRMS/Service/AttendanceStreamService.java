@@ -0,0 +1,73 @@
+package com.capstone.HRMS.Service;
+
+import com.capstone.HRMS.DTO.AttendanceEntryDTO;
+import com.capstone.HRMS.Entity.TimelogStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Live attendance feed for HR dashboards.
+// Protocol: the first event is "snapshot" ({clockedIn, onBreak}); after that every committed
+// change arrives as an "attendance" event ({userId, status, entry}). Deltas are idempotent per
+// userId, so replaying one that the snapshot already contains is harmless.
+@Service
+public class AttendanceStreamService {
+
+    private final Set<SseConnection> connections = ConcurrentHashMap.newKeySet();
+    private final AtomicLong connectionIds = new AtomicLong();
+
+    @Autowired
+    private AttendanceBoard attendanceBoard;
+
+    @Value("${app.sse.timeout-ms:1800000}")
+    private long timeoutMillis;
+
+    @Value("${app.sse.queue-capacity:256}")
+    private int queueCapacity;
+
+    @Value("${app.sse.heartbeat-ms:25000}")
+    private long heartbeatMillis;
+
+    public SseEmitter subscribe() {
+        SseConnection connection = new SseConnection("attendance-" + connectionIds.incrementAndGet(),
+                timeoutMillis, queueCapacity, heartbeatMillis, connections::remove);
+        // Register before taking the snapshot so no change can slip in between the two
+        connections.add(connection);
+
+        List<AttendanceEntryDTO> entries = attendanceBoard.getAllEntries();
+        Map<String, Object> snapshot = new HashMap<>();
+        snapshot.put("clockedIn", entries.stream().filter(e -> e.getStatus() == TimelogStatus.CLOCKED_IN).toList());
+        snapshot.put("onBreak", entries.stream().filter(e -> e.getStatus() == TimelogStatus.ON_BREAK).toList());
+        connection.start(SseEmitter.event().name("snapshot").data(snapshot, MediaType.APPLICATION_JSON));
+
+        return connection.getEmitter();
+    }
+
+    public int getConnectionCount() {
+        return connections.size();
+    }
+
+    @EventListener
+    public void onAttendanceChanged(AttendanceChangedEvent event) {
+        if (connections.isEmpty()) {
+            return;
+        }
+        Map<String, Object> delta = new HashMap<>();
+        delta.put("userId", event.getUserId());
+        delta.put("status", event.getStatus());
+        delta.put("entry", event.getEntry());
+        for (SseConnection connection : connections) {
+            connection.send(SseEmitter.event().name("attendance").data(delta, MediaType.APPLICATION_JSON));
+        }
+    }
+}
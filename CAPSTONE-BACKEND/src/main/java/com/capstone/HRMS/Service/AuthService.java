@@ -0,0 +1,168 @@
+package com.capstone.HRMS.Service;
+
+import com.capstone.HRMS.Entity.Role;
+import com.capstone.HRMS.Entity.Users;
+import com.capstone.HRMS.Repository.UserRepo;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.DisabledException;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+// Password login for every role: one user load, then credential, role and enabled checks and
+// the response, without going back to the database. Bad credentials or a role mismatch throw
+// BadCredentialsException, a disabled account DisabledException, too many attempts for one
+// username from one address TooManyAttemptsException, a saturated hashing pool
+// PasswordHashingService.HashingBusyException. Anything else is logged here and rethrown as
+// LoginFailedException. LoginExceptionHandler maps all of these to responses.
+@Service
+public class AuthService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuthService.class);
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private RateLimiter rateLimiter;
+
+    // Keyed on client address + username, so guessing one account's password is throttled
+    // without locking the account for everyone else or the rest of a shared office address
+    private final RateLimitRule accountRule;
+
+    public static class TooManyAttemptsException extends RuntimeException {
+        private final long retryAfterSeconds;
+
+        public TooManyAttemptsException(long retryAfterSeconds) {
+            super("Too many login attempts, please try again later");
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+
+        public long getRetryAfterSeconds() {
+            return retryAfterSeconds;
+        }
+    }
+
+    public static class LoginFailedException extends RuntimeException {
+        public LoginFailedException(Throwable cause) {
+            super("Login failed", cause);
+        }
+    }
+
+    private final LatencyHistogram successLatency = new LatencyHistogram();
+    private final LatencyHistogram failureLatency = new LatencyHistogram();
+
+    // Compared against when the username doesn't exist, so unknown users take as long as wrong passwords
+    private String dummyHash;
+
+    public AuthService(@Value("${app.rate-limit.login-account.capacity:10}") int accountCapacity,
+                       @Value("${app.rate-limit.login-account.per-minute:5}") double accountPerMinute) {
+        this.accountRule = RateLimitRule.perMinute("login-account", accountCapacity, accountPerMinute);
+    }
+
+    @PostConstruct
+    public void init() {
+        dummyHash = passwordHashingService.encode("login-timing-equalizer");
+    }
+
+    // expectedRole null accepts any role
+    public Map<String, Object> login(String username, String password, Role expectedRole) {
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            Map<String, Object> response = authenticate(username, password, expectedRole);
+            success = true;
+            return response;
+        } catch (AuthenticationException | TooManyAttemptsException | PasswordHashingService.HashingBusyException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            logger.error("Login failed unexpectedly for {}", username, e);
+            throw new LoginFailedException(e);
+        } finally {
+            (success ? successLatency : failureLatency).record(System.nanoTime() - start);
+        }
+    }
+
+    public Map<String, Object> getLoginLatency() {
+        Map<String, Object> latency = new LinkedHashMap<>();
+        latency.put("success", successLatency.snapshot());
+        latency.put("failure", failureLatency.snapshot());
+        return latency;
+    }
+
+    private Map<String, Object> authenticate(String username, String password, Role expectedRole) {
+        if (username == null || password == null) {
+            throw new BadCredentialsException("Authentication failed");
+        }
+        // Checked before any hashing, so throttled guesses cost no BCrypt work
+        if (!rateLimiter.tryAcquire(accountRule, accountKey(username))) {
+            throw new TooManyAttemptsException(accountRule.secondsPerToken());
+        }
+
+        Optional<Users> userOpt = userRepo.findByUsername(username);
+        if (userOpt.isEmpty()) {
+            passwordHashingService.matches(password, dummyHash);
+            throw new BadCredentialsException("Authentication failed");
+        }
+
+        Users user = userOpt.get();
+        if (!passwordHashingService.matches(password, user.getPassword())) {
+            throw new BadCredentialsException("Authentication failed");
+        }
+        if (expectedRole != null && user.getRole() != expectedRole) {
+            throw new BadCredentialsException("Authentication failed");
+        }
+        if (!user.isEnabled()) {
+            throw new DisabledException("Your account has been disabled");
+        }
+
+        passwordHashingService.upgradeIfNeeded(user, password);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("token", jwtService.generateToken(user));
+        response.put("refreshToken", refreshTokenService.issue(user));
+        response.put("role", user.getRole().name());
+        response.put("username", user.getUsername());
+        response.put("userId", user.getUserId());
+        response.put("position", user.getPosition() != null ? user.getPosition().getTitle() : null);
+        return response;
+    }
+
+    // "address|username"; the username is trimmed to keep the key inside the bucket key column
+    static String accountKey(String clientAddress, String username) {
+        String normalized = username.trim().toLowerCase(Locale.ROOT);
+        if (normalized.length() > 100) {
+            normalized = normalized.substring(0, 100);
+        }
+        return (clientAddress != null ? clientAddress : "unknown") + "|" + normalized;
+    }
+
+    private String accountKey(String username) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        Object address = attributes != null
+                ? attributes.getAttribute(RateLimiter.CLIENT_ADDRESS_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST)
+                : null;
+        return accountKey(address instanceof String clientAddress ? clientAddress : null, username);
+    }
+}
@@ -0,0 +1,53 @@
+package com.capstone.HRMS.Service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Sends through the Brevo transactional email HTTP API
+@Service
+@ConditionalOnProperty(name = "app.email.transport", havingValue = "brevo", matchIfMissing = true)
+public class BrevoEmailTransport implements EmailTransport {
+
+    @Value("${brevo.api.url}")
+    private String brevoApiUrl;
+
+    @Value("${brevo.api.key}")
+    private String brevoApiKey;
+
+    @Value("${spring.mail.from}")
+    private String fromEmail;
+
+    // Timeouts so one hung call can't stall a dispatcher batch indefinitely
+    private final RestTemplate restTemplate = new RestTemplateBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .readTimeout(Duration.ofSeconds(15))
+            .build();
+
+    @Override
+    public void send(String toEmail, String subject, String textContent) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("api-key", brevoApiKey);
+
+        Map<String, Object> emailPayload = new HashMap<>();
+        emailPayload.put("sender", Map.of("email", fromEmail, "name", "HRMS Team"));
+        emailPayload.put("to", List.of(Map.of("email", toEmail)));
+        emailPayload.put("subject", subject);
+        emailPayload.put("textContent", textContent);
+
+        // Non-2xx responses throw, which marks the attempt as failed
+        restTemplate.exchange(brevoApiUrl, HttpMethod.POST, new HttpEntity<>(emailPayload, headers), String.class);
+    }
+}
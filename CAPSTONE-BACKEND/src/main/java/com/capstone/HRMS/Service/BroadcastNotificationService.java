@@ -0,0 +1,160 @@
+package com.capstone.HRMS.Service;
+
+import com.capstone.HRMS.Entity.BroadcastNotification;
+import com.capstone.HRMS.Entity.BroadcastReceipt;
+import com.capstone.HRMS.Entity.BroadcastWatermark;
+import com.capstone.HRMS.Entity.Notification;
+import com.capstone.HRMS.Entity.NotificationType;
+import com.capstone.HRMS.Entity.Users;
+import com.capstone.HRMS.Repository.BroadcastNotificationRepository;
+import com.capstone.HRMS.Repository.BroadcastReceiptRepository;
+import com.capstone.HRMS.Repository.BroadcastWatermarkRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Notifications for all users are stored once and merged into each inbox at read time. In the
+// inbox they look like ordinary notifications with a negative id (-broadcastId), so the existing
+// read/delete endpoints route them here.
+@Service
+@RequiredArgsConstructor
+public class BroadcastNotificationService {
+
+    private final BroadcastNotificationRepository broadcastRepository;
+    private final BroadcastReceiptRepository receiptRepository;
+    private final BroadcastWatermarkRepository watermarkRepository;
+    private final NotificationUnreadCounter unreadCounter;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public static boolean isBroadcastId(Long notificationId) {
+        return notificationId != null && notificationId < 0;
+    }
+
+    public static long toBroadcastId(Long notificationId) {
+        return -notificationId;
+    }
+
+    @Transactional
+    public BroadcastNotification publish(String title, String message, NotificationType type, Long relatedEntityId) {
+        BroadcastNotification broadcast = broadcastRepository.save(new BroadcastNotification(title, message, type, relatedEntityId));
+        unreadCounter.incrementAll();
+        eventPublisher.publishEvent(NotificationPublishedEvent.of(broadcast));
+        return broadcast;
+    }
+
+    // Up to `limit` broadcasts in inbox order (newest first), after an inbox cursor when afterCreatedAt
+    // is set. The cursor id is in inbox id space, where a broadcast is -broadcastId.
+    @Transactional(readOnly = true)
+    public List<Notification> getInboxPage(Users user, boolean unreadOnly, LocalDateTime afterCreatedAt,
+                                           long afterNotificationId, int limit) {
+        long watermark = watermarkOf(user);
+        PageRequest page = PageRequest.of(0, limit);
+        List<BroadcastNotification> broadcasts = afterCreatedAt == null
+                ? broadcastRepository.findInboxPage(user.getUserId(), watermark, unreadOnly, page)
+                : broadcastRepository.findInboxPageAfter(user.getUserId(), watermark, unreadOnly,
+                        afterCreatedAt, -afterNotificationId, page);
+        return withReadState(broadcasts, user, watermark);
+    }
+
+    // Broadcasts after a stream cursor, oldest first, minus any the user already dismissed
+    @Transactional(readOnly = true)
+    public List<Notification> getSince(Users user, long afterBroadcastId) {
+        List<BroadcastNotification> broadcasts = broadcastRepository.findTop100ByIdGreaterThanOrderByIdAsc(afterBroadcastId);
+        if (broadcasts.isEmpty()) {
+            return List.of();
+        }
+        return withReadState(broadcasts, user, watermarkOf(user));
+    }
+
+    // Folds the user's receipts for just these broadcasts in: dismissed ones are dropped, and a
+    // broadcast is read when it is under the watermark or has a receipt
+    List<Notification> withReadState(List<BroadcastNotification> broadcasts, Users user, long watermark) {
+        if (broadcasts.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = broadcasts.stream().map(BroadcastNotification::getId).toList();
+        Map<Long, BroadcastReceipt> receipts = receiptRepository.findByUserIdAndBroadcastIdIn(user.getUserId(), ids).stream()
+                .collect(Collectors.toMap(BroadcastReceipt::getBroadcastId, Function.identity()));
+
+        List<Notification> result = new ArrayList<>(broadcasts.size());
+        for (BroadcastNotification broadcast : broadcasts) {
+            BroadcastReceipt receipt = receipts.get(broadcast.getId());
+            if (receipt == null || !receipt.isDismissed()) {
+                result.add(toNotification(broadcast, user, broadcast.getId() <= watermark || receipt != null));
+            }
+        }
+        return result;
+    }
+
+    // New accounts start with every existing broadcast read, instead of the whole history unread
+    @Transactional
+    public void startAtLatest(Users user) {
+        long newest = broadcastRepository.findMaxId();
+        if (newest > 0) {
+            watermarkRepository.advance(user.getUserId(), newest);
+        }
+    }
+
+    public long getLatestId() {
+        return broadcastRepository.findMaxId();
+    }
+
+    @Transactional(readOnly = true)
+    public long countUnread(Users user) {
+        return broadcastRepository.countUnread(user.getUserId(), watermarkOf(user));
+    }
+
+    @Transactional
+    public Notification markAsRead(long broadcastId, Users user) {
+        return broadcastRepository.findById(broadcastId)
+                .map(broadcast -> {
+                    receiptRepository.upsert(user.getUserId(), broadcastId, LocalDateTime.now(), false);
+                    unreadCounter.invalidate(user.getUserId());
+                    return toNotification(broadcast, user, true);
+                })
+                .orElse(null);
+    }
+
+    // Moves the watermark to the newest broadcast; the per-broadcast read receipts it covers go
+    @Transactional
+    public void markAllAsRead(Users user) {
+        long newest = broadcastRepository.findMaxId();
+        if (newest > 0) {
+            watermarkRepository.advance(user.getUserId(), newest);
+            receiptRepository.deleteReadUpTo(user.getUserId(), newest);
+        }
+    }
+
+    @Transactional
+    public void dismiss(long broadcastId, Users user) {
+        if (broadcastRepository.existsById(broadcastId)) {
+            receiptRepository.upsert(user.getUserId(), broadcastId, LocalDateTime.now(), true);
+            unreadCounter.invalidate(user.getUserId());
+        }
+    }
+
+    private long watermarkOf(Users user) {
+        return watermarkRepository.findById(user.getUserId())
+                .map(BroadcastWatermark::getLastReadBroadcastId)
+                .orElse(0L);
+    }
+
+    // Transient, never saved: the inbox view of a broadcast for one user
+    public Notification toNotification(BroadcastNotification broadcast, Users user, boolean read) {
+        Notification notification = new Notification(user, broadcast.getTitle(), broadcast.getMessage(),
+                broadcast.getType(), broadcast.getRelatedEntityId());
+        notification.setNotificationId(-broadcast.getId());
+        notification.setRead(read);
+        notification.setCreatedAt(broadcast.getCreatedAt());
+        return notification;
+    }
+}
@@ -0,0 +1,154 @@
+package com.capstone.HRMS.Service;
+
+import com.capstone.HRMS.Entity.OutboundEmail;
+import com.capstone.HRMS.Entity.OutboundEmailStatus;
+import com.capstone.HRMS.Repository.OutboundEmailRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Delivers queued emails. Each tick claims a batch of due rows and sends them concurrently on
+// virtual threads (the work is all HTTP waiting). Failures are retried with exponential backoff
+// and jitter; after max-attempts, or once an expiring email (reset link) could only be sent after
+// its deadline, a row is marked DEAD and left for inspection.
+@Service
+public class EmailOutboxDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailOutboxDispatcher.class);
+
+    @Autowired
+    private OutboundEmailRepository outboundEmailRepository;
+
+    @Autowired
+    private EmailTransport emailTransport;
+
+    @Value("${app.email.batch-size:20}")
+    private int batchSize;
+
+    @Value("${app.email.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${app.email.backoff-base-seconds:30}")
+    private long backoffBaseSeconds;
+
+    @Value("${app.email.backoff-max-seconds:3600}")
+    private long backoffMaxSeconds;
+
+    @Value("${app.email.lease-seconds:120}")
+    private long leaseSeconds;
+
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong deadLettered = new AtomicLong();
+
+    @Scheduled(fixedDelayString = "${app.email.dispatch-interval-ms:5000}")
+    public void dispatch() {
+        List<OutboundEmail> batch;
+        do {
+            LocalDateTime now = LocalDateTime.now();
+            try {
+                batch = outboundEmailRepository.claimDue(now, now.plusSeconds(leaseSeconds), batchSize);
+            } catch (Exception e) {
+                logger.warn("Could not claim outbound emails: {}", e.getMessage());
+                return;
+            }
+
+            // Closing the executor waits for the whole batch
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (OutboundEmail email : batch) {
+                    executor.submit(() -> deliver(email));
+                }
+            }
+        } while (batch.size() == batchSize);
+    }
+
+    public Map<String, Object> getStats() {
+        return Map.of(
+                "pending", outboundEmailRepository.countByStatus(OutboundEmailStatus.PENDING),
+                "dead", outboundEmailRepository.countByStatus(OutboundEmailStatus.DEAD),
+                "sent", sent.get(),
+                "failedAttempts", failed.get(),
+                "deadLettered", deadLettered.get()
+        );
+    }
+
+    void deliver(OutboundEmail email) {
+        if (email.isExpired(LocalDateTime.now())) {
+            deadLetter(email, email.getAttempts(), "Expired before it could be delivered");
+            return;
+        }
+
+        try {
+            emailTransport.send(email.getRecipient(), email.getSubject(), email.getBody());
+        } catch (Exception e) {
+            recordFailure(email, e);
+            return;
+        }
+
+        try {
+            outboundEmailRepository.markSent(email.getId(), LocalDateTime.now());
+            sent.incrementAndGet();
+        } catch (Exception e) {
+            // Sent but not recorded; it will be sent again once the lease expires
+            logger.warn("Email {} was sent but could not be marked as sent: {}", email.getId(), e.getMessage());
+        }
+    }
+
+    private void recordFailure(OutboundEmail email, Exception error) {
+        int attempts = email.getAttempts() + 1;
+        String message = error.getMessage() == null ? error.getClass().getSimpleName() : error.getMessage();
+        if (message.length() > 500) {
+            message = message.substring(0, 500);
+        }
+
+        LocalDateTime nextAttemptAt = LocalDateTime.now().plusSeconds(backoffSeconds(attempts));
+        if (attempts >= maxAttempts) {
+            deadLetter(email, attempts, message);
+            return;
+        }
+        if (email.isExpired(nextAttemptAt)) {
+            deadLetter(email, attempts, "Expires before the next attempt; last error: " + message);
+            return;
+        }
+
+        try {
+            outboundEmailRepository.markRetry(email.getId(), attempts, nextAttemptAt, message);
+            failed.incrementAndGet();
+            logger.warn("Email {} failed (attempt {}), will retry: {}", email.getId(), attempts, message);
+        } catch (Exception e) {
+            logger.warn("Could not record failure of email {}: {}", email.getId(), e.getMessage());
+        }
+    }
+
+    private void deadLetter(OutboundEmail email, int attempts, String message) {
+        if (message.length() > 500) {
+            message = message.substring(0, 500);
+        }
+        try {
+            outboundEmailRepository.markDead(email.getId(), attempts, message);
+            deadLettered.incrementAndGet();
+            logger.error("Giving up on email {} to {} after {} attempts: {}",
+                    email.getId(), email.getRecipient(), attempts, message);
+        } catch (Exception e) {
+            logger.warn("Could not dead-letter email {}: {}", email.getId(), e.getMessage());
+        }
+    }
+
+    // base * 2^(attempts-1), capped, with up to 20% jitter so retries after an outage spread out
+    long backoffSeconds(int attempts) {
+        long delay = backoffBaseSeconds << Math.min(attempts - 1, 20);
+        delay = Math.min(delay, backoffMaxSeconds);
+        return delay + ThreadLocalRandom.current().nextLong(delay / 5 + 1);
+    }
+}
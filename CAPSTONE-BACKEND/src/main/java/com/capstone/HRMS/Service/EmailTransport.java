@@ -0,0 +1,8 @@
+package com.capstone.HRMS.Service;
+
+// Delivers one email; throws on failure so the outbox retries it. Picked with app.email.transport:
+// "brevo" (default) or "log", which only logs and is meant for local runs and tests.
+public interface EmailTransport {
+
+    void send(String toEmail, String subject, String textContent);
+}
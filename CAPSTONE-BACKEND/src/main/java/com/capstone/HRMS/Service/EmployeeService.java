@@ -8,11 +8,6 @@ import com.capstone.HRMS.Repository.PositionRepo;
 import com.capstone.HRMS.Repository.UserRepo;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
@@ -21,14 +16,12 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class EmployeeService {
     private final UserRepo userRepo;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final PositionRepo positionRepo;
+    private final UserPrincipalCache userPrincipalCache;
+    private final BroadcastNotificationService broadcastNotificationService;
 
-    @Autowired
-    AuthenticationManager authenticationManager;
 
-    @Autowired
-    JwtService jwtService;
 
     public Users saveEmployee(Users employee) {
         Optional<Users> existingEmployee = userRepo.findByUsername(employee.getUsername());
@@ -39,7 +32,7 @@ public class EmployeeService {
 
         EmployeeDetails details = new EmployeeDetails();
 
-        employee.setPassword(passwordEncoder.encode(employee.getPassword()));
+        employee.setPassword(passwordHashingService.encode(employee.getPassword()));
         employee.setRole(Role.EMPLOYEE);
         employee.setEmployeeDetails(details);
 
@@ -52,24 +45,9 @@ public class EmployeeService {
         } else {
             throw new RuntimeException("Position title must be provided");
         }
-        return userRepo.save(employee);
-    }
-
-    public String verify(Users employee, Role expectedRole) {
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(employee.getUsername(), employee.getPassword())
-        );
-
-        if (authentication.isAuthenticated()) {
-            Optional<Users> foundEmployee = userRepo.findByUsername(employee.getUsername());
-
-            if (foundEmployee.isPresent() && foundEmployee.get().getRole() == expectedRole) {
-                return jwtService.generateToken(employee.getUsername());
-            } else {
-                return "unauthorized";
-            }
-        }
-        return "failed";
+        Users saved = userRepo.save(employee);
+        broadcastNotificationService.startAtLatest(saved);
+        return saved;
     }
 
     public void updateOwnProfile(String username, EmployeeDetails updatedData) {
@@ -92,6 +70,14 @@ public class EmployeeService {
             details.setLastName(updatedData.getLastName());
         }
         if (updatedData.getEmail() != null) {
+            String normalized = EmployeeDetails.normalizeEmail(updatedData.getEmail());
+            if (normalized != null) {
+                boolean taken = userRepo.findAllByEmailNormalized(normalized).stream()
+                        .anyMatch(owner -> owner.getUserId() != employee.getUserId());
+                if (taken) {
+                    throw new RuntimeException("Email is already in use by another account");
+                }
+            }
             details.setEmail(updatedData.getEmail());
         }
         if (updatedData.getContact() != null) {
@@ -105,6 +91,7 @@ public class EmployeeService {
         }
 
         userRepo.save(employee);
+        userPrincipalCache.invalidate(employee);
     }
 
 }
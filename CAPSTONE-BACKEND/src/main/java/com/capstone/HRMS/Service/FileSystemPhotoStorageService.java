@@ -0,0 +1,111 @@
+package com.capstone.HRMS.Service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+
+// Photos on local disk (app.photo-store.type=filesystem). Only durable when the directory is a mounted
+// volume, which the deployment has to vouch for with app.photo-store.persistent=true.
+@Service
+@ConditionalOnProperty(name = "app.photo-store.type", havingValue = "filesystem")
+public class FileSystemPhotoStorageService implements PhotoStorageService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FileSystemPhotoStorageService.class);
+
+    private final Path root;
+
+    private final boolean persistent;
+
+    public FileSystemPhotoStorageService(@Value("${app.photo-store.directory:./data/photos}") String directory,
+                                         @Value("${app.photo-store.persistent:false}") boolean persistent) throws IOException {
+        this.root = Paths.get(directory).toAbsolutePath().normalize();
+        this.persistent = persistent;
+        Files.createDirectories(root);
+        if (persistent) {
+            logger.info("Storing timelog photos under {}", root);
+        } else {
+            logger.warn("Storing timelog photos under {}, which is not marked persistent; they are lost if the disk is", root);
+        }
+    }
+
+    @Override
+    public String store(InputStream data) throws IOException {
+        // Stream to a temp file while hashing, then move it into place under its digest
+        Path temp = Files.createTempFile(root, "upload-", ".tmp");
+        try {
+            MessageDigest digest = sha256();
+            Files.copy(new DigestInputStream(data, digest), temp, StandardCopyOption.REPLACE_EXISTING);
+
+            String key = HexFormat.of().formatHex(digest.digest());
+            Path target = resolve(key);
+            if (!Files.exists(target)) {
+                Files.createDirectories(target.getParent());
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            }
+            return key;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public Optional<Resource> load(String key) {
+        if (!PhotoStorageService.isValidKey(key)) {
+            return Optional.empty();
+        }
+        Path path = resolve(key);
+        return Files.isRegularFile(path) ? Optional.of(new FileSystemResource(path)) : Optional.empty();
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return PhotoStorageService.isValidKey(key) && Files.isRegularFile(resolve(key));
+    }
+
+    @Override
+    public void delete(String key) {
+        if (!PhotoStorageService.isValidKey(key)) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(resolve(key));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to delete photo " + key, e);
+        }
+    }
+
+    @Override
+    public boolean isDurable() {
+        return persistent;
+    }
+
+    // Two-character fan-out keeps directories small: <root>/ab/abcdef...
+    private Path resolve(String key) {
+        return root.resolve(key.substring(0, 2)).resolve(key);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -7,11 +7,6 @@ import com.capstone.HRMS.Entity.Users;
 import com.capstone.HRMS.Repository.PositionRepo;
 import com.capstone.HRMS.Repository.UserRepo;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
@@ -21,14 +16,11 @@ import java.util.Optional;
 public class HRService {
 
     private final UserRepo userRepo;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final PositionRepo positionRepo;
+    private final BroadcastNotificationService broadcastNotificationService;
 
-    @Autowired
-    AuthenticationManager authenticationManager;
 
-    @Autowired
-    JwtService jwtService;
 
     public Users saveHr(Users hr) {
         // Check if username already exists
@@ -40,7 +32,7 @@ public class HRService {
 
         EmployeeDetails details = new EmployeeDetails();
 
-        hr.setPassword(passwordEncoder.encode(hr.getPassword()));
+        hr.setPassword(passwordHashingService.encode(hr.getPassword()));
         hr.setRole(Role.HR);
         hr.setEmployeeDetails(details);
         if (hr.getPosition() != null && hr.getPosition().getTitle() != null) {
@@ -52,23 +44,8 @@ public class HRService {
         } else {
             throw new RuntimeException("Position title must be provided");
         }
-        return userRepo.save(hr);
-    }
-
-    public String verify(Users hr, Role expectedRole) {
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(hr.getUsername(), hr.getPassword())
-        );
-
-        if (authentication.isAuthenticated()) {
-            Optional<Users> foundHr = userRepo.findByUsername(hr.getUsername());
-
-            if (foundHr.isPresent() && foundHr.get().getRole() == expectedRole) {
-                return jwtService.generateToken(hr.getUsername());
-            } else {
-                return "unauthorized";
-            }
-        }
-        return "failed";
+        Users saved = userRepo.save(hr);
+        broadcastNotificationService.startAtLatest(saved);
+        return saved;
     }
 }
@@ -0,0 +1,289 @@
+package com.capstone.HRMS.Service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.w3c.dom.NodeList;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Normalizes uploaded photos: downscale to a max dimension, re-encode as JPEG and build a thumbnail.
+// Decoding is CPU and memory heavy, so it runs on a small bounded pool instead of on every request thread.
+@Service
+public class ImageProcessingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageProcessingService.class);
+
+    // Refuse to decode anything larger than this (guards against decompression bombs)
+    private static final long MAX_SOURCE_PIXELS = 50_000_000L;
+
+    private static final String JPEG_METADATA_FORMAT = "javax_imageio_jpeg_image_1.0";
+    private static final int EXIF_ORIENTATION_TAG = 0x0112;
+
+    @Value("${app.image.max-dimension:1280}")
+    private int maxDimension;
+
+    @Value("${app.image.thumbnail-dimension:240}")
+    private int thumbnailDimension;
+
+    @Value("${app.image.quality:0.8}")
+    private float quality;
+
+    private final ThreadPoolExecutor executor;
+
+    public ImageProcessingService(@Value("${app.image.workers:2}") int workers,
+                                  @Value("${app.image.queue-capacity:64}") int queueCapacity) {
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-worker-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class ProcessedImage {
+        private final byte[] image;
+        private final byte[] thumbnail;
+    }
+
+    // Full-size variant (app.image.max-dimension) plus a thumbnail (app.image.thumbnail-dimension)
+    public ProcessedImage process(InputStream source) {
+        return process(source, maxDimension, thumbnailDimension);
+    }
+
+    public ProcessedImage process(InputStream source, int dimension, int thumbnailDimension) {
+        return runOnWorker(() -> {
+            BufferedImage normalized = scaleToFit(decode(source, dimension), dimension);
+            BufferedImage thumbnail = scaleToFit(normalized, thumbnailDimension);
+            return new ProcessedImage(encodeJpeg(normalized), encodeJpeg(thumbnail));
+        });
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private interface ImageTask<T> {
+        T run() throws IOException;
+    }
+
+    private <T> T runOnWorker(ImageTask<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task::run);
+        } catch (RejectedExecutionException e) {
+            logger.warn("Image processing queue is full ({} waiting)", executor.getQueue().size());
+            throw new RuntimeException("Server is busy processing photos, please try again");
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new RuntimeException("Photo processing was interrupted");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RuntimeException(cause != null && cause.getMessage() != null ? cause.getMessage() : "Failed to process photo", cause);
+        }
+    }
+
+    // Decode with source subsampling so a 12MP phone photo never has to be fully materialized
+    private BufferedImage decode(InputStream source, int targetDimension) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(source)) {
+            Iterator<ImageReader> readers = input != null ? ImageIO.getImageReaders(input) : null;
+            if (readers == null || !readers.hasNext()) {
+                throw new RuntimeException("Photo is not a supported image");
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                // Metadata is kept so the EXIF orientation of phone photos can be applied
+                reader.setInput(input, true, false);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > MAX_SOURCE_PIXELS) {
+                    throw new RuntimeException("Photo resolution is too large");
+                }
+
+                ImageReadParam param = reader.getDefaultReadParam();
+                int step = Math.max(1, Math.max(width, height) / (targetDimension * 2));
+                param.setSourceSubsampling(step, step, 0, 0);
+                BufferedImage decoded = reader.read(0, param);
+                return applyOrientation(decoded, readOrientation(reader));
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // EXIF orientation (1-8) from the JPEG APP1 segment; 1 ("as stored") when there is none
+    private int readOrientation(ImageReader reader) {
+        try {
+            IIOMetadata metadata = reader.getImageMetadata(0);
+            String[] formats = metadata != null ? metadata.getMetadataFormatNames() : null;
+            if (formats == null || !Arrays.asList(formats).contains(JPEG_METADATA_FORMAT)) {
+                return 1;
+            }
+            IIOMetadataNode root = (IIOMetadataNode) metadata.getAsTree(JPEG_METADATA_FORMAT);
+            NodeList markers = root.getElementsByTagName("unknown");
+            for (int i = 0; i < markers.getLength(); i++) {
+                IIOMetadataNode marker = (IIOMetadataNode) markers.item(i);
+                if ("225".equals(marker.getAttribute("MarkerTag")) && marker.getUserObject() instanceof byte[] app1) {
+                    int orientation = parseExifOrientation(app1);
+                    if (orientation != 1) {
+                        return orientation;
+                    }
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.debug("Could not read photo orientation: {}", e.getMessage());
+        }
+        return 1;
+    }
+
+    // APP1 payload is "Exif\0\0" followed by a TIFF header and IFD0, where tag 0x0112 holds the orientation
+    static int parseExifOrientation(byte[] app1) {
+        if (app1 == null || app1.length < 20 || app1[0] != 'E' || app1[1] != 'x' || app1[2] != 'i' || app1[3] != 'f') {
+            return 1;
+        }
+        ByteBuffer tiff = ByteBuffer.wrap(app1, 6, app1.length - 6).slice();
+        if (tiff.get(0) == 'I' && tiff.get(1) == 'I') {
+            tiff.order(ByteOrder.LITTLE_ENDIAN);
+        } else if (tiff.get(0) != 'M' || tiff.get(1) != 'M') {
+            return 1;
+        }
+
+        int ifd = tiff.getInt(4);
+        if (ifd < 8 || ifd > tiff.limit() - 2) {
+            return 1;
+        }
+        int entries = tiff.getShort(ifd) & 0xFFFF;
+        for (int i = 0; i < entries; i++) {
+            int entry = ifd + 2 + i * 12;
+            if (entry > tiff.limit() - 12) {
+                break;
+            }
+            if ((tiff.getShort(entry) & 0xFFFF) == EXIF_ORIENTATION_TAG) {
+                int orientation = tiff.getShort(entry + 8) & 0xFFFF;
+                return orientation >= 1 && orientation <= 8 ? orientation : 1;
+            }
+        }
+        return 1;
+    }
+
+    // Turn the decoded pixels upright. Orientations 5-8 are rotated a quarter turn, so width and height swap.
+    static BufferedImage applyOrientation(BufferedImage source, int orientation) {
+        if (orientation < 2 || orientation > 8) {
+            return source;
+        }
+        int width = source.getWidth();
+        int height = source.getHeight();
+        boolean swap = orientation >= 5;
+        int targetWidth = swap ? height : width;
+        int[] pixels = source.getRGB(0, 0, width, height, null, 0, width);
+        int[] rotated = new int[pixels.length];
+
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int tx;
+                int ty;
+                switch (orientation) {
+                    case 2 -> { tx = width - 1 - x; ty = y; }               // mirrored
+                    case 3 -> { tx = width - 1 - x; ty = height - 1 - y; }  // upside down
+                    case 4 -> { tx = x; ty = height - 1 - y; }              // mirrored vertically
+                    case 5 -> { tx = y; ty = x; }                           // transposed
+                    case 6 -> { tx = height - 1 - y; ty = x; }              // needs a clockwise turn
+                    case 7 -> { tx = height - 1 - y; ty = width - 1 - x; }  // transversed
+                    default -> { tx = y; ty = width - 1 - x; }              // 8: needs a counter-clockwise turn
+                }
+                rotated[ty * targetWidth + tx] = pixels[y * width + x];
+            }
+        }
+
+        BufferedImage target = new BufferedImage(targetWidth, swap ? width : height, BufferedImage.TYPE_INT_ARGB);
+        target.setRGB(0, 0, targetWidth, target.getHeight(), rotated, 0, targetWidth);
+        return target;
+    }
+
+    private BufferedImage scaleToFit(BufferedImage source, int dimension) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        double scale = Math.min(1.0, (double) dimension / Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * scale));
+        int targetHeight = Math.max(1, (int) Math.round(height * scale));
+
+        // Always redraw into RGB: JPEG has no alpha and some decoders return odd color models
+        BufferedImage target = new BufferedImage(targetWidth, targetHeight, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, targetWidth, targetHeight);
+            graphics.drawImage(source, 0, 0, targetWidth, targetHeight, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private byte[] encodeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+}
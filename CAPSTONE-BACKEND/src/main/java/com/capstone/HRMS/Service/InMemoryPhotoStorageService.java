@@ -0,0 +1,58 @@
+package com.capstone.HRMS.Service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Local object-store stand-in, used by tests and single-node demos (app.photo-store.type=memory)
+@Service
+@ConditionalOnProperty(name = "app.photo-store.type", havingValue = "memory")
+public class InMemoryPhotoStorageService implements PhotoStorageService {
+
+    private final Map<String, byte[]> blobs = new ConcurrentHashMap<>();
+
+    @Override
+    public String store(InputStream data) throws IOException {
+        byte[] bytes = data.readAllBytes();
+        try {
+            String key = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+            blobs.putIfAbsent(key, bytes);
+            return key;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public Optional<Resource> load(String key) {
+        byte[] bytes = key != null ? blobs.get(key) : null;
+        return bytes != null ? Optional.of(new ByteArrayResource(bytes)) : Optional.empty();
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return key != null && blobs.containsKey(key);
+    }
+
+    @Override
+    public void delete(String key) {
+        if (key != null) {
+            blobs.remove(key);
+        }
+    }
+
+    @Override
+    public boolean isDurable() {
+        return false;
+    }
+}
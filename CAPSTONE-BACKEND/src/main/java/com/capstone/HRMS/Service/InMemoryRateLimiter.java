@@ -0,0 +1,51 @@
+package com.capstone.HRMS.Service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Buckets live in a ConcurrentHashMap (lock-striped) and each is updated with a CAS loop, so
+// concurrent requests never block each other. Idle buckets are swept periodically.
+@Service
+@ConditionalOnProperty(name = "app.rate-limit.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryRateLimiter implements RateLimiter {
+
+    @Value("${app.rate-limit.idle-eviction-seconds:3600}")
+    private long idleEvictionSeconds;
+
+    private record Bucket(double tokens, long refilledAt) {
+    }
+
+    private final ConcurrentHashMap<String, AtomicReference<Bucket>> buckets = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean tryAcquire(RateLimitRule rule, String key) {
+        long now = System.nanoTime();
+        AtomicReference<Bucket> ref = buckets.computeIfAbsent(rule.name() + ":" + key,
+                k -> new AtomicReference<>(new Bucket(rule.capacity(), now)));
+
+        while (true) {
+            Bucket current = ref.get();
+            long elapsed = Math.max(0, now - current.refilledAt());
+            double tokens = Math.min(rule.capacity(), current.tokens() + elapsed / 1e9 * rule.refillPerSecond());
+            if (tokens < 1) {
+                return false;
+            }
+            if (ref.compareAndSet(current, new Bucket(tokens - 1, Math.max(now, current.refilledAt())))) {
+                return true;
+            }
+        }
+    }
+
+    // A bucket untouched this long has refilled completely, so dropping it changes nothing
+    @Scheduled(fixedDelayString = "${app.rate-limit.eviction-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        long cutoff = System.nanoTime() - TimeUnit.SECONDS.toNanos(idleEvictionSeconds);
+        buckets.values().removeIf(ref -> ref.get().refilledAt() - cutoff < 0);
+    }
+}
@@ -0,0 +1,79 @@
+package com.capstone.HRMS.Service;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+
+// Photos in a PostgreSQL table of their own (app.photo-store.type=database, the default). They survive
+// redeploys on hosts without a persistent disk and stay out of the timelog rows; photos arrive already
+// downscaled by ImageProcessingService, so each blob is small.
+@Service
+@ConditionalOnProperty(name = "app.photo-store.type", havingValue = "database", matchIfMissing = true)
+public class JdbcPhotoStorageService implements PhotoStorageService {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void createTable() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS photo_blob ("
+                + "photo_key varchar(64) PRIMARY KEY, "
+                + "data bytea NOT NULL, "
+                + "created_at timestamp NOT NULL DEFAULT now())");
+    }
+
+    @Override
+    public String store(InputStream data) throws IOException {
+        byte[] bytes = data.readAllBytes();
+        String key;
+        try {
+            key = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        // Content-addressed, so a concurrent insert of the same key holds the same bytes
+        jdbcTemplate.update("INSERT INTO photo_blob (photo_key, data) VALUES (?, ?) ON CONFLICT (photo_key) DO NOTHING",
+                key, bytes);
+        return key;
+    }
+
+    @Override
+    public Optional<Resource> load(String key) {
+        if (!PhotoStorageService.isValidKey(key)) {
+            return Optional.empty();
+        }
+        List<byte[]> rows = jdbcTemplate.query("SELECT data FROM photo_blob WHERE photo_key = ?",
+                (rs, rowNum) -> rs.getBytes(1), key);
+        return rows.isEmpty() ? Optional.empty() : Optional.of(new ByteArrayResource(rows.get(0)));
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return PhotoStorageService.isValidKey(key)
+                && !jdbcTemplate.queryForList("SELECT 1 FROM photo_blob WHERE photo_key = ?", Integer.class, key).isEmpty();
+    }
+
+    @Override
+    public void delete(String key) {
+        if (PhotoStorageService.isValidKey(key)) {
+            jdbcTemplate.update("DELETE FROM photo_blob WHERE photo_key = ?", key);
+        }
+    }
+
+    @Override
+    public boolean isDurable() {
+        return true;
+    }
+}
@@ -1,10 +1,14 @@
 package com.capstone.HRMS.Service;
 
+import com.capstone.HRMS.Entity.Role;
+import com.capstone.HRMS.Entity.Users;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.KeyGenerator;
@@ -15,13 +19,31 @@ import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.Function;
+import java.util.Optional;
 
 @Service
 public class JwtService {
 
+    // JwtFilter stores the verified claims of the current request under this attribute
+    public static final String TOKEN_CLAIMS_ATTRIBUTE = "com.capstone.HRMS.tokenClaims";
+
+    private static final String USER_ID_CLAIM = "uid";
+    private static final String ROLE_CLAIM = "role";
+    private static final String TOKEN_VERSION_CLAIM = "ver";
+
+    public record TokenClaims(long userId, String username, Role role, int tokenVersion) {
+    }
+
     private String secretkey = "";
 
+    // Short-lived; clients renew through /auth/refresh (RefreshTokenService)
+    @Value("${app.auth.access-token-minutes:15}")
+    private long accessTokenMinutes;
+
+    // Decoded once; building the key and parser per request is pure overhead
+    private final Key key;
+    private final JwtParser parser;
+
     public JwtService(){
         // Use environment variable for consistent secret key across deployments
         secretkey = System.getenv("JWT_SECRET_KEY");
@@ -37,55 +59,44 @@ public class JwtService {
                 throw new RuntimeException(e);
             }
         }
+
+        key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretkey));
+        parser = Jwts.parserBuilder().setSigningKey(key).build();
     }
 
 
-    public String generateToken(String username) {
+    // Stamped into every token and checked against the cached Users.tokenVersion on each request
+    public String generateToken(Users user) {
         Map<String, Object> claims = new HashMap<>();
+        claims.put(USER_ID_CLAIM, user.getUserId());
+        claims.put(ROLE_CLAIM, user.getRole().name());
+        claims.put(TOKEN_VERSION_CLAIM, user.getTokenVersion());
 
         return Jwts.builder()
                 .setClaims(claims)
-                .addClaims(claims)
-                .setSubject(username)
+                .setSubject(user.getUsername())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + 60 * 60 * 1000))
-                .signWith(getKey())
+                .setExpiration(new Date(System.currentTimeMillis() + accessTokenMinutes * 60 * 1000))
+                .signWith(key)
                 .compact();
 
     }
 
-    private Key getKey(){
-        byte[] keyBytes = Decoders.BASE64.decode(secretkey);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
-
-    public String extractUserName(String token){
-        return extractClaims(token, Claims::getSubject);
-    }
-
-    private <T> T extractClaims(String token, Function<Claims, T> claimResolver){
-        final Claims claims = extractAllClaims(token);
-        return claimResolver.apply(claims);
-    }
-
-    private Claims extractAllClaims(String token){
-        return Jwts.parserBuilder()
-                .setSigningKey(getKey())
-                .build().parseClaimsJws(token).getBody();
-    }
-
-    public boolean validateToken(String token, UserDetails userDetails) {
-        final String userName = extractUserName(token);
-        return (userName.equals(userDetails.getUsername()) && !isTokenExpired(token));
-
-    }
-
-
-    private boolean isTokenExpired(String token){
-        return extractExpiration(token).before(new Date());
-    }
-
-    private Date extractExpiration(String token){
-        return extractClaims(token, Claims::getExpiration);
+    // Verifies signature and expiry in a single parse. Tokens issued before the userId/role/version
+    // claims existed (or otherwise malformed ones) are rejected, which just means logging in again.
+    public Optional<TokenClaims> parseToken(String token) {
+        try {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            Number userId = claims.get(USER_ID_CLAIM, Number.class);
+            String role = claims.get(ROLE_CLAIM, String.class);
+            Number tokenVersion = claims.get(TOKEN_VERSION_CLAIM, Number.class);
+            if (claims.getSubject() == null || userId == null || role == null || tokenVersion == null) {
+                return Optional.empty();
+            }
+            return Optional.of(new TokenClaims(userId.longValue(), claims.getSubject(),
+                    Role.valueOf(role), tokenVersion.intValue()));
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
     }
 }
@@ -0,0 +1,55 @@
+package com.capstone.HRMS.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Fixed-bucket latency histogram (cumulative "le" buckets in milliseconds), cheap enough to
+// record on every request from any thread.
+public class LatencyHistogram {
+
+    private static final long[] BUCKET_BOUNDS_MS = {25, 50, 100, 250, 500, 1000, 2500, 5000, 10000};
+
+    private final LongAdder[] buckets = new LongAdder[BUCKET_BOUNDS_MS.length + 1];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalMs = new LongAdder();
+    private final AtomicLong maxMs = new AtomicLong();
+
+    public LatencyHistogram() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public void record(long elapsedNanos) {
+        long ms = elapsedNanos / 1_000_000;
+        int bucket = 0;
+        while (bucket < BUCKET_BOUNDS_MS.length && ms > BUCKET_BOUNDS_MS[bucket]) {
+            bucket++;
+        }
+        buckets[bucket].increment();
+        count.increment();
+        totalMs.add(ms);
+        maxMs.accumulateAndGet(ms, Math::max);
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Long> cumulative = new LinkedHashMap<>();
+        long running = 0;
+        for (int i = 0; i < BUCKET_BOUNDS_MS.length; i++) {
+            running += buckets[i].sum();
+            cumulative.put("le_" + BUCKET_BOUNDS_MS[i] + "ms", running);
+        }
+        running += buckets[BUCKET_BOUNDS_MS.length].sum();
+        cumulative.put("le_inf", running);
+
+        long total = count.sum();
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("count", total);
+        snapshot.put("meanMs", total == 0 ? 0 : totalMs.sum() / total);
+        snapshot.put("maxMs", maxMs.get());
+        snapshot.put("buckets", cumulative);
+        return snapshot;
+    }
+}
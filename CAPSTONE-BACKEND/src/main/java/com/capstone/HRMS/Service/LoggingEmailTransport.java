@@ -0,0 +1,18 @@
+package com.capstone.HRMS.Service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+@Service
+@ConditionalOnProperty(name = "app.email.transport", havingValue = "log")
+public class LoggingEmailTransport implements EmailTransport {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoggingEmailTransport.class);
+
+    @Override
+    public void send(String toEmail, String subject, String textContent) {
+        logger.info("Email to {} ({}):\n{}", toEmail, subject, textContent);
+    }
+}
@@ -0,0 +1,49 @@
+package com.capstone.HRMS.Service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+// Runs every RetentionJob in the background, batch by batch, so request handlers never pay for
+// housekeeping. Each run is capped at max-batches-per-run per job; leftovers wait for the next run.
+@Service
+public class MaintenanceScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(MaintenanceScheduler.class);
+
+    @Autowired
+    private List<RetentionJob> retentionJobs;
+
+    @Value("${app.maintenance.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.maintenance.max-batches-per-run:20}")
+    private int maxBatchesPerRun;
+
+    @Scheduled(initialDelayString = "${app.maintenance.initial-delay-ms:60000}",
+            fixedDelayString = "${app.maintenance.interval-ms:900000}")
+    public void runRetentionJobs() {
+        for (RetentionJob job : retentionJobs) {
+            try {
+                int total = 0;
+                for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                    int deleted = job.purgeBatch(batchSize);
+                    total += deleted;
+                    if (deleted < batchSize) {
+                        break;
+                    }
+                }
+                if (total > 0) {
+                    logger.info("Retention job {} purged {} rows", job.name(), total);
+                }
+            } catch (Exception e) {
+                logger.warn("Retention job {} failed: {}", job.name(), e.getMessage());
+            }
+        }
+    }
+}
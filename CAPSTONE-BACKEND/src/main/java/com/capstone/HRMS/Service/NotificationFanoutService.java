@@ -0,0 +1,154 @@
+package com.capstone.HRMS.Service;
+
+import com.capstone.HRMS.Entity.NotificationType;
+import com.capstone.HRMS.Entity.Role;
+import com.capstone.HRMS.Repository.NotificationRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Notifications addressed to a whole role are written by a single INSERT ... SELECT
+// on a small background pool, so the request that triggers them returns immediately. Each
+// fan-out gets a job id; its status is kept for the most recent max-tracked-jobs jobs.
+@Service
+public class NotificationFanoutService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationFanoutService.class);
+
+    public enum JobStatus {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+
+    public record FanoutJob(String jobId, String audience, JobStatus status, int recipients,
+                            LocalDateTime submittedAt, LocalDateTime finishedAt, String error) {
+    }
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private NotificationUnreadCounter unreadCounter;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.notifications.max-tracked-jobs:200}")
+    private int maxTrackedJobs;
+
+    private final ThreadPoolExecutor executor;
+
+    // Insertion-ordered; the oldest jobs are dropped once maxTrackedJobs is exceeded
+    private final LinkedHashMap<String, FanoutJob> jobs = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, FanoutJob> eldest) {
+            return size() > maxTrackedJobs;
+        }
+    };
+
+    public NotificationFanoutService(@Value("${app.notifications.fanout-workers:2}") int workers,
+                                     @Value("${app.notifications.fanout-queue-capacity:100}") int queueCapacity) {
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "notification-fanout-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public FanoutJob notifyRole(Role role, String title, String message, NotificationType type, Long relatedEntityId) {
+        return submit("role:" + role.name(), () -> {
+            int inserted = notificationRepository.insertForRole(
+                    role.name(), title, message, type.name(), LocalDateTime.now(), relatedEntityId);
+            unreadCounter.incrementRole(role);
+            eventPublisher.publishEvent(NotificationPublishedEvent.forRole(role));
+            return inserted;
+        });
+    }
+
+    public Optional<FanoutJob> getJob(String jobId) {
+        synchronized (jobs) {
+            return Optional.ofNullable(jobs.get(jobId));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private interface Fanout {
+        int insert();
+    }
+
+    // Started after the caller's transaction commits, so the fan-out never sees (or outlives) an
+    // uncommitted announcement
+    private FanoutJob submit(String audience, Fanout fanout) {
+        FanoutJob job = new FanoutJob(UUID.randomUUID().toString(), audience, JobStatus.QUEUED, 0,
+                LocalDateTime.now(), null, null);
+        track(job);
+
+        Runnable start = () -> {
+            try {
+                executor.execute(() -> run(job, fanout));
+            } catch (RejectedExecutionException e) {
+                logger.warn("Notification fan-out queue is full, dropping job {} ({})", job.jobId(), audience);
+                track(finished(job, JobStatus.FAILED, 0, "Fan-out queue is full"));
+            }
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    start.run();
+                }
+            });
+        } else {
+            start.run();
+        }
+        return job;
+    }
+
+    private void run(FanoutJob job, Fanout fanout) {
+        track(new FanoutJob(job.jobId(), job.audience(), JobStatus.RUNNING, 0, job.submittedAt(), null, null));
+        try {
+            int recipients = fanout.insert();
+            track(finished(job, JobStatus.COMPLETED, recipients, null));
+            logger.info("Notification fan-out {} ({}) reached {} users", job.jobId(), job.audience(), recipients);
+        } catch (Exception e) {
+            track(finished(job, JobStatus.FAILED, 0, e.getMessage()));
+            logger.warn("Notification fan-out {} ({}) failed: {}", job.jobId(), job.audience(), e.getMessage());
+        }
+    }
+
+    private FanoutJob finished(FanoutJob job, JobStatus status, int recipients, String error) {
+        return new FanoutJob(job.jobId(), job.audience(), status, recipients, job.submittedAt(),
+                LocalDateTime.now(), error);
+    }
+
+    private void track(FanoutJob job) {
+        synchronized (jobs) {
+            jobs.put(job.jobId(), job);
+        }
+    }
+}
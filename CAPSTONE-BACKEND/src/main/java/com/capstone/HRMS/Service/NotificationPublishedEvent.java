@@ -0,0 +1,39 @@
+package com.capstone.HRMS.Service;
+
+import com.capstone.HRMS.Entity.BroadcastNotification;
+import com.capstone.HRMS.Entity.Notification;
+import com.capstone.HRMS.Entity.Role;
+import lombok.Getter;
+
+// Published when new notifications are written; NotificationStreamService pushes them to
+// connected clients once the writing transaction has committed. Exactly one field is set.
+@Getter
+public class NotificationPublishedEvent {
+
+    // A single user's notification
+    private final Notification notification;
+
+    // A notification for everyone
+    private final BroadcastNotification broadcast;
+
+    // A role fan-out; the inserted rows are loaded per connected user of that role
+    private final Role role;
+
+    private NotificationPublishedEvent(Notification notification, BroadcastNotification broadcast, Role role) {
+        this.notification = notification;
+        this.broadcast = broadcast;
+        this.role = role;
+    }
+
+    public static NotificationPublishedEvent of(Notification notification) {
+        return new NotificationPublishedEvent(notification, null, null);
+    }
+
+    public static NotificationPublishedEvent of(BroadcastNotification broadcast) {
+        return new NotificationPublishedEvent(null, broadcast, null);
+    }
+
+    public static NotificationPublishedEvent forRole(Role role) {
+        return new NotificationPublishedEvent(null, null, role);
+    }
+}
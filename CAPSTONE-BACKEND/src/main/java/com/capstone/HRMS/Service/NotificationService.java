@@ -1,111 +1,206 @@
 package com.capstone.HRMS.Service;
 
+import com.capstone.HRMS.DTO.CursorPageDTO;
+import com.capstone.HRMS.DTO.NotificationDTO;
+import com.capstone.HRMS.Entity.BroadcastNotification;
 import com.capstone.HRMS.Entity.Notification;
 import com.capstone.HRMS.Entity.NotificationType;
 import com.capstone.HRMS.Entity.Role;
 import com.capstone.HRMS.Entity.Users;
 import com.capstone.HRMS.Repository.NotificationRepository;
-import com.capstone.HRMS.Repository.UserRepo;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 
 @Service
 public class NotificationService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
+    // Newest first; ties on createdAt broken by id, matching the repository ORDER BY
+    private static final Comparator<NotificationDTO> INBOX_ORDER = Comparator
+            .comparing(NotificationDTO::getCreatedAt, Comparator.reverseOrder())
+            .thenComparing(NotificationDTO::getNotificationId, Comparator.reverseOrder());
+
     @Autowired
     private NotificationRepository notificationRepository;
 
     @Autowired
-    private UserRepo userRepo;
+    private NotificationFanoutService notificationFanoutService;
+
+    @Autowired
+    private BroadcastNotificationService broadcastNotificationService;
+
+    @Autowired
+    private NotificationUnreadCounter unreadCounter;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
     public Notification createNotification(Users user, String title, String message, NotificationType type) {
         Notification notification = new Notification(user, title, message, type);
-        return notificationRepository.save(notification);
+        Notification saved = notificationRepository.save(notification);
+        unreadCounter.increment(user.getUserId());
+        eventPublisher.publishEvent(NotificationPublishedEvent.of(saved));
+        return saved;
     }
 
     public Notification createNotification(Users user, String title, String message, NotificationType type, Long relatedEntityId) {
         Notification notification = new Notification(user, title, message, type, relatedEntityId);
-        return notificationRepository.save(notification);
+        Notification saved = notificationRepository.save(notification);
+        unreadCounter.increment(user.getUserId());
+        eventPublisher.publishEvent(NotificationPublishedEvent.of(saved));
+        return saved;
     }
 
-    public void notifyAllUsers(String title, String message, NotificationType type) {
-        List<Users> allUsers = userRepo.findAll();
-        for (Users user : allUsers) {
-            createNotification(user, title, message, type);
-        }
+    // Stored once as a broadcast and merged into every inbox at read time
+    public BroadcastNotification notifyAllUsers(String title, String message, NotificationType type) {
+        return broadcastNotificationService.publish(title, message, type, null);
+    }
+
+    // Role notifications are written per recipient, asynchronously, by NotificationFanoutService;
+    // the returned job can be polled for completion
+
+    public NotificationFanoutService.FanoutJob notifyUsersByRole(Role role, String title, String message, NotificationType type) {
+        return notificationFanoutService.notifyRole(role, title, message, type, null);
+    }
+
+    public NotificationFanoutService.FanoutJob notifyUsersByRole(Role role, String title, String message, NotificationType type, Long relatedEntityId) {
+        return notificationFanoutService.notifyRole(role, title, message, type, relatedEntityId);
     }
 
-    public void notifyUsersByRole(Role role, String title, String message, NotificationType type) {
-        List<Users> users = userRepo.findByRole(role);
-        for (Users user : users) {
-            createNotification(user, title, message, type);
+    // The newest MAX_PAGE_SIZE notifications; older ones are reached through getInboxPage
+    public List<NotificationDTO> getNotificationsByUser(Users user) {
+        return getInboxPage(user, false, null, MAX_PAGE_SIZE).getItems();
+    }
+
+    // One keyset page of the inbox (personal notifications and broadcasts), newest first
+    public CursorPageDTO<NotificationDTO> getInboxPage(Users user, boolean unreadOnly, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        PageCursor after = PageCursor.decode(cursor);
+        LocalDateTime afterCreatedAt = after != null ? after.createdAt() : null;
+        long afterId = after != null ? after.id() : 0;
+
+        // Fetch one extra row to find out whether another page exists
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        long userId = user.getUserId();
+        List<NotificationDTO> rows = new ArrayList<>(afterCreatedAt == null
+                ? (unreadOnly ? notificationRepository.findUnreadInboxPage(userId, limit)
+                              : notificationRepository.findInboxPage(userId, limit))
+                : (unreadOnly ? notificationRepository.findUnreadInboxPageAfter(userId, afterCreatedAt, afterId, limit)
+                              : notificationRepository.findInboxPageAfter(userId, afterCreatedAt, afterId, limit)));
+
+        // Same seek and limit on the broadcast side; broadcasts carry negative ids, so at equal
+        // timestamps they sort after personal rows. Merging two bounded lists keeps every page cheap.
+        for (Notification broadcast : broadcastNotificationService.getInboxPage(user, unreadOnly, afterCreatedAt, afterId, pageSize + 1)) {
+            rows.add(NotificationDTO.from(broadcast));
         }
+        rows.sort(INBOX_ORDER);
+        return toPage(rows, pageSize);
+    }
+
+    // Every user's personal notifications for HR/admin, newest first, keyset-paged like the inbox
+    public CursorPageDTO<NotificationDTO> getAllNotificationsPage(String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        PageCursor after = PageCursor.decode(cursor);
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        List<NotificationDTO> rows = after == null
+                ? notificationRepository.findAllPage(limit)
+                : notificationRepository.findAllPageAfter(after.createdAt(), after.id(), limit);
+        return toPage(rows, pageSize);
     }
 
-    public void notifyUsersByRole(Role role, String title, String message, NotificationType type, Long relatedEntityId) {
-        List<Users> users = userRepo.findByRole(role);
-        for (Users user : users) {
-            createNotification(user, title, message, type, relatedEntityId);
+    // rows holds up to pageSize + 1 entries; the extra one only tells us another page exists
+    private static CursorPageDTO<NotificationDTO> toPage(List<NotificationDTO> rows, int pageSize) {
+        if (rows.size() <= pageSize) {
+            return new CursorPageDTO<>(rows, null);
         }
+        List<NotificationDTO> items = new ArrayList<>(rows.subList(0, pageSize));
+        NotificationDTO last = items.get(items.size() - 1);
+        return new CursorPageDTO<>(items, new PageCursor(last.getCreatedAt(), last.getNotificationId()).encode());
     }
 
-    public List<Notification> getNotificationsByUser(Users user) {
-        List<Notification> notifications = notificationRepository.findByUserOrderByCreatedAtDesc(user);
-        System.out.println("DEBUG: getNotificationsByUser for userId=" + user.getUserId() + ", username=" + user.getUsername() + ", found " + notifications.size() + " notifications");
-        for (Notification notif : notifications) {
-            System.out.println("DEBUG: - NotificationId=" + notif.getNotificationId() + ", ownerId=" + notif.getUser().getUserId() + ", read=" + notif.getRead() + ", title=" + notif.getTitle());
+    // Base64url of "createdAt|notificationId" of the last row on the previous page
+    private record PageCursor(LocalDateTime createdAt, long id) {
+
+        static PageCursor decode(String cursor) {
+            if (cursor == null || cursor.isBlank()) {
+                return null;
+            }
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+                return new PageCursor(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+
+        String encode() {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(
+                    (createdAt + "|" + id).getBytes(StandardCharsets.UTF_8));
         }
-        return notifications;
     }
 
-    public List<Notification> getUnreadNotificationsByUser(Users user) {
-        return notificationRepository.findByUserAndReadOrderByCreatedAtDesc(user, false);
+    public List<NotificationDTO> getUnreadNotificationsByUser(Users user) {
+        return getInboxPage(user, true, null, MAX_PAGE_SIZE).getItems();
     }
 
+    // Served from NotificationUnreadCounter; the COUNT queries only run on a miss or reconcile
     public Long getUnreadNotificationCount(Users user) {
-        return notificationRepository.countUnreadNotificationsByUser(user);
+        return unreadCounter.get(user, u ->
+                notificationRepository.countUnreadNotificationsByUser(u) + broadcastNotificationService.countUnread(u));
     }
 
+    // Transactional so the counter's after-commit eviction follows the committed update; evicting
+    // before the save let a poll in between cache the old count until the next reconcile
+    @Transactional
     public Notification markAsRead(Long notificationId, Users user) {
-        System.out.println("DEBUG: markAsRead called for notificationId=" + notificationId + ", userId=" + user.getUserId() + ", username=" + user.getUsername());
+        if (BroadcastNotificationService.isBroadcastId(notificationId)) {
+            return broadcastNotificationService.markAsRead(BroadcastNotificationService.toBroadcastId(notificationId), user);
+        }
         
         Optional<Notification> notification = notificationRepository.findById(notificationId);
         if (notification.isPresent()) {
             Notification notif = notification.get();
-            System.out.println("DEBUG: Found notification owned by userId=" + notif.getUser().getUserId() + ", username=" + notif.getUser().getUsername());
-            
-            if (notif.getUser().equals(user)) {
-                System.out.println("DEBUG: User matches, marking as read");
+            if (notif.getUser().getUserId() == user.getUserId()) {
                 notif.setRead(true);
-                return notificationRepository.save(notif);
-            } else {
-                System.out.println("DEBUG: User does NOT match, access denied");
+                Notification saved = notificationRepository.save(notif);
+                unreadCounter.invalidate(user.getUserId());
+                return saved;
             }
-        } else {
-            System.out.println("DEBUG: Notification not found");
         }
         return null;
     }
 
     public void markAllAsRead(Users user) {
-        List<Notification> unreadNotifications = getUnreadNotificationsByUser(user);
+        List<Notification> unreadNotifications = notificationRepository.findByUserAndReadOrderByCreatedAtDesc(user, false);
         for (Notification notification : unreadNotifications) {
             notification.setRead(true);
         }
         notificationRepository.saveAll(unreadNotifications);
+        broadcastNotificationService.markAllAsRead(user);
+        unreadCounter.invalidate(user.getUserId());
     }
 
     public void deleteNotification(Long notificationId, Users user) {
+        if (BroadcastNotificationService.isBroadcastId(notificationId)) {
+            broadcastNotificationService.dismiss(BroadcastNotificationService.toBroadcastId(notificationId), user);
+            return;
+        }
         Optional<Notification> notification = notificationRepository.findById(notificationId);
-        if (notification.isPresent() && notification.get().getUser().equals(user)) {
+        if (notification.isPresent() && notification.get().getUser().getUserId() == user.getUserId()) {
             notificationRepository.deleteById(notificationId);
+            unreadCounter.invalidate(user.getUserId());
         }
     }
-
-    public List<Notification> getAllNotifications() {
-        return notificationRepository.findAll();
-    }
 }
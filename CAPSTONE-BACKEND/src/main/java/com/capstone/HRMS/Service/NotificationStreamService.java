@@ -0,0 +1,191 @@
+package com.capstone.HRMS.Service;
+
+import com.capstone.HRMS.DTO.NotificationDTO;
+import com.capstone.HRMS.Entity.Notification;
+import com.capstone.HRMS.Entity.Role;
+import com.capstone.HRMS.Entity.Users;
+import com.capstone.HRMS.Repository.NotificationRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+// Live notification feed for the signed-in user.
+// Protocol: every event is a "notification" (same JSON as /api/notifications/user) whose SSE id
+// is the cursor "lastNotificationId:lastBroadcastId". A client reconnecting with Last-Event-ID
+// first receives what it missed after that cursor; a fresh client gets a "ready" event carrying
+// the current cursor and should load its inbox normally. The inbox endpoints stay authoritative.
+@Service
+public class NotificationStreamService {
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private BroadcastNotificationService broadcastNotificationService;
+
+    @Value("${app.sse.timeout-ms:1800000}")
+    private long timeoutMillis;
+
+    @Value("${app.sse.queue-capacity:256}")
+    private int queueCapacity;
+
+    @Value("${app.sse.heartbeat-ms:25000}")
+    private long heartbeatMillis;
+
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicLong connectionIds = new AtomicLong();
+
+    private static final class Subscriber {
+        private final Users user;
+        private SseConnection connection;
+        private long lastNotificationId;
+        private long lastBroadcastId;
+        // Backlog entries already queued while subscribing, so a concurrent live push isn't sent twice
+        private Set<Long> backlogIds = Set.of();
+
+        private Subscriber(Users user) {
+            this.user = user;
+        }
+
+        private synchronized void push(Notification notification) {
+            long id = notification.getNotificationId();
+            if (backlogIds.contains(id)) {
+                return;
+            }
+            if (BroadcastNotificationService.isBroadcastId(id)) {
+                lastBroadcastId = Math.max(lastBroadcastId, BroadcastNotificationService.toBroadcastId(id));
+            } else {
+                lastNotificationId = Math.max(lastNotificationId, id);
+            }
+            connection.send(SseEmitter.event().id(cursor()).name("notification")
+                    .data(NotificationDTO.from(notification), MediaType.APPLICATION_JSON));
+        }
+
+        private String cursor() {
+            return lastNotificationId + ":" + lastBroadcastId;
+        }
+    }
+
+    public SseEmitter subscribe(Users user, String lastEventId) {
+        Subscriber subscriber = new Subscriber(user);
+        SseConnection connection = new SseConnection("notifications-" + connectionIds.incrementAndGet(),
+                timeoutMillis, queueCapacity, heartbeatMillis, closed -> unregister(subscriber));
+        subscriber.connection = connection;
+
+        long[] cursor = parseCursor(lastEventId);
+        synchronized (subscriber) {
+            // Register before reading the backlog so nothing committed in between is missed;
+            // live pushes wait on the subscriber lock until the backlog is queued
+            subscribers.computeIfAbsent(user.getUserId(), id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+
+            if (cursor == null) {
+                subscriber.lastNotificationId = notificationRepository.findMaxIdByUser(user);
+                subscriber.lastBroadcastId = broadcastNotificationService.getLatestId();
+                connection.start(SseEmitter.event().id(subscriber.cursor()).name("ready")
+                        .data(Map.of("cursor", subscriber.cursor()), MediaType.APPLICATION_JSON));
+                return connection.getEmitter();
+            }
+
+            subscriber.lastNotificationId = cursor[0];
+            subscriber.lastBroadcastId = cursor[1];
+            List<Notification> backlog = notificationRepository
+                    .findTop100ByUserAndNotificationIdGreaterThanOrderByNotificationIdAsc(user, cursor[0]);
+            List<Notification> broadcasts = broadcastNotificationService.getSince(user, cursor[1]);
+            Set<Long> queued = new HashSet<>();
+            for (Notification notification : backlog) {
+                subscriber.push(notification);
+                queued.add(notification.getNotificationId());
+            }
+            for (Notification notification : broadcasts) {
+                subscriber.push(notification);
+                queued.add(notification.getNotificationId());
+            }
+            subscriber.backlogIds = queued;
+            connection.start(null);
+        }
+        return connection.getEmitter();
+    }
+
+    public int getConnectionCount() {
+        return subscribers.values().stream().mapToInt(Set::size).sum();
+    }
+
+    // After commit, or straight away when published outside a transaction (role fan-out worker)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotificationPublished(NotificationPublishedEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        if (event.getNotification() != null) {
+            Notification notification = event.getNotification();
+            forUser(notification.getUser().getUserId(), subscriber -> subscriber.push(notification));
+        } else if (event.getBroadcast() != null) {
+            for (Set<Subscriber> userSubscribers : subscribers.values()) {
+                for (Subscriber subscriber : userSubscribers) {
+                    subscriber.push(broadcastNotificationService.toNotification(event.getBroadcast(), subscriber.user, false));
+                }
+            }
+        } else if (event.getRole() != null) {
+            pushRoleFanout(event.getRole());
+        }
+    }
+
+    // The fan-out inserted rows without returning them, so each connected user of the role
+    // catches up from their own cursor
+    private void pushRoleFanout(Role role) {
+        for (Set<Subscriber> userSubscribers : subscribers.values()) {
+            for (Subscriber subscriber : userSubscribers) {
+                if (subscriber.user.getRole() != role) {
+                    continue;
+                }
+                synchronized (subscriber) {
+                    notificationRepository
+                            .findTop100ByUserAndNotificationIdGreaterThanOrderByNotificationIdAsc(
+                                    subscriber.user, subscriber.lastNotificationId)
+                            .forEach(subscriber::push);
+                }
+            }
+        }
+    }
+
+    private void forUser(long userId, Consumer<Subscriber> action) {
+        Set<Subscriber> userSubscribers = subscribers.get(userId);
+        if (userSubscribers != null) {
+            userSubscribers.forEach(action);
+        }
+    }
+
+    private void unregister(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.user.getUserId(), (id, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    // "lastNotificationId:lastBroadcastId"; anything else starts a fresh stream
+    private long[] parseCursor(String lastEventId) {
+        if (lastEventId == null) {
+            return null;
+        }
+        String[] parts = lastEventId.trim().split(":");
+        if (parts.length != 2) {
+            return null;
+        }
+        try {
+            return new long[]{Long.parseLong(parts[0]), Long.parseLong(parts[1])};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.capstone.HRMS.Service;
+
+import com.capstone.HRMS.Entity.Role;
+import com.capstone.HRMS.Entity.Users;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToLongFunction;
+
+// Unread-notification counts for the badge, so polling it is a map lookup instead of a COUNT.
+// New notifications increment cached counters after commit; reads, read-all and deletes just drop
+// the user's entry so it is recounted on the next poll. Every entry is also recounted from the
+// database after reconcile-ms, which bounds drift (e.g. notifications created on another node), so
+// it is set well above the frontend's poll interval.
+@Service
+public class NotificationUnreadCounter {
+
+    @Value("${app.notifications.unread-reconcile-ms:900000}")
+    private long reconcileMs;
+
+    private record Entry(Role role, AtomicLong count, long loadedAt) {
+    }
+
+    private final ConcurrentHashMap<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    // A recount that overlapped a change affecting the user is returned but not cached. Changes are
+    // versioned per user, and per role for fan-outs and broadcasts, so one user's activity never
+    // stops everyone else's recount from being cached.
+    private final ConcurrentHashMap<Long, AtomicLong> userVersions = new ConcurrentHashMap<>();
+    private final Map<Role, AtomicLong> roleVersions = new EnumMap<>(Role.class);
+
+    public NotificationUnreadCounter() {
+        for (Role role : Role.values()) {
+            roleVersions.put(role, new AtomicLong());
+        }
+    }
+
+    public long get(Users user, ToLongFunction<Users> recount) {
+        Entry entry = entries.get(user.getUserId());
+        if (entry != null && System.currentTimeMillis() - entry.loadedAt() < reconcileMs) {
+            return entry.count().get();
+        }
+
+        long loadVersion = versionOf(user);
+        long now = System.currentTimeMillis();
+        long count = recount.applyAsLong(user);
+        if (versionOf(user) == loadVersion) {
+            entries.put(user.getUserId(), new Entry(user.getRole(), new AtomicLong(count), now));
+        }
+        return count;
+    }
+
+    public void increment(long userId) {
+        afterCommit(() -> {
+            bumpUser(userId);
+            Entry entry = entries.get(userId);
+            if (entry != null) {
+                entry.count().incrementAndGet();
+            }
+        });
+    }
+
+    public void incrementRole(Role role) {
+        afterCommit(() -> {
+            roleVersions.get(role).incrementAndGet();
+            entries.values().forEach(entry -> {
+                if (entry.role() == role) {
+                    entry.count().incrementAndGet();
+                }
+            });
+        });
+    }
+
+    public void incrementAll() {
+        afterCommit(() -> {
+            roleVersions.values().forEach(AtomicLong::incrementAndGet);
+            entries.values().forEach(entry -> entry.count().incrementAndGet());
+        });
+    }
+
+    // Dropped now and again after commit, like UserPrincipalCache, so a poll in between can't
+    // cache the pre-commit count
+    public void invalidate(long userId) {
+        Runnable evict = () -> {
+            bumpUser(userId);
+            entries.remove(userId);
+        };
+        evict.run();
+        afterCommit(evict);
+    }
+
+    @Scheduled(fixedDelayString = "${app.notifications.unread-reconcile-ms:900000}")
+    public void evictStale() {
+        long cutoff = System.currentTimeMillis() - reconcileMs;
+        entries.values().removeIf(entry -> entry.loadedAt() < cutoff);
+    }
+
+    // Both parts only grow, so the sum changes whenever either does
+    private long versionOf(Users user) {
+        AtomicLong userVersion = userVersions.get(user.getUserId());
+        AtomicLong roleVersion = user.getRole() != null ? roleVersions.get(user.getRole()) : null;
+        return (userVersion != null ? userVersion.get() : 0) + (roleVersion != null ? roleVersion.get() : 0);
+    }
+
+    private void bumpUser(long userId) {
+        userVersions.computeIfAbsent(userId, id -> new AtomicLong()).incrementAndGet();
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
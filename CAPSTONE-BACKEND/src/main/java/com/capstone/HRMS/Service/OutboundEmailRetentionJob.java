@@ -0,0 +1,29 @@
+package com.capstone.HRMS.Service;
+
+import com.capstone.HRMS.Repository.OutboundEmailRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+
+// Delivered and dead-lettered emails are kept a few days for troubleshooting, then dropped
+@Service
+@RequiredArgsConstructor
+public class OutboundEmailRetentionJob implements RetentionJob {
+
+    private final OutboundEmailRepository outboundEmailRepository;
+
+    @Value("${app.email.retention-days:7}")
+    private int retentionDays;
+
+    @Override
+    public String name() {
+        return "outbound-emails";
+    }
+
+    @Override
+    public int purgeBatch(int batchSize) {
+        return outboundEmailRepository.deleteFinishedBatch(LocalDateTime.now().minusDays(retentionDays), batchSize);
+    }
+}
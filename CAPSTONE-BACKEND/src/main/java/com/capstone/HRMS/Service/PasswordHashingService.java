@@ -0,0 +1,170 @@
+package com.capstone.HRMS.Service;
+
+import com.capstone.HRMS.Entity.Users;
+import com.capstone.HRMS.Repository.UserRepo;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// The application's only PasswordEncoder. Algorithm and cost come from app.password.*; hashes are
+// stored with an {id} prefix, and legacy un-prefixed BCrypt hashes still verify. Hashing is CPU
+// bound, so it runs on a small bounded pool: a login flood queues up to queue-capacity requests and
+// rejects the rest instead of burning every Tomcat thread on BCrypt.
+@Service
+public class PasswordHashingService implements PasswordEncoder {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHashingService.class);
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private UserPrincipalCache userPrincipalCache;
+
+    // Thrown when the hashing pool is saturated; login endpoints answer 503 for this and nothing else
+    public static class HashingBusyException extends RuntimeException {
+        public HashingBusyException() {
+            super("Server is busy, please try again");
+        }
+    }
+
+    private final DelegatingPasswordEncoder encoder;
+    private final ThreadPoolExecutor executor;
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong upgraded = new AtomicLong();
+
+    public PasswordHashingService(@Value("${app.password.algorithm:bcrypt}") String algorithm,
+                                  @Value("${app.password.bcrypt-strength:10}") int bcryptStrength,
+                                  @Value("${app.password.workers:0}") int workers,
+                                  @Value("${app.password.queue-capacity:64}") int queueCapacity) {
+        // Argon2 needs BouncyCastle, which isn't on the classpath; PBKDF2 ships with Spring Security
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+        Map<String, PasswordEncoder> encoders = Map.of(
+                "bcrypt", bcrypt,
+                "pbkdf2", Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8()
+        );
+        if (!encoders.containsKey(algorithm)) {
+            throw new IllegalArgumentException("Unsupported app.password.algorithm: " + algorithm);
+        }
+        this.encoder = new DelegatingPasswordEncoder(algorithm, encoders);
+        // Hashes written before the {id} prefix existed are plain BCrypt
+        this.encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+
+        int poolSize = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return runOnWorker(() -> encoder.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return runOnWorker(() -> encoder.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return encoder.upgradeEncoding(encodedPassword);
+    }
+
+    // After a successful login, re-hash with the current algorithm/cost if the stored hash is
+    // outdated. Runs in the background and only if the pool has spare room; the next login retries.
+    public void upgradeIfNeeded(Users user, String rawPassword) {
+        String currentHash = user.getPassword();
+        if (rawPassword == null || currentHash == null || !encoder.upgradeEncoding(currentHash)) {
+            return;
+        }
+
+        long userId = user.getUserId();
+        String username = user.getUsername();
+        try {
+            executor.execute(() -> {
+                try {
+                    String newHash = encoder.encode(rawPassword);
+                    // Conditional, so a password change in the meantime is never overwritten
+                    if (userRepo.updatePasswordHash(userId, currentHash, newHash) > 0) {
+                        userPrincipalCache.invalidate(username);
+                        upgraded.incrementAndGet();
+                    }
+                } catch (Exception e) {
+                    logger.warn("Password hash upgrade failed for user {}: {}", userId, e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            logger.debug("Skipping password hash upgrade for user {}, hashing pool is busy", userId);
+        }
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public Map<String, Object> getStats() {
+        return Map.of(
+                "queueDepth", executor.getQueue().size(),
+                "activeWorkers", executor.getActiveCount(),
+                "poolSize", executor.getMaximumPoolSize(),
+                "completed", executor.getCompletedTaskCount(),
+                "rejected", rejected.get(),
+                "upgraded", upgraded.get()
+        );
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> T runOnWorker(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            logger.warn("Password hashing queue is full ({} waiting)", executor.getQueue().size());
+            throw new HashingBusyException();
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new RuntimeException("Password hashing was interrupted");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RuntimeException("Failed to hash password", cause);
+        }
+    }
+}
@@ -1,24 +1,40 @@
 package com.capstone.HRMS.Service;
 
+import com.capstone.HRMS.Entity.EmployeeDetails;
 import com.capstone.HRMS.Entity.PasswordResetToken;
 import com.capstone.HRMS.Entity.Users;
 import com.capstone.HRMS.Repository.PasswordResetTokenRepository;
 import com.capstone.HRMS.Repository.UserRepo;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 import java.time.LocalDateTime;
 import java.util.Base64;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Service
 public class PasswordResetService {
 
+    private static final Logger logger = LoggerFactory.getLogger(PasswordResetService.class);
+
     @Autowired
     private PasswordResetTokenRepository tokenRepository;
 
@@ -28,59 +44,119 @@ public class PasswordResetService {
     @Autowired
     private EmailService emailService;
 
-    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+    @Autowired
+    private UserPrincipalCache userPrincipalCache;
+
+    @Autowired
+    private UsersService usersService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
     private final SecureRandom secureRandom = new SecureRandom();
+
+    @Value("${app.password-reset.workers:1}")
+    private int workers;
+
+    @Value("${app.password-reset.queue-capacity:100}")
+    private int queueCapacity;
+
+    // Lookup, token and outbox writes run here, off the request path, so a forgot-password request
+    // costs the same whether or not the identifier belongs to an account
+    private Executor resetExecutor;
+
+    // 12 random bytes encode to a 16-character selector; the verifier is 32 bytes
+    private static final int SELECTOR_BYTES = 12;
+    private static final int SELECTOR_LENGTH = 16;
+    private static final int VERIFIER_BYTES = 32;
+
     
 
-    private final Map<String, LocalDateTime> lastRequestTimes = new HashMap<>();
-    private static final int RATE_LIMIT_MINUTES = 1; // Allow one request per minute per identifier
+    @Autowired
+    private RateLimiter rateLimiter;
+
+    // One reset email per identifier per minute (per-IP limits are applied by RateLimitInterceptor)
+    private static final RateLimitRule IDENTIFIER_RULE = RateLimitRule.perMinute("forgot-password-identifier", 1, 1);
+
+    @PostConstruct
+    public void startWorkers() {
+        AtomicInteger threadCount = new AtomicInteger();
+        resetExecutor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-reset-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
 
-    @Transactional
+    @PreDestroy
+    public void shutdown() {
+        if (resetExecutor instanceof ThreadPoolExecutor pool) {
+            pool.shutdown();
+        }
+    }
+
+    // The request only spends a rate-limit token and queues the work. Unknown identifiers and
+    // accounts without an email get the same answer, in the same time, as real ones, so neither the
+    // response nor its latency reveals which accounts exist.
     public boolean initiatePasswordReset(String identifier) {
 
-        LocalDateTime now = LocalDateTime.now();
-        LocalDateTime lastRequest = lastRequestTimes.get(identifier.toLowerCase());
-        if (lastRequest != null && lastRequest.plusMinutes(RATE_LIMIT_MINUTES).isAfter(now)) {
+        if (!rateLimiter.tryAcquire(IDENTIFIER_RULE, identifier.toLowerCase())) {
             throw new RuntimeException("Too many password reset requests. Please wait before trying again.");
         }
 
-
-        Users user = findUserByIdentifier(identifier);
-        if (user == null) {
-
-            return true;
+        try {
+            resetExecutor.execute(() -> {
+                try {
+                    transactionTemplate.execute(status -> {
+                        issueResetToken(identifier);
+                        return null;
+                    });
+                } catch (RuntimeException e) {
+                    logger.warn("Password reset request could not be processed: {}", e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            throw new RuntimeException("Too many password reset requests. Please wait before trying again.");
         }
+        return true;
+    }
 
+    private void issueResetToken(String identifier) {
 
-        if (user.getEmployeeDetails() == null || user.getEmployeeDetails().getEmail() == null) {
-            throw new RuntimeException("No email address found for this account. Please contact HR for assistance.");
+        LocalDateTime now = LocalDateTime.now();
+        Users user = findUserByIdentifier(identifier);
+        if (user == null || user.getEmployeeDetails() == null || user.getEmployeeDetails().getEmail() == null) {
+            return;
         }
 
 
         tokenRepository.invalidateUserTokens(user, now);
 
 
-        String token = generateSecureToken();
+        String selector = randomToken(SELECTOR_BYTES);
+        byte[] verifier = new byte[VERIFIER_BYTES];
+        secureRandom.nextBytes(verifier);
+        String token = selector + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(verifier);
         LocalDateTime expiresAt = now.plusMinutes(10); // 10-minute expiry
 
 
-        PasswordResetToken resetToken = new PasswordResetToken(token, user, expiresAt);
+        PasswordResetToken resetToken = new PasswordResetToken(selector, sha256(verifier), user, expiresAt);
         tokenRepository.save(resetToken);
 
 
+        // Queued in the outbox with this transaction; delivery happens off the request path
         emailService.sendPasswordResetEmail(
             user.getEmployeeDetails().getEmail(),
             token,
-            user.getEmployeeDetails().getFirstName()
+            user.getEmployeeDetails().getFirstName(),
+            expiresAt
         );
-
-
-        lastRequestTimes.put(identifier.toLowerCase(), now);
-
-
-        cleanupExpiredTokens();
-
-        return true;
     }
 
     @Transactional
@@ -92,8 +168,11 @@ public class PasswordResetService {
 
         validatePasswordStrength(newPassword);
 
-        Optional<PasswordResetToken> tokenOpt = tokenRepository.findByTokenAndUsedAtIsNull(token);
-        if (tokenOpt.isEmpty()) {
+        ParsedToken parsed = parseToken(token);
+        Optional<PasswordResetToken> tokenOpt = parsed == null
+                ? Optional.empty()
+                : tokenRepository.findBySelectorForUpdate(parsed.selector());
+        if (tokenOpt.isEmpty() || !verifierMatches(tokenOpt.get(), parsed) || tokenOpt.get().isUsed()) {
             throw new RuntimeException("Invalid or expired reset token");
         }
 
@@ -106,7 +185,9 @@ public class PasswordResetService {
 
         Users user = resetToken.getUser();
         user.setPassword(passwordEncoder.encode(newPassword));
+        usersService.revokeTokens(user);
         userRepository.save(user);
+        userPrincipalCache.invalidate(user);
 
 
         resetToken.markAsUsed();
@@ -151,7 +232,9 @@ public class PasswordResetService {
 
 
         user.setPassword(passwordEncoder.encode(newPassword));
+        usersService.revokeTokens(user);
         userRepository.save(user);
+        userPrincipalCache.invalidate(user);
 
 
         if (user.getEmployeeDetails() != null && user.getEmployeeDetails().getEmail() != null) {
@@ -164,9 +247,17 @@ public class PasswordResetService {
         return true;
     }
 
+    // One indexed lookup by selector, then a constant-time compare of the verifier hash
+    @Transactional(readOnly = true)
     public boolean validateResetToken(String token) {
-        Optional<PasswordResetToken> tokenOpt = tokenRepository.findByTokenAndUsedAtIsNull(token);
-        return tokenOpt.isPresent() && !tokenOpt.get().isExpired();
+        ParsedToken parsed = parseToken(token);
+        if (parsed == null) {
+            return false;
+        }
+        return tokenRepository.findBySelector(parsed.selector())
+                .filter(resetToken -> verifierMatches(resetToken, parsed))
+                .filter(resetToken -> !resetToken.isUsed() && !resetToken.isExpired())
+                .isPresent();
     }
 
     private Users findUserByIdentifier(String identifier) {
@@ -176,21 +267,51 @@ public class PasswordResetService {
             return userOpt.get();
         }
 
-
-        return userRepository.findAll().stream()
-            .filter(user -> user.getEmployeeDetails() != null && 
-                           user.getEmployeeDetails().getEmail() != null &&
-                           user.getEmployeeDetails().getEmail().equalsIgnoreCase(identifier))
-            .findFirst()
-            .orElse(null);
+        // An address shared by several accounts can't say whose password to reset, so it matches nobody
+        String email = EmployeeDetails.normalizeEmail(identifier);
+        List<Users> owners = email == null ? List.of() : userRepository.findAllByEmailNormalized(email);
+        return owners.size() == 1 ? owners.get(0) : null;
     }
 
-    private String generateSecureToken() {
-        byte[] randomBytes = new byte[32];
+    private String randomToken(int byteCount) {
+        byte[] randomBytes = new byte[byteCount];
         secureRandom.nextBytes(randomBytes);
         return Base64.getUrlEncoder().withoutPadding().encodeToString(randomBytes);
     }
 
+    private record ParsedToken(String selector, byte[] verifier) {
+    }
+
+    // "selector.verifier", both base64url; anything else (including legacy single-part tokens) is invalid
+    private ParsedToken parseToken(String token) {
+        if (token == null) {
+            return null;
+        }
+        int dot = token.indexOf('.');
+        if (dot != SELECTOR_LENGTH || token.indexOf('.', dot + 1) >= 0) {
+            return null;
+        }
+        try {
+            byte[] verifier = Base64.getUrlDecoder().decode(token.substring(dot + 1));
+            return verifier.length == VERIFIER_BYTES ? new ParsedToken(token.substring(0, dot), verifier) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private boolean verifierMatches(PasswordResetToken resetToken, ParsedToken parsed) {
+        return resetToken.getVerifierHash() != null
+                && MessageDigest.isEqual(resetToken.getVerifierHash(), sha256(parsed.verifier()));
+    }
+
+    private static byte[] sha256(byte[] value) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(value);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
     private void validatePasswordStrength(String password) {
         if (password == null || password.length() < 8) {
             throw new RuntimeException("Password must be at least 8 characters long");
@@ -205,9 +326,4 @@ public class PasswordResetService {
             throw new RuntimeException("Password must contain at least one uppercase letter, one lowercase letter, one digit, and one special character");
         }
     }
-
-    @Transactional
-    public void cleanupExpiredTokens() {
-        tokenRepository.deleteExpiredTokens(LocalDateTime.now());
-    }
 }
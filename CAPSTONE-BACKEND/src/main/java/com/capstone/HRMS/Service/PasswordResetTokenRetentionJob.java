@@ -0,0 +1,25 @@
+package com.capstone.HRMS.Service;
+
+import com.capstone.HRMS.Repository.PasswordResetTokenRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+
+// Expired reset links can't be used any more
+@Service
+@RequiredArgsConstructor
+public class PasswordResetTokenRetentionJob implements RetentionJob {
+
+    private final PasswordResetTokenRepository tokenRepository;
+
+    @Override
+    public String name() {
+        return "password-reset-tokens";
+    }
+
+    @Override
+    public int purgeBatch(int batchSize) {
+        return tokenRepository.deleteExpiredBatch(LocalDateTime.now(), batchSize);
+    }
+}
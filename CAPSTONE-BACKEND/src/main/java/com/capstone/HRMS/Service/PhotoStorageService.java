@@ -0,0 +1,33 @@
+package com.capstone.HRMS.Service;
+
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+// Content-addressed blob store for clock-in/clock-out photos.
+// Photos are keyed by the hex SHA-256 of their bytes, so the same image is only stored once
+// and a key can be cached forever by clients.
+public interface PhotoStorageService {
+
+    Pattern KEY_PATTERN = Pattern.compile("[0-9a-f]{64}");
+
+    // Store the stream contents and return its SHA-256 key. The caller keeps ownership of the stream.
+    String store(InputStream data) throws IOException;
+
+    Optional<Resource> load(String key);
+
+    boolean exists(String key);
+
+    void delete(String key);
+
+    // Whether stored photos outlive a restart or redeploy. TimelogPhotoMigrationService only drops the
+    // legacy base64 columns when this is true, since the store then holds the only copy.
+    boolean isDurable();
+
+    static boolean isValidKey(String key) {
+        return key != null && KEY_PATTERN.matcher(key).matches();
+    }
+}
@@ -4,10 +4,12 @@ import com.capstone.HRMS.Entity.EmployeeDetails;
 import com.capstone.HRMS.Entity.Users;
 import com.capstone.HRMS.Repository.UserRepo;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.Base64;
 import java.util.HashMap;
 import java.util.List;
@@ -20,6 +22,18 @@ public class ProfilePictureService {
     @Autowired
     private UserRepo userRepo;
 
+    @Autowired
+    private ImageProcessingService imageProcessingService;
+
+    @Autowired
+    private UserPrincipalCache userPrincipalCache;
+
+    @Value("${app.image.profile-dimension:512}")
+    private int profileDimension;
+
+    @Value("${app.image.profile-thumbnail-dimension:96}")
+    private int profileThumbnailDimension;
+
 
     private final String defaultProfilePicture = "data:image/svg+xml;base64,PHN2ZyB3aWR0aD0iMTAwIiBoZWlnaHQ9IjEwMCIgdmlld0JveD0iMCAwIDEwMCAxMDAiIGZpbGw9Im5vbmUiIHhtbG5zPSJodHRwOi8vd3d3LnczLm9yZy8yMDAwL3N2ZyI+CiAgPHJlY3Qgd2lkdGg9IjEwMCIgaGVpZ2h0PSIxMDAiIGZpbGw9IiNGM0Y0RjYiLz4KICA8Y2lyY2xlIGN4PSI1MCIgY3k9IjM3IiByPSIxOCIgZmlsbD0iIzlDQTNBRiIvPgogIDxwYXRoIGQ9Ik0yMCA4MEMyMCA2OS41MDY2IDI4LjUwNjYgNjEgMzkgNjFINjFDNzEuNDkzNCA2MSA4MCA2OS41MDY2IDgwIDgwVjEwMEgyMFY4MFoiIGZpbGw9IiM5Q0EzQUYiLz4KPC9zdmc+";
 
@@ -41,9 +55,13 @@ public class ProfilePictureService {
         }
 
 
-        byte[] fileBytes = file.getBytes();
-        String base64Image = Base64.getEncoder().encodeToString(fileBytes);
-        String dataUrl = "data:" + contentType + ";base64," + base64Image;
+        // Downscale and re-encode before it goes into the row; camera originals are several MB
+        ImageProcessingService.ProcessedImage processed;
+        try (InputStream in = file.getInputStream()) {
+            processed = imageProcessingService.process(in, profileDimension, profileThumbnailDimension);
+        }
+        String dataUrl = toJpegDataUrl(processed.getImage());
+        String thumbnailUrl = toJpegDataUrl(processed.getThumbnail());
 
 
         Optional<Users> userOpt = userRepo.findByUsername(username);
@@ -57,7 +75,9 @@ public class ProfilePictureService {
             }
             
             employeeDetails.setProfilePicture(dataUrl);
+            employeeDetails.setProfilePictureThumbnail(thumbnailUrl);
             userRepo.save(user);
+            userPrincipalCache.invalidate(user);
         } else {
             throw new RuntimeException("User not found");
         }
@@ -86,7 +106,9 @@ public class ProfilePictureService {
             
             if (employeeDetails != null) {
                 employeeDetails.setProfilePicture(defaultProfilePicture);
+                employeeDetails.setProfilePictureThumbnail(null);
                 userRepo.save(user);
+                userPrincipalCache.invalidate(user);
             }
         } else {
             throw new RuntimeException("User not found");
@@ -101,7 +123,9 @@ public class ProfilePictureService {
             String profilePictureUrl = defaultProfilePicture;
             
             EmployeeDetails employeeDetails = user.getEmployeeDetails();
-            if (employeeDetails != null && employeeDetails.getProfilePicture() != null) {
+            if (employeeDetails != null && employeeDetails.getProfilePictureThumbnail() != null) {
+                profilePictureUrl = employeeDetails.getProfilePictureThumbnail();
+            } else if (employeeDetails != null && employeeDetails.getProfilePicture() != null) {
                 profilePictureUrl = employeeDetails.getProfilePicture();
             }
             
@@ -110,4 +134,8 @@ public class ProfilePictureService {
         
         return profilePictures;
     }
+
+    private String toJpegDataUrl(byte[] image) {
+        return "data:image/jpeg;base64," + Base64.getEncoder().encodeToString(image);
+    }
 }
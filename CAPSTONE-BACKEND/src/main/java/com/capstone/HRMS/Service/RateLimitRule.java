@@ -0,0 +1,14 @@
+package com.capstone.HRMS.Service;
+
+// Token-bucket parameters: up to `capacity` requests in a burst, refilled at `refillPerSecond`
+public record RateLimitRule(String name, int capacity, double refillPerSecond) {
+
+    public static RateLimitRule perMinute(String name, int capacity, double perMinute) {
+        return new RateLimitRule(name, capacity, perMinute / 60.0);
+    }
+
+    // Seconds until the next token, for Retry-After
+    public long secondsPerToken() {
+        return Math.max(1, (long) Math.ceil(1.0 / refillPerSecond));
+    }
+}
@@ -0,0 +1,12 @@
+package com.capstone.HRMS.Service;
+
+// Token-bucket rate limiting. The backend is picked with app.rate-limit.store:
+// "memory" (single node, default) or "jdbc" (shared PostgreSQL table for several nodes).
+public interface RateLimiter {
+
+    // Client address resolved by RateLimitInterceptor, for limits applied further down (login accounts)
+    String CLIENT_ADDRESS_ATTRIBUTE = "com.capstone.HRMS.clientAddress";
+
+    // Take one token from the bucket of (rule, key); false when the bucket is empty
+    boolean tryAcquire(RateLimitRule rule, String key);
+}
@@ -0,0 +1,30 @@
+package com.capstone.HRMS.Service;
+
+import com.capstone.HRMS.Repository.RefreshTokenRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+
+// Expired refresh tokens can't be rotated. They're kept for a grace period so a replayed one still
+// triggers reuse detection (and revokes its chain) for a while after it expires.
+@Service
+@RequiredArgsConstructor
+public class RefreshTokenRetentionJob implements RetentionJob {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    @Value("${app.maintenance.refresh-token-grace-days:14}")
+    private int graceDays;
+
+    @Override
+    public String name() {
+        return "refresh-tokens";
+    }
+
+    @Override
+    public int purgeBatch(int batchSize) {
+        return refreshTokenRepository.deleteExpiredBatch(LocalDateTime.now().minusDays(graceDays), batchSize);
+    }
+}
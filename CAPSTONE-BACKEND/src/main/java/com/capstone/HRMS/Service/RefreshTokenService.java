@@ -0,0 +1,162 @@
+package com.capstone.HRMS.Service;
+
+import com.capstone.HRMS.Entity.RefreshToken;
+import com.capstone.HRMS.Entity.Users;
+import com.capstone.HRMS.Repository.RefreshTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Rotating refresh tokens: each refresh exchanges the presented token for a new access token and a
+// new refresh token. Presenting an already exchanged token revokes the whole chain (it was stolen
+// or replayed), except within a short grace window after the exchange, where two tabs or a retried
+// request raced on the same token. Renewal never goes through the AuthenticationManager, so no BCrypt work.
+@Service
+public class RefreshTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${app.auth.refresh-token-days:14}")
+    private long refreshTokenDays;
+
+    @Value("${app.auth.refresh-reuse-grace-seconds:10}")
+    private long reuseGraceSeconds;
+
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    public record TokenPair(String accessToken, String refreshToken) {
+    }
+
+    private record Rotation(TokenPair tokens, String error) {
+    }
+
+    // Successor handed out for a token exchanged on this node, kept for the grace window so a racing
+    // duplicate gets the same successor instead of starting a second chain
+    private record Successor(String refreshToken, LocalDateTime expiresAt) {
+    }
+
+    private final Map<String, Successor> recentSuccessors = new ConcurrentHashMap<>();
+
+    // Start a new chain after a password login
+    @Transactional
+    public String issue(Users user) {
+        return issue(user, UUID.randomUUID().toString());
+    }
+
+    public TokenPair rotate(String rawToken) {
+        String tokenHash = hash(rawToken);
+        // Revoking a chain on reuse has to commit even though the caller gets an error
+        Rotation rotation = transactionTemplate.execute(status -> {
+            Optional<RefreshToken> found = refreshTokenRepository.findByTokenHashForUpdate(tokenHash);
+            if (found.isEmpty()) {
+                return new Rotation(null, "Invalid refresh token");
+            }
+
+            RefreshToken token = found.get();
+            LocalDateTime now = LocalDateTime.now();
+            if (token.getRevokedAt() != null) {
+                return new Rotation(null, "Refresh token has been revoked");
+            }
+            if (token.getUsedAt() != null && withinGrace(token.getUsedAt(), now)) {
+                return reissueSuccessor(token, tokenHash, now);
+            }
+            if (token.getUsedAt() != null) {
+                refreshTokenRepository.revokeFamily(token.getFamilyId(), now);
+                logger.warn("Refresh token reuse detected for user {}, revoking its chain", token.getUser().getUserId());
+                return new Rotation(null, "Refresh token has been revoked");
+            }
+            if (token.isExpired()) {
+                return new Rotation(null, "Refresh token has expired");
+            }
+
+            Users user = token.getUser();
+            if (!user.isEnabled() || user.getTokenVersion() != token.getTokenVersion()) {
+                refreshTokenRepository.revokeFamily(token.getFamilyId(), now);
+                return new Rotation(null, "Refresh token has been revoked");
+            }
+
+            token.setUsedAt(now);
+            String next = issue(user, token.getFamilyId());
+            rememberSuccessor(tokenHash, next, now);
+            return new Rotation(new TokenPair(jwtService.generateToken(user), next), null);
+        });
+
+        if (rotation.error() != null) {
+            throw new RuntimeException(rotation.error());
+        }
+        return rotation.tokens();
+    }
+
+    boolean withinGrace(LocalDateTime usedAt, LocalDateTime now) {
+        return !usedAt.plusSeconds(reuseGraceSeconds).isBefore(now);
+    }
+
+    // A duplicate inside the grace window gets a fresh access token and the successor already issued.
+    // If the exchange happened on another node the successor isn't known here; the caller is refused
+    // without revoking anything and picks up the rotated token from whoever made the first exchange.
+    private Rotation reissueSuccessor(RefreshToken token, String tokenHash, LocalDateTime now) {
+        Successor successor = recentSuccessors.get(tokenHash);
+        Users user = token.getUser();
+        if (successor == null || successor.expiresAt().isBefore(now)
+                || !user.isEnabled() || user.getTokenVersion() != token.getTokenVersion()) {
+            return new Rotation(null, "Refresh token was already exchanged");
+        }
+        return new Rotation(new TokenPair(jwtService.generateToken(user), successor.refreshToken()), null);
+    }
+
+    private void rememberSuccessor(String tokenHash, String next, LocalDateTime now) {
+        recentSuccessors.values().removeIf(successor -> successor.expiresAt().isBefore(now));
+        recentSuccessors.put(tokenHash, new Successor(next, now.plusSeconds(reuseGraceSeconds)));
+    }
+
+    // Logout: end the chain the token belongs to. Unknown tokens are ignored.
+    @Transactional
+    public void revoke(String rawToken) {
+        refreshTokenRepository.findByTokenHashForUpdate(hash(rawToken))
+                .ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId(), LocalDateTime.now()));
+    }
+
+    private String issue(Users user, String familyId) {
+        byte[] bytes = new byte[32];
+        secureRandom.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        refreshTokenRepository.save(new RefreshToken(hash(rawToken), familyId, user,
+                LocalDateTime.now().plusDays(refreshTokenDays)));
+        return rawToken;
+    }
+
+    private String hash(String rawToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
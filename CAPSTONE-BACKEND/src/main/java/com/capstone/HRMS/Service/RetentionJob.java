@@ -0,0 +1,11 @@
+package com.capstone.HRMS.Service;
+
+// A housekeeping task run by MaintenanceScheduler. Register a new one (old notifications,
+// processed edit requests, ...) by declaring it as a bean; the scheduler picks it up.
+public interface RetentionJob {
+
+    String name();
+
+    // Delete at most batchSize rows in its own transaction and return how many went
+    int purgeBatch(int batchSize);
+}
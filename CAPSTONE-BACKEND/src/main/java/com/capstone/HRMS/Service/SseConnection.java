@@ -0,0 +1,90 @@
+package com.capstone.HRMS.Service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+// One Server-Sent Events client with its own bounded outbox. Producers never block: events are
+// queued and a virtual thread drains them to the socket. A client that falls behind far enough to
+// fill its queue is disconnected; it reconnects and gets a fresh snapshot instead of a backlog.
+public class SseConnection {
+
+    private static final Logger logger = LoggerFactory.getLogger(SseConnection.class);
+
+    private final SseEmitter emitter;
+    private final BlockingDeque<SseEmitter.SseEventBuilder> queue;
+    private final long heartbeatMillis;
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final String name;
+
+    public SseConnection(String name, long timeoutMillis, int queueCapacity, long heartbeatMillis,
+                         Consumer<SseConnection> onClose) {
+        this.name = name;
+        this.emitter = new SseEmitter(timeoutMillis);
+        this.queue = new LinkedBlockingDeque<>(queueCapacity);
+        this.heartbeatMillis = heartbeatMillis;
+
+        Runnable cleanup = () -> {
+            closed.set(true);
+            onClose.accept(this);
+        };
+        emitter.onCompletion(cleanup);
+        emitter.onTimeout(cleanup);
+        emitter.onError(error -> cleanup.run());
+    }
+
+    public SseEmitter getEmitter() {
+        return emitter;
+    }
+
+    // Send the initial event ahead of anything queued while it was being built. It is handed to the
+    // sender directly rather than queued, so deltas filling the queue in the meantime can't crowd it out.
+    public void start(SseEmitter.SseEventBuilder firstEvent) {
+        Thread.ofVirtual().name("sse-" + name).start(() -> drain(firstEvent));
+    }
+
+    // Queue an event; returns false (and drops the client) when its queue is full
+    public boolean send(SseEmitter.SseEventBuilder event) {
+        if (closed.get()) {
+            return false;
+        }
+        if (!queue.offerLast(event)) {
+            logger.warn("SSE client {} is too slow, disconnecting", name);
+            close();
+            return false;
+        }
+        return true;
+    }
+
+    public void close() {
+        if (closed.compareAndSet(false, true)) {
+            emitter.complete();
+        }
+    }
+
+    private void drain(SseEmitter.SseEventBuilder firstEvent) {
+        try {
+            if (firstEvent != null && !closed.get()) {
+                emitter.send(firstEvent);
+            }
+            while (!closed.get()) {
+                SseEmitter.SseEventBuilder event = queue.pollFirst(heartbeatMillis, TimeUnit.MILLISECONDS);
+                // An idle comment line keeps proxies from cutting the connection
+                emitter.send(event != null ? event : SseEmitter.event().comment("keep-alive"));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close();
+        } catch (Exception e) {
+            // Client went away; the emitter callbacks take care of deregistration
+            closed.set(true);
+            emitter.completeWithError(e);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.capstone.HRMS.Service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+// One-off backfill: moves legacy base64 photos out of timelog.time_in_photo/time_out_photo
+// into the photo store and leaves only the key on the row. Safe to run on every startup.
+// The legacy columns are the only durable copy until this runs, so it refuses to run against a
+// store that does not survive a redeploy (see PhotoStorageService.isDurable).
+@Service
+public class TimelogPhotoMigrationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TimelogPhotoMigrationService.class);
+    private static final int BATCH_SIZE = 50;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PhotoStorageService photoStorageService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateLegacyPhotos() {
+        try {
+            if (!hasLegacyColumns()) {
+                return;
+            }
+            if (!photoStorageService.isDurable()) {
+                logger.warn("Photo store is not persistent; keeping legacy timelog photos in the timelog table");
+                return;
+            }
+
+            long lastId = 0;
+            int migrated = 0;
+            while (true) {
+                List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                        "SELECT id, time_in_photo, time_out_photo FROM timelog " +
+                        "WHERE id > ? AND (time_in_photo IS NOT NULL OR time_out_photo IS NOT NULL) " +
+                        "ORDER BY id LIMIT ?", lastId, BATCH_SIZE);
+                if (rows.isEmpty()) {
+                    break;
+                }
+
+                for (Map<String, Object> row : rows) {
+                    lastId = ((Number) row.get("id")).longValue();
+                    try {
+                        String timeInKey = storeLegacyPhoto((String) row.get("time_in_photo"));
+                        String timeOutKey = storeLegacyPhoto((String) row.get("time_out_photo"));
+                        jdbcTemplate.update(
+                                "UPDATE timelog SET time_in_photo_key = COALESCE(time_in_photo_key, ?), " +
+                                "time_out_photo_key = COALESCE(time_out_photo_key, ?), " +
+                                "time_in_photo = NULL, time_out_photo = NULL WHERE id = ?",
+                                timeInKey, timeOutKey, lastId);
+                        migrated++;
+                    } catch (Exception e) {
+                        logger.warn("Could not migrate photos of timelog {}: {}", lastId, e.getMessage());
+                    }
+                }
+            }
+
+            if (migrated > 0) {
+                logger.info("Moved photos of {} timelogs into the photo store", migrated);
+            }
+        } catch (Exception e) {
+            logger.error("Legacy timelog photo migration failed", e);
+        }
+    }
+
+    private String storeLegacyPhoto(String photoBase64) throws Exception {
+        if (photoBase64 == null || photoBase64.isEmpty()) {
+            return null;
+        }
+        String payload = photoBase64;
+        int comma = payload.indexOf(',');
+        if (payload.startsWith("data:") && comma >= 0) {
+            payload = payload.substring(comma + 1);
+        }
+        return photoStorageService.store(new ByteArrayInputStream(Base64.getMimeDecoder().decode(payload)));
+    }
+
+    private boolean hasLegacyColumns() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            try (ResultSet columns = metaData.getColumns(null, null, "timelog", "time_in_photo")) {
+                return columns.next();
+            }
+        }
+    }
+}
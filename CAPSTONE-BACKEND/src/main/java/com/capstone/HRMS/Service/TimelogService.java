@@ -1,133 +1,207 @@
 package com.capstone.HRMS.Service;
 
+import com.capstone.HRMS.DTO.AttendanceEntryDTO;
+import com.capstone.HRMS.DTO.CursorPageDTO;
+import com.capstone.HRMS.DTO.TimelogFilter;
+import com.capstone.HRMS.DTO.TimelogSummaryDTO;
 import com.capstone.HRMS.Entity.*;
 import com.capstone.HRMS.Repository.TimelogRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
-
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Service
 public class TimelogService {
 
+    private static final Logger logger = LoggerFactory.getLogger(TimelogService.class);
+
     @Autowired
     private TimelogRepository timelogRepository;
 
+    @Autowired
+    private PhotoStorageService photoStorageService;
 
-    // Clock in with photo
-    public Timelog clockIn(Users user, String photoBase64) {
+    @Autowired
+    private ImageProcessingService imageProcessingService;
 
-        Optional<Timelog> activeTimelog = timelogRepository.findActiveTimelogByUser(user);
-        if (activeTimelog.isPresent()) {
-            throw new RuntimeException("User is already clocked in or on break");
-        }
+    @Autowired
+    private AttendanceBoard attendanceBoard;
 
+    @Autowired
+    private WorkedHoursRollupService rollupService;
 
-        Optional<Timelog> todayTimelog = timelogRepository.findTodayTimelogByUser(user, LocalDateTime.now());
-        
-        Timelog timelog;
-        if (todayTimelog.isPresent()) {
+    @Autowired
+    private TransactionTemplate transactionTemplate;
 
-            timelog = todayTimelog.get();
-            timelog.setTimeIn(LocalDateTime.now());
-            timelog.setTimeInPhoto(photoBase64);
-            timelog.setStatus(TimelogStatus.CLOCKED_IN);
-        } else {
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int CSV_FETCH_SIZE = 500;
 
-            timelog = new Timelog(user, LocalDateTime.now());
-            timelog.setTimeIn(LocalDateTime.now());
-            timelog.setTimeInPhoto(photoBase64);
-            timelog.setStatus(TimelogStatus.CLOCKED_IN);
-        }
+    @Value("${app.photo-store.max-photo-bytes:5242880}")
+    private long maxPhotoBytes;
 
-        timelog.setUpdatedDate(LocalDateTime.now());
-        return timelogRepository.save(timelog);
-    }
 
-    // Clock out with photo
-    public Timelog clockOut(Users user, String photoBase64) {
-        Optional<Timelog> activeTimelog = timelogRepository.findActiveTimelogByUser(user);
-        if (!activeTimelog.isPresent()) {
-            throw new RuntimeException("User is not currently clocked in");
-        }
+    // Clock in with a base64 photo (legacy JSON path)
+    public Timelog clockIn(Users user, String photoBase64) {
+        return clockIn(user, decodePhoto(photoBase64));
+    }
 
-        Timelog timelog = activeTimelog.get();
-        if (timelog.getTimeIn() == null) {
-            throw new RuntimeException("Cannot clock out without clocking in first");
+    // Clock in with a photo streamed straight from the request body
+    public Timelog clockIn(Users user, InputStream photo) {
+        // The conditional insert and uk_timelog_active_user decide; the attendance board is only a
+        // read model for the dashboards and may lag the database. The indexed lookup up front just
+        // turns away the common double tap before the photo is decoded and stored.
+        if (timelogRepository.findActiveTimelogByUser(user).isPresent()) {
+            throw new RuntimeException("User is already clocked in or on break");
         }
+        StoredPhoto storedPhoto = storePhoto(photo);
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime dayStart = now.toLocalDate().atStartOfDay();
 
-        timelog.setTimeOut(LocalDateTime.now());
-        timelog.setTimeOutPhoto(photoBase64);
-        timelog.setStatus(TimelogStatus.CLOCKED_OUT);
-
-
-        if (timelog.getBreakTimeStart() != null && timelog.getBreakTimeEnd() == null) {
-            timelog.setBreakTimeEnd(LocalDateTime.now());
-            timelog.calculateBreakDuration();
+        try {
+            return transactionTemplate.execute(status -> {
+                Timelog saved = timelogRepository.clockIn(user.getUserId(), now, dayStart, dayStart.plusDays(1),
+                                storedPhoto.photoKey, storedPhoto.thumbnailKey)
+                        .orElseThrow(() -> new RuntimeException("User is already clocked in or on break"));
+                attendanceBoard.update(saved);
+                return saved;
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Another timelog of this user is still open
+            discardPhoto(storedPhoto);
+            throw new RuntimeException("User is already clocked in or on break");
+        } catch (RuntimeException e) {
+            discardPhoto(storedPhoto);
+            throw e;
         }
+    }
 
-
-        timelog.updateTotalWorkedHours();
-        
-        return timelogRepository.save(timelog);
+    // Clock out with a base64 photo (legacy JSON path)
+    public Timelog clockOut(Users user, String photoBase64) {
+        return clockOut(user, decodePhoto(photoBase64));
     }
 
-    // Start break
-    public Timelog startBreak(Users user) {
-        Optional<Timelog> activeTimelog = timelogRepository.findActiveTimelogByUser(user);
-        if (!activeTimelog.isPresent()) {
-            throw new RuntimeException("User is not currently clocked in");
+    // Clock out with a photo streamed straight from the request body
+    public Timelog clockOut(Users user, InputStream photo) {
+        // The photo is stored first (once a cheap lookup shows there is something to close); only the
+        // row update and its rollups share a transaction
+        if (timelogRepository.findActiveTimelogByUser(user).isEmpty()) {
+            throw clockOutRejected(user);
         }
-
-        Timelog timelog = activeTimelog.get();
-        if (timelog.getStatus() == TimelogStatus.ON_BREAK) {
-            throw new RuntimeException("User is already on break");
+        StoredPhoto storedPhoto = storePhoto(photo);
+        try {
+            return transactionTemplate.execute(status -> {
+                Timelog saved = timelogRepository.clockOut(user.getUserId(), LocalDateTime.now(),
+                                storedPhoto.photoKey, storedPhoto.thumbnailKey)
+                        .orElseThrow(() -> clockOutRejected(user));
+                refreshRollups(saved);
+                attendanceBoard.update(saved);
+                return saved;
+            });
+        } catch (RuntimeException e) {
+            discardPhoto(storedPhoto);
+            throw e;
         }
+    }
 
-        if (timelog.getTimeIn() == null) {
-            throw new RuntimeException("Cannot start break without clocking in first");
+    // Get the stored clock-in or clock-out photo of a timelog, or its thumbnail
+    public Optional<Resource> getTimelogPhoto(Timelog timelog, boolean timeOut, boolean thumbnail) {
+        String key = getTimelogPhotoKey(timelog, timeOut, thumbnail);
+        if (key == null) {
+            return Optional.empty();
         }
+        return photoStorageService.load(key);
+    }
 
-        timelog.setBreakTimeStart(LocalDateTime.now());
-        timelog.setStatus(TimelogStatus.ON_BREAK);
-        timelog.setUpdatedDate(LocalDateTime.now());
+    public String getTimelogPhotoKey(Timelog timelog, boolean timeOut, boolean thumbnail) {
+        if (thumbnail) {
+            // Photos stored before thumbnails existed only have the full-size variant
+            String thumbnailKey = timeOut ? timelog.getTimeOutThumbnailKey() : timelog.getTimeInThumbnailKey();
+            if (thumbnailKey != null) {
+                return thumbnailKey;
+            }
+        }
+        return timeOut ? timelog.getTimeOutPhotoKey() : timelog.getTimeInPhotoKey();
+    }
 
-        return timelogRepository.save(timelog);
+    // Start break
+    @Transactional
+    public Timelog startBreak(Users user) {
+        Timelog saved = timelogRepository.startBreak(user.getUserId(), LocalDateTime.now())
+                .orElseThrow(() -> startBreakRejected(user));
+        attendanceBoard.update(saved);
+        return saved;
     }
 
     // End break
+    @Transactional
     public Timelog endBreak(Users user) {
-        Optional<Timelog> activeTimelog = timelogRepository.findActiveTimelogByUser(user);
-        if (!activeTimelog.isPresent()) {
-            throw new RuntimeException("User is not currently on break");
-        }
+        Timelog saved = timelogRepository.endBreak(user.getUserId(), LocalDateTime.now())
+                .orElseThrow(() -> endBreakRejected(user));
+        attendanceBoard.update(saved);
+        return saved;
+    }
 
-        Timelog timelog = activeTimelog.get();
-        if (timelog.getStatus() != TimelogStatus.ON_BREAK) {
-            throw new RuntimeException("User is not currently on break");
+    // The conditional transitions only say "no row matched"; on that (rare) path look at the
+    // open timelog to tell the user why
+    private RuntimeException clockOutRejected(Users user) {
+        Optional<Timelog> active = timelogRepository.findActiveTimelogByUser(user);
+        if (active.isEmpty()) {
+            return new RuntimeException("User is not currently clocked in");
         }
+        return new RuntimeException("Cannot clock out without clocking in first");
+    }
 
-        if (timelog.getBreakTimeStart() == null) {
-            throw new RuntimeException("Cannot end break without starting break first");
+    private RuntimeException startBreakRejected(Users user) {
+        Optional<Timelog> active = timelogRepository.findActiveTimelogByUser(user);
+        if (active.isEmpty()) {
+            return new RuntimeException("User is not currently clocked in");
         }
+        if (active.get().getStatus() == TimelogStatus.ON_BREAK) {
+            return new RuntimeException("User is already on break");
+        }
+        return new RuntimeException("Cannot start break without clocking in first");
+    }
 
-        timelog.setBreakTimeEnd(LocalDateTime.now());
-        timelog.setStatus(TimelogStatus.CLOCKED_IN);
-        timelog.calculateBreakDuration();
-        timelog.setUpdatedDate(LocalDateTime.now());
-
-        return timelogRepository.save(timelog);
+    private RuntimeException endBreakRejected(Users user) {
+        Optional<Timelog> active = timelogRepository.findActiveTimelogByUser(user);
+        if (active.isEmpty() || active.get().getStatus() != TimelogStatus.ON_BREAK) {
+            return new RuntimeException("User is not currently on break");
+        }
+        return new RuntimeException("Cannot end break without starting break first");
     }
 
-    // Get current user status
+    // Get current user status. Read from the database, not the attendance board: the employee's
+    // clock-in/out buttons must reflect what the transitions will actually accept.
     public String getCurrentStatus(Users user) {
-        Optional<Timelog> activeTimelog = timelogRepository.findActiveTimelogByUser(user);
-        if (!activeTimelog.isPresent()) {
-            return "CLOCKED_OUT";
-        }
-        return activeTimelog.get().getStatus().toString();
+        return timelogRepository.findActiveTimelogByUser(user)
+                .map(timelog -> timelog.getStatus().toString())
+                .orElse("CLOCKED_OUT");
     }
 
     // Get current active timelog
@@ -150,13 +224,18 @@ public class TimelogService {
         return timelogRepository.findByUserOrderByLogDateDesc(user);
     }
 
-    // Calculate total worked hours for user in date range
+    // Calculate total worked hours for user in date range (rollup lookup when the range covers whole days)
     public Double calculateTotalWorkedHours(Users user, LocalDateTime startDate, LocalDateTime endDate) {
+        Optional<Double> fromRollups = rollupService.getHoursForRange(user.getUserId(), startDate, endDate);
+        if (fromRollups.isPresent()) {
+            return fromRollups.get();
+        }
         Double total = timelogRepository.calculateTotalWorkedHours(user, startDate, endDate);
         return total != null ? total : 0.0;
     }
 
     // HR Adjustment methods
+    @Transactional
     public Timelog adjustTimelog(Long timelogId, Users hrUser, LocalDateTime adjustedTimeIn, 
                                 LocalDateTime adjustedTimeOut, Long adjustedBreakDuration, String reason) {
 
@@ -181,7 +260,14 @@ public class TimelogService {
 
         timelog.updateTotalWorkedHours();
 
-        return timelogRepository.save(timelog);
+        try {
+            Timelog saved = timelogRepository.save(timelog);
+            refreshRollups(saved);
+            return saved;
+        } catch (ObjectOptimisticLockingFailureException e) {
+            // The employee clocked or took a break while the adjustment was being made
+            throw new RuntimeException("Timelog was changed by another request, please reload and try again");
+        }
     }
 
     // Check if user can adjust timelogs (HR or Admin with specific positions)
@@ -201,11 +287,6 @@ public class TimelogService {
         return false;
     }
 
-    // Get all timelogs
-    public List<Timelog> getAllTimelogs() {
-        return timelogRepository.findAllTimelogs();
-    }
-
     // Get adjusted timelogs
     public List<Timelog> getAdjustedTimelogs() {
         return timelogRepository.findAdjustedTimelogs();
@@ -217,13 +298,13 @@ public class TimelogService {
     }
 
     // Get users currently clocked in
-    public List<Users> getUsersCurrentlyClockedIn() {
-        return timelogRepository.findUsersCurrentlyClockedIn();
+    public List<AttendanceEntryDTO> getUsersCurrentlyClockedIn() {
+        return attendanceBoard.getUsersWithStatus(TimelogStatus.CLOCKED_IN);
     }
 
     // Get users currently on break
-    public List<Users> getUsersCurrentlyOnBreak() {
-        return timelogRepository.findUsersCurrentlyOnBreak();
+    public List<AttendanceEntryDTO> getUsersCurrentlyOnBreak() {
+        return attendanceBoard.getUsersWithStatus(TimelogStatus.ON_BREAK);
     }
 
     // Get timelogs for specific date
@@ -233,15 +314,43 @@ public class TimelogService {
 
     // Get monthly timelogs for user
     public List<Timelog> getMonthlyTimelogs(Users user, int year, int month) {
-        return timelogRepository.findTimelogsByUserAndMonth(user, year, month);
+        // Plain range on log_date so the (user_id, log_date) index applies
+        LocalDateTime monthStart = LocalDate.of(year, month, 1).atStartOfDay();
+        return timelogRepository.findTimelogsByUserAndDateRange(user, monthStart, monthStart.plusMonths(1).minusNanos(1));
+    }
+
+    // Worked hours of a calendar month, read from the monthly rollup
+    public double getMonthlyWorkedHours(Users user, int year, int month) {
+        return rollupService.getMonthlyHours(user.getUserId(), year, month);
+    }
+
+    // Recompute all worked-hours rollups from the raw timelogs (admin only)
+    public void rebuildWorkedHoursRollups(Users user) {
+        if (user.getRole() != Role.ADMIN) {
+            throw new RuntimeException("Only administrators can rebuild worked-hours rollups");
+        }
+        rollupService.rebuildAll();
     }
 
     // Delete timelog (admin only)
+    @Transactional
     public void deleteTimelog(Long timelogId, Users user) {
         if (user.getRole() != Role.ADMIN) {
             throw new RuntimeException("Only administrators can delete timelogs");
         }
+        Optional<Timelog> timelog = timelogRepository.findById(timelogId);
         timelogRepository.deleteById(timelogId);
+        timelog.ifPresent(this::refreshRollups);
+        attendanceBoard.removeTimelog(timelogId);
+    }
+
+    // Keep the worked-hours rollups of the timelog's day in step (caller must be in a transaction)
+    private void refreshRollups(Timelog timelog) {
+        if (timelog.getLogDate() == null) {
+            return;
+        }
+        timelogRepository.flush();
+        rollupService.refresh(timelog.getUser().getUserId(), timelog.getLogDate().toLocalDate());
     }
 
     // Get timelog by ID
@@ -251,99 +360,200 @@ public class TimelogService {
     }
 
 
-    public List<Timelog> getAllTimelogsWithSearch(String search, LocalDateTime startDate, LocalDateTime endDate) {
-        try {
-            List<Timelog> result;
-            
+    // One keyset page of the HR timelog listing, newest first
+    public CursorPageDTO<TimelogSummaryDTO> getAllTimelogsWithSearch(TimelogFilter filter, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        LocalDateTime afterLogDate = null;
+        Long afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                String[] parts = decodeCursor(cursor);
+                afterLogDate = LocalDateTime.parse(parts[0]);
+                afterId = Long.parseLong(parts[1]);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
 
-            if (search != null && !search.trim().isEmpty()) {
+        // Fetch one extra row to find out whether another page exists
+        List<TimelogSummaryDTO> rows = timelogRepository.findTimelogSummaries(filter, afterLogDate, afterId, pageSize + 1);
+        if (rows.size() <= pageSize) {
+            return new CursorPageDTO<>(rows, null);
+        }
 
-                if (startDate != null && endDate != null) {
+        List<TimelogSummaryDTO> items = new ArrayList<>(rows.subList(0, pageSize));
+        TimelogSummaryDTO last = items.get(items.size() - 1);
+        return new CursorPageDTO<>(items, encodeCursor(last.getLogDate() + "|" + last.getId()));
+    }
 
-                    result = timelogRepository.findTimelogsWithSearchAndDateRange(search.trim(), startDate, endDate);
-                } else if (startDate != null) {
+    // Stream timelogs as CSV straight to the given output. Rows come off a database cursor in
+    // batches of CSV_FETCH_SIZE, so memory stays flat no matter how wide the date range is.
+    @Transactional(readOnly = true)
+    public void writeTimelogsCSV(TimelogFilter filter, OutputStream output) throws IOException {
+        Writer csv = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        // CSV Header
+        csv.append("ID,Employee Name,Username,Date,Time In,Time Out,Break Start,Break End,Break Duration (mins),")
+           .append("Total Hours,Adjusted Time In,Adjusted Time Out,Adjusted Break Duration,")
+           .append("Adjustment Reason,Adjusted By,Adjustment Date,Status\n");
 
-                    result = timelogRepository.findTimelogsWithSearchAndStartDate(search.trim(), startDate);
-                } else if (endDate != null) {
+        // CSV Data
+        try (Stream<TimelogSummaryDTO> timelogs = timelogRepository.streamTimelogSummaries(filter, CSV_FETCH_SIZE)) {
+            Iterator<TimelogSummaryDTO> rows = timelogs.iterator();
+            while (rows.hasNext()) {
+                TimelogSummaryDTO timelog = rows.next();
+                csv.append(String.valueOf(timelog.getId())).append(",")
+                   .append(escapeCSV(timelog.getEmployeeName())).append(",")
+                   .append(escapeCSV(timelog.getUsername())).append(",")
+                   .append(timelog.getLogDate() != null ? timelog.getLogDate().toLocalDate().toString() : "").append(",")
+                   .append(valueOrEmpty(timelog.getTimeIn())).append(",")
+                   .append(valueOrEmpty(timelog.getTimeOut())).append(",")
+                   .append(valueOrEmpty(timelog.getBreakTimeStart())).append(",")
+                   .append(valueOrEmpty(timelog.getBreakTimeEnd())).append(",")
+                   .append(timelog.getBreakDurationMinutes() != null ? timelog.getBreakDurationMinutes().toString() : "0").append(",")
+                   .append(timelog.getTotalWorkedHours() != null ? timelog.getTotalWorkedHours().toString() : "0").append(",")
+                   .append(valueOrEmpty(timelog.getAdjustedTimeIn())).append(",")
+                   .append(valueOrEmpty(timelog.getAdjustedTimeOut())).append(",")
+                   .append(valueOrEmpty(timelog.getAdjustedBreakDurationMinutes())).append(",")
+                   .append(escapeCSV(timelog.getAdjustmentReason())).append(",")
+                   .append(escapeCSV(timelog.getAdjustedByUsername())).append(",")
+                   .append(valueOrEmpty(timelog.getAdjustmentDate())).append(",")
+                   .append(String.valueOf(timelog.getStatus())).append("\n");
+            }
+        }
+        csv.flush();
+    }
 
-                    result = timelogRepository.findTimelogsWithSearchAndEndDate(search.trim(), endDate);
-                } else {
+    private String valueOrEmpty(Object value) {
+        return value != null ? value.toString() : "";
+    }
 
-                    result = timelogRepository.findTimelogsBySearch(search.trim());
-                }
-            } 
+    // Cursors are opaque to clients: base64url of "logDate|id"
+    private String encodeCursor(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
 
-            else if (startDate != null || endDate != null) {
-                if (startDate != null && endDate != null) {
+    private String[] decodeCursor(String cursor) {
+        String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return parts;
+    }
 
-                    result = timelogRepository.findTimelogsByDateRange(startDate, endDate);
-                } else if (startDate != null) {
+    // Decode a base64 photo (optionally a data URL)
+    private InputStream decodePhoto(String photoBase64) {
+        String payload = photoBase64;
+        int comma = payload.indexOf(',');
+        if (payload.startsWith("data:") && comma >= 0) {
+            payload = payload.substring(comma + 1);
+        }
 
-                    result = timelogRepository.findTimelogsByStartDate(startDate);
-                } else {
+        try {
+            return new ByteArrayInputStream(Base64.getMimeDecoder().decode(payload));
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Photo is not valid base64 data");
+        }
+    }
 
-                    result = timelogRepository.findTimelogsByEndDate(endDate);
-                }
-            } 
+    // Downscale and re-encode a photo, then store the full-size and thumbnail variants.
+    // Empty or oversized uploads are rejected before they reach the image pipeline.
+    private StoredPhoto storePhoto(InputStream photo) {
+        SizeLimitedInputStream limited = null;
+        try {
+            InputStream in = new BufferedInputStream(photo);
+            in.mark(1);
+            if (in.read() == -1) {
+                throw new RuntimeException("Photo is empty");
+            }
+            in.reset();
+            limited = new SizeLimitedInputStream(in, maxPhotoBytes);
+
+            ImageProcessingService.ProcessedImage processed = imageProcessingService.process(limited);
+            String photoKey = photoStorageService.store(new ByteArrayInputStream(processed.getImage()));
+            String thumbnailKey = photoStorageService.store(new ByteArrayInputStream(processed.getThumbnail()));
+            return new StoredPhoto(photoKey, thumbnailKey);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to store photo", e);
+        } catch (RuntimeException e) {
+            // Image decoders wrap read errors, so check the limit explicitly
+            if (limited != null && limited.isExceeded()) {
+                throw new RuntimeException(new PhotoTooLargeException(maxPhotoBytes).getMessage(), e);
+            }
+            throw e;
+        }
+    }
 
-            else {
-                result = timelogRepository.findAllTimelogs();
+    // Remove the blobs of a rejected transition. Keys are content hashes, so the same bytes may belong
+    // to a timelog that won the race (a double tap sends the same photo twice); only unreferenced keys
+    // go. The winner has committed by then, since the losing statement waits on its row or index entry.
+    private void discardPhoto(StoredPhoto storedPhoto) {
+        for (String key : new String[] {storedPhoto.photoKey, storedPhoto.thumbnailKey}) {
+            try {
+                if (key != null && !timelogRepository.isPhotoKeyReferenced(key)) {
+                    photoStorageService.delete(key);
+                }
+            } catch (RuntimeException e) {
+                logger.warn("Could not discard photo {} of a rejected clock transition: {}", key, e.getMessage());
             }
-            
-            return result;
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to search timelogs: " + e.getMessage(), e);
         }
     }
 
-    // Generate CSV content for timelogs
-    public String generateTimelogsCSV(String search, LocalDateTime startDate, LocalDateTime endDate) {
-        List<Timelog> timelogs = getAllTimelogsWithSearch(search, startDate, endDate);
-        
-        StringBuilder csv = new StringBuilder();
-        // CSV Header
-        csv.append("ID,Employee Name,Username,Date,Time In,Time Out,Break Start,Break End,Break Duration (mins),")
-           .append("Total Hours,Adjusted Time In,Adjusted Time Out,Adjusted Break Duration,")
-           .append("Adjustment Reason,Adjusted By,Adjustment Date,Status\n");
-        
-        // CSV Data
-        for (Timelog timelog : timelogs) {
-            csv.append(timelog.getId()).append(",")
-               .append(escapeCSV(getEmployeeName(timelog.getUser()))).append(",")
-               .append(escapeCSV(timelog.getUser().getUsername())).append(",")
-               .append(timelog.getLogDate() != null ? timelog.getLogDate().toLocalDate() : "").append(",")
-               .append(timelog.getTimeIn() != null ? timelog.getTimeIn() : "").append(",")
-               .append(timelog.getTimeOut() != null ? timelog.getTimeOut() : "").append(",")
-               .append(timelog.getBreakTimeStart() != null ? timelog.getBreakTimeStart() : "").append(",")
-               .append(timelog.getBreakTimeEnd() != null ? timelog.getBreakTimeEnd() : "").append(",")
-               .append(timelog.getBreakDurationMinutes() != null ? timelog.getBreakDurationMinutes() : "0").append(",")
-               .append(timelog.getTotalWorkedHours() != null ? timelog.getTotalWorkedHours() : "0").append(",")
-               .append(timelog.getAdjustedTimeIn() != null ? timelog.getAdjustedTimeIn() : "").append(",")
-               .append(timelog.getAdjustedTimeOut() != null ? timelog.getAdjustedTimeOut() : "").append(",")
-               .append(timelog.getAdjustedBreakDurationMinutes() != null ? timelog.getAdjustedBreakDurationMinutes() : "").append(",")
-               .append(escapeCSV(timelog.getAdjustmentReason())).append(",")
-               .append(timelog.getAdjustedBy() != null ? escapeCSV(timelog.getAdjustedBy().getUsername()) : "").append(",")
-               .append(timelog.getAdjustmentDate() != null ? timelog.getAdjustmentDate() : "").append(",")
-               .append(timelog.getStatus()).append("\n");
-        }
-        
-        return csv.toString();
-    }
-
-    // Helper method to get employee name
-    private String getEmployeeName(Users user) {
-        if (user.getEmployeeDetails() != null) {
-            String firstName = user.getEmployeeDetails().getFirstName();
-            String lastName = user.getEmployeeDetails().getLastName();
-            if (firstName != null && lastName != null) {
-                return firstName + " " + lastName;
-            } else if (firstName != null) {
-                return firstName;
-            } else if (lastName != null) {
-                return lastName;
+    private static class StoredPhoto {
+        private final String photoKey;
+        private final String thumbnailKey;
+
+        StoredPhoto(String photoKey, String thumbnailKey) {
+            this.photoKey = photoKey;
+            this.thumbnailKey = thumbnailKey;
+        }
+    }
+
+    private static class PhotoTooLargeException extends IOException {
+        PhotoTooLargeException(long limit) {
+            super("Photo must be smaller than " + (limit / (1024 * 1024)) + "MB");
+        }
+    }
+
+    // Fails the read once more than `limit` bytes have gone through, so raw uploads stay bounded
+    private static class SizeLimitedInputStream extends FilterInputStream {
+        private final long limit;
+        private long count;
+        private boolean exceeded;
+
+        SizeLimitedInputStream(InputStream in, long limit) {
+            super(in);
+            this.limit = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                count(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count(n);
+            }
+            return n;
+        }
+
+        boolean isExceeded() {
+            return exceeded;
+        }
+
+        private void count(long n) throws IOException {
+            count += n;
+            if (count > limit) {
+                exceeded = true;
+                throw new PhotoTooLargeException(limit);
             }
         }
-        return user.getUsername();
     }
 
     // Helper method to escape CSV values
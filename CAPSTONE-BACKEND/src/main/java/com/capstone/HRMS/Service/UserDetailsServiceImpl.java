@@ -32,6 +32,10 @@ public class UserDetailsServiceImpl implements UserDetailsService {
         Users users = userOpt.orElseThrow(() ->
                 new UsernameNotFoundException("User not found with username: " + username));
 
+        return toUserDetails(users);
+    }
+
+    public static UserDetails toUserDetails(Users users) {
         return User.builder()
                 .username(users.getUsername())
                 .password(users.getPassword())
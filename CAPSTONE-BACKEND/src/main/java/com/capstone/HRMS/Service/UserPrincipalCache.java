@@ -0,0 +1,120 @@
+package com.capstone.HRMS.Service;
+
+import com.capstone.HRMS.Entity.Role;
+import com.capstone.HRMS.Entity.Users;
+import com.capstone.HRMS.Repository.UserRepo;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Bounded, TTL-evicting cache of authenticated users keyed by username, so resolving the caller
+// doesn't query the users table on every API call. Entries are immutable snapshots, never entities:
+// callers that need to write load the Users themselves. Anything that changes a user's account
+// (enable/disable, password, role) must call invalidate().
+@Service
+public class UserPrincipalCache {
+
+    // UsersService memoizes the authenticated Users of the current request under this attribute
+    public static final String CURRENT_USER_ATTRIBUTE = "com.capstone.HRMS.currentUser";
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Value("${app.user-cache.max-size:500}")
+    private int maxSize;
+
+    @Value("${app.user-cache.ttl-ms:30000}")
+    private long ttlMs;
+
+    // What the request path needs to know about the caller; safe to share between threads
+    public record UserSnapshot(long userId, String username, Role role, boolean enabled, int tokenVersion) {
+
+        static UserSnapshot of(Users user) {
+            return new UserSnapshot(user.getUserId(), user.getUsername(), user.getRole(), user.isEnabled(),
+                    user.getTokenVersion());
+        }
+    }
+
+    private record Entry(UserSnapshot user, long loadedAt) {
+    }
+
+    // Access-ordered, so the eldest entry is the least recently used one
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > maxSize;
+        }
+    };
+
+    // Bumped by every invalidation; a load that overlapped one is not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    public Optional<UserSnapshot> get(String username) {
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            Entry entry = entries.get(username);
+            if (entry != null) {
+                if (now - entry.loadedAt() < ttlMs) {
+                    return Optional.of(entry.user());
+                }
+                entries.remove(username);
+            }
+        }
+
+        // Load outside the lock so one slow query doesn't stall every request
+        long loadGeneration = generation.get();
+        Optional<UserSnapshot> loaded = userRepo.findByUsername(username).map(UserSnapshot::of);
+        loaded.ifPresent(user -> {
+            synchronized (entries) {
+                if (generation.get() == loadGeneration) {
+                    entries.put(username, new Entry(user, now));
+                }
+            }
+        });
+        return loaded;
+    }
+
+    // Drop the user now and again once the surrounding transaction commits, so a request that
+    // reloads in between can't cache the pre-commit state
+    public void invalidate(String username) {
+        if (username == null) {
+            return;
+        }
+        evict(username);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(username);
+                }
+            });
+        }
+    }
+
+    public void invalidate(Users user) {
+        if (user != null) {
+            invalidate(user.getUsername());
+        }
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    private void evict(String username) {
+        generation.incrementAndGet();
+        synchronized (entries) {
+            entries.remove(username);
+        }
+    }
+}
@@ -5,6 +5,10 @@ import com.capstone.HRMS.Entity.Users;
 import com.capstone.HRMS.Repository.UserRepo;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 import java.util.List;
 import java.util.Optional;
@@ -15,16 +19,51 @@ public class UsersService {
     @Autowired
     private UserRepo userRepo;
 
+    @Autowired
+    private UserPrincipalCache userPrincipalCache;
+
     public Users getUserById(Long id) {
         Optional<Users> user = userRepo.findById(id);
         return user.orElse(null);
     }
 
+    // Controllers look up the authenticated user on every call; that one is loaded by the id in its
+    // token at most once per request, so the entity is never shared between requests
     public Users getUserByUsername(String username) {
+        Users current = getCurrentRequestUser(username);
+        if (current != null) {
+            return current;
+        }
         Optional<Users> user = userRepo.findByUsername(username);
         return user.orElse(null);
     }
 
+    // Read-only view of a user (id, role, enabled) straight from the principal cache
+    public Optional<UserPrincipalCache.UserSnapshot> getPrincipal(String username) {
+        return userPrincipalCache.get(username);
+    }
+
+    private Users getCurrentRequestUser(String username) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        Object user = attributes.getAttribute(UserPrincipalCache.CURRENT_USER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (user instanceof Users users) {
+            return users.getUsername().equals(username) ? users : null;
+        }
+
+        Object claims = attributes.getAttribute(JwtService.TOKEN_CLAIMS_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (!(claims instanceof JwtService.TokenClaims tokenClaims) || !tokenClaims.username().equals(username)) {
+            return null;
+        }
+        Users resolved = userRepo.findById(tokenClaims.userId()).orElse(null);
+        if (resolved != null) {
+            attributes.setAttribute(UserPrincipalCache.CURRENT_USER_ATTRIBUTE, resolved, RequestAttributes.SCOPE_REQUEST);
+        }
+        return resolved;
+    }
+
     public List<Users> getAllUsers() {
         return userRepo.findAll();
     }
@@ -33,7 +72,44 @@ public class UsersService {
         return userRepo.findByRole(role);
     }
 
+    // Revoke every token issued to the user so far (disable, password or role change). Bumps
+    // Users.tokenVersion, which JwtFilter and the refresh endpoint compare against; the caller's
+    // transaction saves it together with the change that caused it.
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void revokeTokens(Users user) {
+        user.setTokenVersion(user.getTokenVersion() + 1);
+        userPrincipalCache.invalidate(user);
+    }
+
+    // Disabling also revokes outstanding tokens; both are written in one transaction
+    @Transactional
+    public Optional<Users> setEnabled(Long userId, boolean enabled) {
+        Optional<Users> userOpt = userRepo.findById(userId);
+        userOpt.ifPresent(user -> {
+            user.setEnabled(enabled);
+            if (!enabled) {
+                revokeTokens(user);
+            }
+            userRepo.save(user);
+            userPrincipalCache.invalidate(user);
+        });
+        return userOpt;
+    }
+
+    // Tokens carry the role, so a changed role revokes them and the next refresh picks up the new one
+    @Transactional
+    public Optional<Users> changeRole(Long userId, Role role) {
+        Optional<Users> userOpt = userRepo.findById(userId);
+        userOpt.filter(user -> user.getRole() != role).ifPresent(user -> {
+            user.setRole(role);
+            revokeTokens(user);
+            userRepo.save(user);
+        });
+        return userOpt;
+    }
+
     public Users saveUser(Users user) {
+        userPrincipalCache.invalidate(user);
         return userRepo.save(user);
     }
 
@@ -42,6 +118,7 @@ public class UsersService {
     }
 
     public void deleteUser(Long id) {
+        userRepo.findById(id).ifPresent(userPrincipalCache::invalidate);
         userRepo.deleteById(id);
     }
 }
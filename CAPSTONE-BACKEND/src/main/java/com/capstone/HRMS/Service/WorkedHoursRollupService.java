@@ -0,0 +1,95 @@
+package com.capstone.HRMS.Service;
+
+import com.capstone.HRMS.Entity.RollupPeriod;
+import com.capstone.HRMS.Entity.WorkedHoursRollup;
+import com.capstone.HRMS.Repository.TimelogRepository;
+import com.capstone.HRMS.Repository.WorkedHoursRollupRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Optional;
+
+// Keeps worked_hours_rollup in step with the timelog table. A change to one timelog only
+// touches three rows: its user's DAY, the WEEK containing it and the MONTH containing it.
+@Service
+public class WorkedHoursRollupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(WorkedHoursRollupService.class);
+
+    @Autowired
+    private WorkedHoursRollupRepository rollupRepository;
+
+    @Autowired
+    private TimelogRepository timelogRepository;
+
+    // Recompute the rollups for one user's day. Joins the caller's transaction so the
+    // aggregates commit (or roll back) together with the timelog change.
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void refresh(long userId, LocalDate day) {
+        rollupRepository.upsertDay(userId, day, day.atStartOfDay(), day.plusDays(1).atStartOfDay());
+
+        LocalDate weekStart = day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        rollupRepository.upsertFromDays(userId, RollupPeriod.WEEK.name(), weekStart, weekStart.plusWeeks(1));
+
+        LocalDate monthStart = day.withDayOfMonth(1);
+        rollupRepository.upsertFromDays(userId, RollupPeriod.MONTH.name(), monthStart, monthStart.plusMonths(1));
+    }
+
+    // Throw everything away and recompute from the raw timelogs (backfills, repairs)
+    @Transactional
+    public void rebuildAll() {
+        long started = System.currentTimeMillis();
+        rollupRepository.deleteAllRollups();
+        int days = rollupRepository.rebuildDays();
+        int weeks = rollupRepository.rebuildWeeks();
+        int months = rollupRepository.rebuildMonths();
+        logger.info("Rebuilt worked-hours rollups ({} days, {} weeks, {} months) in {} ms",
+                days, weeks, months, System.currentTimeMillis() - started);
+    }
+
+    // First start with the rollup table in place: backfill it from existing timelogs
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        try {
+            if (rollupRepository.count() == 0 && timelogRepository.count() > 0) {
+                rebuildAll();
+            }
+        } catch (Exception e) {
+            logger.error("Worked-hours rollup backfill failed", e);
+        }
+    }
+
+    public double getHours(long userId, RollupPeriod period, LocalDate periodStart) {
+        Optional<WorkedHoursRollup> rollup = rollupRepository.findByUserIdAndPeriodAndPeriodStart(userId, period, periodStart);
+        return rollup.map(WorkedHoursRollup::getTotalHours).orElse(0.0);
+    }
+
+    public double getMonthlyHours(long userId, int year, int month) {
+        return getHours(userId, RollupPeriod.MONTH, LocalDate.of(year, month, 1));
+    }
+
+    // Answers a range query from the rollups when it covers whole days; empty otherwise
+    public Optional<Double> getHoursForRange(long userId, LocalDateTime startDate, LocalDateTime endDate) {
+        if (!startDate.toLocalTime().equals(LocalTime.MIDNIGHT) || endDate.toLocalTime().isBefore(LocalTime.of(23, 59, 59))) {
+            return Optional.empty();
+        }
+
+        LocalDate startDay = startDate.toLocalDate();
+        LocalDate endDay = endDate.toLocalDate();
+        if (startDay.getDayOfMonth() == 1 && endDay.equals(startDay.with(TemporalAdjusters.lastDayOfMonth()))) {
+            return Optional.of(getHours(userId, RollupPeriod.MONTH, startDay));
+        }
+        return Optional.of(rollupRepository.sumDailyHours(userId, startDay, endDay));
+    }
+}
@@ -0,0 +1,116 @@
+package com.capstone.HRMS.Config;
+
+import com.capstone.HRMS.Service.RateLimitRule;
+import com.capstone.HRMS.Service.RateLimiter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RateLimitInterceptorTest {
+
+    private final RateLimiter rateLimiter = mock(RateLimiter.class);
+
+    private final RateLimitInterceptor interceptor = new RateLimitInterceptor(100, 60, 3, 1, 5, 1);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(interceptor, "rateLimiter", rateLimiter);
+        ReflectionTestUtils.setField(interceptor, "forwardedForHops", 1);
+    }
+
+    @Test
+    void loginIsLimitedPerClientAddress() throws Exception {
+        when(rateLimiter.tryAcquire(any(), anyString())).thenReturn(true);
+        MockHttpServletRequest request = post("/hr/login");
+
+        assertThat(interceptor.preHandle(request, new MockHttpServletResponse(), null)).isTrue();
+
+        ArgumentCaptor<RateLimitRule> rule = ArgumentCaptor.forClass(RateLimitRule.class);
+        verify(rateLimiter).tryAcquire(rule.capture(), any());
+        assertThat(rule.getValue().name()).isEqualTo("login");
+        assertThat(rule.getValue().capacity()).isEqualTo(100);
+        assertThat(request.getAttribute(RateLimiter.CLIENT_ADDRESS_ATTRIBUTE)).isEqualTo("192.0.2.10");
+    }
+
+    @Test
+    void emptyBucketAnswers429WithRetryAfter() throws Exception {
+        when(rateLimiter.tryAcquire(any(), anyString())).thenReturn(false);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThat(interceptor.preHandle(post("/auth/forgot-password"), response, null)).isFalse();
+        assertThat(response.getStatus()).isEqualTo(429);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("60");
+    }
+
+    @Test
+    void preflightsAndOtherPathsSpendNoTokens() throws Exception {
+        MockHttpServletRequest options = post("/hr/login");
+        options.setMethod("OPTIONS");
+
+        assertThat(interceptor.preHandle(options, new MockHttpServletResponse(), null)).isTrue();
+        assertThat(interceptor.preHandle(post("/hr/users"), new MockHttpServletResponse(), null)).isTrue();
+        verify(rateLimiter, never()).tryAcquire(any(), anyString());
+    }
+
+    @Test
+    void forwardedForIsOnlyHonouredWhenTrusted() {
+        MockHttpServletRequest request = post("/hr/login");
+        request.addHeader("X-Forwarded-For", "203.0.113.7, 10.0.0.1");
+
+        assertThat(interceptor.clientAddress(request)).isEqualTo("192.0.2.10");
+
+        ReflectionTestUtils.setField(interceptor, "trustForwardedFor", true);
+        assertThat(interceptor.clientAddress(request)).isEqualTo("10.0.0.1");
+    }
+
+    @Test
+    void clientsBehindTheProxyGetTheirOwnBuckets() throws Exception {
+        ReflectionTestUtils.setField(interceptor, "trustForwardedFor", true);
+        when(rateLimiter.tryAcquire(any(), anyString())).thenReturn(true);
+
+        interceptor.preHandle(proxied("198.51.100.4"), new MockHttpServletResponse(), null);
+        interceptor.preHandle(proxied("198.51.100.5"), new MockHttpServletResponse(), null);
+
+        verify(rateLimiter).tryAcquire(any(), eq("198.51.100.4"));
+        verify(rateLimiter).tryAcquire(any(), eq("198.51.100.5"));
+        verify(rateLimiter, never()).tryAcquire(any(), eq("10.0.0.1"));
+    }
+
+    @Test
+    void forgedForwardedForEntriesAreIgnored() {
+        ReflectionTestUtils.setField(interceptor, "trustForwardedFor", true);
+
+        // The client sent "X-Forwarded-For: 1.2.3.4"; the proxy appended the real address
+        assertThat(interceptor.clientAddress(proxied("1.2.3.4, 198.51.100.4"))).isEqualTo("198.51.100.4");
+
+        ReflectionTestUtils.setField(interceptor, "forwardedForHops", 2);
+        assertThat(interceptor.clientAddress(proxied("1.2.3.4, 198.51.100.4, 172.16.0.9"))).isEqualTo("198.51.100.4");
+    }
+
+    // As seen behind Render's proxy: the socket peer is the proxy and the client is in the header
+    private MockHttpServletRequest proxied(String forwardedFor) {
+        MockHttpServletRequest request = post("/auth/login");
+        request.setRemoteAddr("10.0.0.1");
+        request.addHeader("X-Forwarded-For", forwardedFor);
+        return request;
+    }
+
+    private MockHttpServletRequest post(String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        request.setServletPath(path);
+        request.setRemoteAddr("192.0.2.10");
+        return request;
+    }
+}
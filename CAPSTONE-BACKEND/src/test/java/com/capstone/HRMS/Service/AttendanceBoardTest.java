@@ -0,0 +1,116 @@
+package com.capstone.HRMS.Service;
+
+import com.capstone.HRMS.DTO.AttendanceEntryDTO;
+import com.capstone.HRMS.Entity.Timelog;
+import com.capstone.HRMS.Entity.TimelogStatus;
+import com.capstone.HRMS.Entity.Users;
+import com.capstone.HRMS.Repository.TimelogRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class AttendanceBoardTest {
+
+    private static final LocalDateTime NINE = LocalDateTime.of(2026, 3, 2, 9, 0);
+
+    @Mock
+    private TimelogRepository timelogRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private AttendanceBoard attendanceBoard;
+
+    @Test
+    void rebuildPublishesOnlyTheEntriesItChanged() {
+        when(timelogRepository.findActiveAttendanceEntries()).thenReturn(List.of(entry(1L, 10L), entry(2L, 20L)));
+        attendanceBoard.rebuild();
+        clearInvocations(eventPublisher);
+
+        // User 2 clocked out on another node; user 3 clocked in there
+        when(timelogRepository.findActiveAttendanceEntries()).thenReturn(List.of(entry(1L, 10L), entry(3L, 30L)));
+        attendanceBoard.rebuild();
+
+        ArgumentCaptor<AttendanceChangedEvent> events = ArgumentCaptor.forClass(AttendanceChangedEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        assertThat(events.getAllValues())
+                .extracting(AttendanceChangedEvent::getUserId, AttendanceChangedEvent::getStatus)
+                .containsExactlyInAnyOrder(
+                        tuple(2L, TimelogStatus.CLOCKED_OUT),
+                        tuple(3L, TimelogStatus.CLOCKED_IN));
+        assertThat(attendanceBoard.getAllEntries()).extracting(AttendanceEntryDTO::getUserId).containsExactlyInAnyOrder(1L, 3L);
+    }
+
+    @Test
+    void unchangedRebuildPublishesNothing() {
+        when(timelogRepository.findActiveAttendanceEntries()).thenReturn(List.of(entry(1L, 10L)));
+        attendanceBoard.rebuild();
+        clearInvocations(eventPublisher);
+
+        attendanceBoard.rebuild();
+
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void clockOutDuringRebuildIsNotOverwrittenByTheOlderSnapshot() {
+        when(timelogRepository.findActiveAttendanceEntries()).thenReturn(List.of(entry(1L, 10L)));
+        attendanceBoard.rebuild();
+
+        // The snapshot is read, then the clock-out commits before the rebuild applies it
+        when(timelogRepository.findActiveAttendanceEntries()).thenAnswer(invocation -> {
+            List<AttendanceEntryDTO> snapshot = List.of(entry(1L, 10L));
+            attendanceBoard.update(clockedOut(1L, 10L));
+            return snapshot;
+        });
+        attendanceBoard.rebuild();
+
+        assertThat(attendanceBoard.getAllEntries()).isEmpty();
+    }
+
+    @Test
+    void laterRebuildStillRepairsTheUser() {
+        attendanceBoard.update(clockedOut(1L, 10L));
+
+        when(timelogRepository.findActiveAttendanceEntries()).thenReturn(List.of(entry(1L, 11L)));
+        attendanceBoard.rebuild();
+
+        assertThat(attendanceBoard.getAllEntries()).extracting(AttendanceEntryDTO::getTimelogId).containsExactly(11L);
+    }
+
+    private static AttendanceEntryDTO entry(long userId, long timelogId) {
+        return new AttendanceEntryDTO(userId, "user" + userId, "First", "Last", "Developer",
+                TimelogStatus.CLOCKED_IN, timelogId, NINE);
+    }
+
+    private static Timelog clockedOut(long userId, long timelogId) {
+        Users user = new Users();
+        user.setUserId(userId);
+        Timelog timelog = new Timelog();
+        timelog.setId(timelogId);
+        timelog.setUser(user);
+        timelog.setStatus(TimelogStatus.CLOCKED_OUT);
+        return timelog;
+    }
+}
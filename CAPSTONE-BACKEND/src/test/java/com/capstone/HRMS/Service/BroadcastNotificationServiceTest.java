@@ -0,0 +1,147 @@
+package com.capstone.HRMS.Service;
+
+import com.capstone.HRMS.Entity.BroadcastNotification;
+import com.capstone.HRMS.Entity.BroadcastReceipt;
+import com.capstone.HRMS.Entity.BroadcastWatermark;
+import com.capstone.HRMS.Entity.Notification;
+import com.capstone.HRMS.Entity.NotificationType;
+import com.capstone.HRMS.Entity.Users;
+import com.capstone.HRMS.Repository.BroadcastNotificationRepository;
+import com.capstone.HRMS.Repository.BroadcastReceiptRepository;
+import com.capstone.HRMS.Repository.BroadcastWatermarkRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class BroadcastNotificationServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 3, 1, 9, 0);
+
+    @Mock
+    private BroadcastNotificationRepository broadcastRepository;
+
+    @Mock
+    private BroadcastReceiptRepository receiptRepository;
+
+    @Mock
+    private BroadcastWatermarkRepository watermarkRepository;
+
+    @Mock
+    private NotificationUnreadCounter unreadCounter;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private BroadcastNotificationService broadcastNotificationService;
+
+    private final Users user = new Users();
+
+    @BeforeEach
+    void setUp() {
+        user.setUserId(7L);
+        when(watermarkRepository.findById(7L)).thenReturn(Optional.of(new BroadcastWatermark(7L, 10L)));
+    }
+
+    @Test
+    void readStateFoldsWatermarkAndReceipts() {
+        List<BroadcastNotification> broadcasts = List.of(broadcast(13), broadcast(12), broadcast(11), broadcast(10));
+        when(receiptRepository.findByUserIdAndBroadcastIdIn(eq(7L), any()))
+                .thenReturn(List.of(receipt(12, false), receipt(11, true)));
+
+        List<Notification> inbox = broadcastNotificationService.withReadState(broadcasts, user, 10L);
+
+        // 13: above the watermark, no receipt; 12: read receipt; 11: dismissed; 10: under the watermark
+        assertThat(inbox).extracting(Notification::getNotificationId).containsExactly(-13L, -12L, -10L);
+        assertThat(inbox).extracting(Notification::getRead).containsExactly(false, true, true);
+    }
+
+    @Test
+    void receiptsAreOnlyLoadedForThePage() {
+        broadcastNotificationService.withReadState(List.of(broadcast(13), broadcast(12)), user, 0L);
+
+        verify(receiptRepository).findByUserIdAndBroadcastIdIn(7L, List.of(13L, 12L));
+    }
+
+    @Test
+    void emptyPageSkipsTheReceiptQuery() {
+        assertThat(broadcastNotificationService.withReadState(List.of(), user, 0L)).isEmpty();
+        verify(receiptRepository, never()).findByUserIdAndBroadcastIdIn(anyLong(), any());
+    }
+
+    @Test
+    void firstPageIsBoundedAndUsesTheWatermark() {
+        when(broadcastRepository.findInboxPage(eq(7L), eq(10L), eq(true), any(Pageable.class))).thenReturn(List.of());
+
+        broadcastNotificationService.getInboxPage(user, true, null, 0, 21);
+
+        verify(broadcastRepository).findInboxPage(7L, 10L, true, PageRequest.of(0, 21));
+    }
+
+    @Test
+    void inboxCursorIsTranslatedToBroadcastIds() {
+        when(broadcastRepository.findInboxPageAfter(anyLong(), anyLong(), eq(false), any(), anyLong(), any(Pageable.class)))
+                .thenReturn(List.of());
+
+        // Cursor on a broadcast row (inbox id -12): the next broadcasts at that instant have ids above 12
+        broadcastNotificationService.getInboxPage(user, false, NOW, -12L, 21);
+        verify(broadcastRepository).findInboxPageAfter(eq(7L), eq(10L), eq(false), eq(NOW), eq(12L), any(Pageable.class));
+
+        // Cursor on a personal row: every broadcast at that instant sorts after it
+        broadcastNotificationService.getInboxPage(user, false, NOW, 40L, 21);
+        verify(broadcastRepository).findInboxPageAfter(eq(7L), eq(10L), eq(false), eq(NOW), eq(-40L), any(Pageable.class));
+    }
+
+    @Test
+    void newAccountsStartAtTheNewestBroadcast() {
+        when(broadcastRepository.findMaxId()).thenReturn(42L);
+
+        broadcastNotificationService.startAtLatest(user);
+
+        verify(watermarkRepository).advance(7L, 42L);
+    }
+
+    @Test
+    void noBroadcastsMeansNoWatermarkRow() {
+        when(broadcastRepository.findMaxId()).thenReturn(0L);
+
+        broadcastNotificationService.startAtLatest(user);
+
+        verify(watermarkRepository, never()).advance(anyLong(), anyLong());
+    }
+
+    private BroadcastNotification broadcast(long id) {
+        BroadcastNotification broadcast = new BroadcastNotification("Title " + id, "Message", NotificationType.GENERAL, null);
+        broadcast.setId(id);
+        broadcast.setCreatedAt(NOW.minusMinutes(id));
+        return broadcast;
+    }
+
+    private BroadcastReceipt receipt(long broadcastId, boolean dismissed) {
+        BroadcastReceipt receipt = new BroadcastReceipt(7L, broadcastId);
+        receipt.setDismissed(dismissed);
+        return receipt;
+    }
+}
@@ -0,0 +1,121 @@
+package com.capstone.HRMS.Service;
+
+import com.capstone.HRMS.Entity.OutboundEmail;
+import com.capstone.HRMS.Repository.OutboundEmailRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class EmailOutboxDispatcherTest {
+
+    @Mock
+    private OutboundEmailRepository outboundEmailRepository;
+
+    @Mock
+    private EmailTransport emailTransport;
+
+    @InjectMocks
+    private EmailOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(dispatcher, "maxAttempts", 3);
+        ReflectionTestUtils.setField(dispatcher, "backoffBaseSeconds", 30L);
+        ReflectionTestUtils.setField(dispatcher, "backoffMaxSeconds", 3600L);
+    }
+
+    @Test
+    void backoffDoublesPerAttemptWithBoundedJitter() {
+        assertThat(dispatcher.backoffSeconds(1)).isBetween(30L, 36L);
+        assertThat(dispatcher.backoffSeconds(2)).isBetween(60L, 72L);
+        assertThat(dispatcher.backoffSeconds(4)).isBetween(240L, 288L);
+    }
+
+    @Test
+    void backoffIsCappedEvenForLargeAttemptCounts() {
+        assertThat(dispatcher.backoffSeconds(8)).isBetween(3600L, 4320L);
+        assertThat(dispatcher.backoffSeconds(64)).isBetween(3600L, 4320L);
+    }
+
+    @Test
+    void deliveredEmailIsMarkedSent() throws Exception {
+        OutboundEmail email = email(null);
+
+        dispatcher.deliver(email);
+
+        verify(emailTransport).send("ana@example.com", "Subject", "Body");
+        verify(outboundEmailRepository).markSent(eq(1L), any());
+    }
+
+    @Test
+    void failureBelowMaxAttemptsIsRetriedLater() throws Exception {
+        OutboundEmail email = email(null);
+        doThrow(new RuntimeException("provider down")).when(emailTransport).send(anyString(), anyString(), anyString());
+
+        LocalDateTime before = LocalDateTime.now();
+        dispatcher.deliver(email);
+
+        ArgumentCaptor<LocalDateTime> next = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(outboundEmailRepository).markRetry(eq(1L), eq(1), next.capture(), eq("provider down"));
+        assertThat(next.getValue()).isAfterOrEqualTo(before.plusSeconds(30));
+        verify(outboundEmailRepository, never()).markDead(anyLong(), anyInt(), anyString());
+    }
+
+    @Test
+    void lastAttemptFailureIsDeadLettered() throws Exception {
+        OutboundEmail email = email(null);
+        email.setAttempts(2);
+        doThrow(new RuntimeException("provider down")).when(emailTransport).send(anyString(), anyString(), anyString());
+
+        dispatcher.deliver(email);
+
+        verify(outboundEmailRepository).markDead(1L, 3, "provider down");
+        verify(outboundEmailRepository, never()).markRetry(anyLong(), anyInt(), any(), anyString());
+    }
+
+    @Test
+    void expiredEmailIsDeadLetteredWithoutSending() throws Exception {
+        OutboundEmail email = email(LocalDateTime.now().minusSeconds(1));
+
+        dispatcher.deliver(email);
+
+        verify(emailTransport, never()).send(anyString(), anyString(), anyString());
+        verify(outboundEmailRepository).markDead(eq(1L), eq(0), startsWith("Expired"));
+    }
+
+    @Test
+    void failureWhoseRetryWouldLandAfterExpiryIsDeadLettered() throws Exception {
+        OutboundEmail email = email(LocalDateTime.now().plusSeconds(10));
+        doThrow(new RuntimeException("provider down")).when(emailTransport).send(anyString(), anyString(), anyString());
+
+        dispatcher.deliver(email);
+
+        verify(outboundEmailRepository).markDead(eq(1L), eq(1), startsWith("Expires before the next attempt"));
+        verify(outboundEmailRepository, never()).markRetry(anyLong(), anyInt(), any(), anyString());
+    }
+
+    private OutboundEmail email(LocalDateTime expiresAt) {
+        OutboundEmail email = new OutboundEmail("ana@example.com", "Subject", "Body", expiresAt);
+        email.setId(1L);
+        return email;
+    }
+}
@@ -0,0 +1,98 @@
+package com.capstone.HRMS.Service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileSystemPhotoStorageServiceTest {
+
+    @TempDir
+    Path root;
+
+    private FileSystemPhotoStorageService store;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        store = new FileSystemPhotoStorageService(root.toString(), true);
+    }
+
+    @Test
+    void storeReturnsSha256KeyAndFansOutByPrefix() throws IOException {
+        String key = store.store(stream("photo"));
+
+        assertThat(PhotoStorageService.isValidKey(key)).isTrue();
+        assertThat(key).isEqualTo(sha256Hex("photo"));
+        assertThat(root.resolve(key.substring(0, 2)).resolve(key)).isRegularFile();
+    }
+
+    @Test
+    void identicalContentIsStoredOnce() throws IOException {
+        String first = store.store(stream("photo"));
+        String second = store.store(stream("photo"));
+
+        assertThat(second).isEqualTo(first);
+        try (Stream<Path> files = Files.walk(root)) {
+            assertThat(files.filter(Files::isRegularFile)).hasSize(1);
+        }
+    }
+
+    @Test
+    void loadReturnsStoredBytes() throws IOException {
+        String key = store.store(stream("photo"));
+
+        Optional<Resource> loaded = store.load(key);
+
+        assertThat(loaded).isPresent();
+        try (InputStream in = loaded.get().getInputStream()) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("photo");
+        }
+        assertThat(store.exists(key)).isTrue();
+    }
+
+    @Test
+    void deleteRemovesThePhoto() throws IOException {
+        String key = store.store(stream("photo"));
+
+        store.delete(key);
+
+        assertThat(store.exists(key)).isFalse();
+        assertThat(store.load(key)).isEmpty();
+    }
+
+    @Test
+    void malformedKeysNeverTouchTheFilesystem() {
+        assertThat(store.load("../../etc/passwd")).isEmpty();
+        assertThat(store.exists("ABC")).isFalse();
+        assertThat(store.load(null)).isEmpty();
+        store.delete("../outside");
+        assertThat(PhotoStorageService.isValidKey(sha256Hex("photo").toUpperCase())).isFalse();
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String sha256Hex(String content) {
+        try {
+            return HexFormat.of().formatHex(
+                    MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.capstone.HRMS.Service;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.image.BufferedImage;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImageProcessingServiceTest {
+
+    @Test
+    void parsesOrientationFromBigAndLittleEndianExif() {
+        assertThat(ImageProcessingService.parseExifOrientation(exif(ByteOrder.BIG_ENDIAN, 6))).isEqualTo(6);
+        assertThat(ImageProcessingService.parseExifOrientation(exif(ByteOrder.LITTLE_ENDIAN, 8))).isEqualTo(8);
+    }
+
+    @Test
+    void missingOrMalformedExifMeansUpright() {
+        assertThat(ImageProcessingService.parseExifOrientation(null)).isEqualTo(1);
+        assertThat(ImageProcessingService.parseExifOrientation(new byte[] {'E', 'x', 'i', 'f'})).isEqualTo(1);
+        assertThat(ImageProcessingService.parseExifOrientation(exif(ByteOrder.BIG_ENDIAN, 42))).isEqualTo(1);
+    }
+
+    @Test
+    void clockwiseOrientationRotatesPortraitPhotosUpright() {
+        // 3x2 landscape buffer as stored by the camera; orientation 6 means "turn clockwise to view"
+        BufferedImage stored = image(3, 2);
+
+        BufferedImage upright = ImageProcessingService.applyOrientation(stored, 6);
+
+        assertThat(upright.getWidth()).isEqualTo(2);
+        assertThat(upright.getHeight()).isEqualTo(3);
+        // The stored bottom-left pixel ends up top-left, the stored top-left ends up top-right
+        assertThat(upright.getRGB(0, 0)).isEqualTo(stored.getRGB(0, 1));
+        assertThat(upright.getRGB(1, 0)).isEqualTo(stored.getRGB(0, 0));
+        assertThat(upright.getRGB(1, 2)).isEqualTo(stored.getRGB(2, 0));
+    }
+
+    @Test
+    void counterClockwiseAndUpsideDownOrientations() {
+        BufferedImage stored = image(3, 2);
+
+        BufferedImage ccw = ImageProcessingService.applyOrientation(stored, 8);
+        assertThat(ccw.getWidth()).isEqualTo(2);
+        assertThat(ccw.getRGB(0, 2)).isEqualTo(stored.getRGB(0, 0));
+
+        BufferedImage flipped = ImageProcessingService.applyOrientation(stored, 3);
+        assertThat(flipped.getWidth()).isEqualTo(3);
+        assertThat(flipped.getRGB(2, 1)).isEqualTo(stored.getRGB(0, 0));
+    }
+
+    @Test
+    void uprightImagesAreReturnedAsIs() {
+        BufferedImage stored = image(3, 2);
+
+        assertThat(ImageProcessingService.applyOrientation(stored, 1)).isSameAs(stored);
+    }
+
+    // Every pixel gets a distinct opaque color so positions can be traced after the transform
+    private static BufferedImage image(int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                image.setRGB(x, y, 0xFF000000 | (x * 40) << 16 | (y * 40) << 8 | 0x11);
+            }
+        }
+        return image;
+    }
+
+    // "Exif\0\0" + TIFF header + IFD0 with a single orientation entry
+    private static byte[] exif(ByteOrder order, int orientation) {
+        ByteBuffer buffer = ByteBuffer.allocate(6 + 8 + 2 + 12 + 4).order(order);
+        buffer.put(new byte[] {'E', 'x', 'i', 'f', 0, 0});
+        buffer.put(order == ByteOrder.LITTLE_ENDIAN ? new byte[] {'I', 'I'} : new byte[] {'M', 'M'});
+        buffer.putShort((short) 42);
+        buffer.putInt(8);
+        buffer.putShort((short) 1);
+        buffer.putShort((short) 0x0112);
+        buffer.putShort((short) 3);
+        buffer.putInt(1);
+        buffer.putShort((short) orientation);
+        buffer.putShort((short) 0);
+        buffer.putInt(0);
+        return buffer.array();
+    }
+}
@@ -0,0 +1,68 @@
+package com.capstone.HRMS.Service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryRateLimiterTest {
+
+    // Refills one token a minute, so nothing comes back while a test runs
+    private static final RateLimitRule RULE = RateLimitRule.perMinute("login", 3, 1);
+
+    private final InMemoryRateLimiter rateLimiter = new InMemoryRateLimiter();
+
+    @Test
+    void allowsABurstUpToCapacityThenRejects() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(rateLimiter.tryAcquire(RULE, "10.0.0.1")).isTrue();
+        }
+        assertThat(rateLimiter.tryAcquire(RULE, "10.0.0.1")).isFalse();
+    }
+
+    @Test
+    void keysAndRulesHaveSeparateBuckets() {
+        RateLimitRule accountRule = RateLimitRule.perMinute("login-account", 1, 1);
+        assertThat(rateLimiter.tryAcquire(accountRule, "10.0.0.1|alice")).isTrue();
+        assertThat(rateLimiter.tryAcquire(accountRule, "10.0.0.1|alice")).isFalse();
+
+        assertThat(rateLimiter.tryAcquire(accountRule, "10.0.0.1|bob")).isTrue();
+        assertThat(rateLimiter.tryAcquire(accountRule, "10.0.0.2|alice")).isTrue();
+        assertThat(rateLimiter.tryAcquire(RULE, "10.0.0.1|alice")).isTrue();
+    }
+
+    @Test
+    void refillsAtTheConfiguredRate() throws InterruptedException {
+        RateLimitRule fast = new RateLimitRule("fast", 1, 50);
+        assertThat(rateLimiter.tryAcquire(fast, "k")).isTrue();
+        assertThat(rateLimiter.tryAcquire(fast, "k")).isFalse();
+
+        Thread.sleep(60);
+        assertThat(rateLimiter.tryAcquire(fast, "k")).isTrue();
+    }
+
+    @Test
+    void idleBucketsAreEvictedFull() {
+        ReflectionTestUtils.setField(rateLimiter, "idleEvictionSeconds", 0L);
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.tryAcquire(RULE, "10.0.0.1");
+        }
+
+        rateLimiter.evictIdleBuckets();
+
+        assertThat(rateLimiter.tryAcquire(RULE, "10.0.0.1")).isTrue();
+    }
+
+    @Test
+    void retryAfterIsAtLeastOneSecond() {
+        assertThat(RULE.secondsPerToken()).isEqualTo(60);
+        assertThat(new RateLimitRule("fast", 1, 50).secondsPerToken()).isEqualTo(1);
+    }
+
+    @Test
+    void accountKeyNormalizesTheUsername() {
+        assertThat(AuthService.accountKey("10.0.0.1", "  Alice ")).isEqualTo("10.0.0.1|alice");
+        assertThat(AuthService.accountKey(null, "bob")).isEqualTo("unknown|bob");
+        assertThat(AuthService.accountKey("10.0.0.1", "x".repeat(300))).hasSize("10.0.0.1|".length() + 100);
+    }
+}
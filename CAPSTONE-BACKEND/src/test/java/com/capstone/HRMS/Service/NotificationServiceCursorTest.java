@@ -0,0 +1,145 @@
+package com.capstone.HRMS.Service;
+
+import com.capstone.HRMS.DTO.CursorPageDTO;
+import com.capstone.HRMS.DTO.NotificationDTO;
+import com.capstone.HRMS.Entity.Notification;
+import com.capstone.HRMS.Entity.NotificationType;
+import com.capstone.HRMS.Entity.Users;
+import com.capstone.HRMS.Repository.NotificationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class NotificationServiceCursorTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 3, 1, 9, 0);
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private BroadcastNotificationService broadcastNotificationService;
+
+    @InjectMocks
+    private NotificationService notificationService;
+
+    private final Users user = new Users();
+
+    @BeforeEach
+    void setUp() {
+        user.setUserId(7L);
+        when(broadcastNotificationService.getInboxPage(any(), anyBoolean(), any(), anyLong(), anyInt()))
+                .thenReturn(List.of());
+    }
+
+    @Test
+    void pageMergesPersonalAndBroadcastRowsNewestFirst() {
+        when(notificationRepository.findInboxPage(eq(7L), any())).thenReturn(List.of(
+                personal(12L, NOW), personal(11L, NOW.minusMinutes(2))));
+        when(broadcastNotificationService.getInboxPage(user, false, null, 0, 4)).thenReturn(List.of(
+                broadcast(3L, NOW), broadcast(2L, NOW.minusMinutes(1))));
+
+        CursorPageDTO<NotificationDTO> page = notificationService.getInboxPage(user, false, null, 3);
+
+        assertThat(page.getItems()).extracting(NotificationDTO::getNotificationId).containsExactly(12L, -3L, -2L);
+        assertThat(page.isHasMore()).isTrue();
+        verify(notificationRepository).findInboxPage(7L, PageRequest.of(0, 4));
+    }
+
+    @Test
+    void nextCursorSeeksBothSourcesPastTheLastRow() {
+        when(notificationRepository.findInboxPage(eq(7L), any())).thenReturn(List.of(
+                personal(12L, NOW), personal(11L, NOW.minusMinutes(2))));
+        when(broadcastNotificationService.getInboxPage(user, false, null, 0, 3)).thenReturn(List.of(
+                broadcast(3L, NOW)));
+
+        String cursor = notificationService.getInboxPage(user, false, null, 2).getNextCursor();
+        notificationService.getInboxPage(user, false, cursor, 2);
+
+        verify(notificationRepository).findInboxPageAfter(7L, NOW, -3L, PageRequest.of(0, 3));
+        verify(broadcastNotificationService).getInboxPage(user, false, NOW, -3L, 3);
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        when(notificationRepository.findUnreadInboxPage(eq(7L), any())).thenReturn(List.of(personal(12L, NOW)));
+
+        CursorPageDTO<NotificationDTO> page = notificationService.getInboxPage(user, true, null, 20);
+
+        assertThat(page.getItems()).hasSize(1);
+        assertThat(page.getNextCursor()).isNull();
+        verify(broadcastNotificationService).getInboxPage(eq(user), eq(true), isNull(), eq(0L), eq(21));
+    }
+
+    @Test
+    void pageSizeIsCapped() {
+        notificationService.getInboxPage(user, false, null, 10_000);
+
+        verify(notificationRepository).findInboxPage(7L, PageRequest.of(0, 101));
+    }
+
+    @Test
+    void malformedCursorIsRejected() {
+        assertThatThrownBy(() -> notificationService.getInboxPage(user, false, "not-a-cursor", 20))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+    }
+
+    @Test
+    void fullListIsBoundedToTheFirstPage() {
+        notificationService.getNotificationsByUser(user);
+
+        verify(notificationRepository).findInboxPage(7L, PageRequest.of(0, 101));
+        verify(broadcastNotificationService).getInboxPage(user, false, null, 0, 101);
+    }
+
+    @Test
+    void allNotificationsArePagedWithTheirRecipient() {
+        when(notificationRepository.findAllPage(any())).thenReturn(List.of(
+                new NotificationDTO(12L, "t", "m", NotificationType.GENERAL, false, NOW, null, 7L),
+                new NotificationDTO(11L, "t", "m", NotificationType.GENERAL, false, NOW.minusMinutes(1), null, 8L),
+                new NotificationDTO(10L, "t", "m", NotificationType.GENERAL, false, NOW.minusMinutes(2), null, 9L)));
+
+        CursorPageDTO<NotificationDTO> page = notificationService.getAllNotificationsPage(null, 2);
+        notificationService.getAllNotificationsPage(page.getNextCursor(), 500);
+
+        assertThat(page.getItems()).extracting(NotificationDTO::getUserId).containsExactly(7L, 8L);
+        verify(notificationRepository).findAllPage(PageRequest.of(0, 3));
+        verify(notificationRepository).findAllPageAfter(NOW.minusMinutes(1), 11L, PageRequest.of(0, 101));
+    }
+
+    private static NotificationDTO personal(long id, LocalDateTime createdAt) {
+        return new NotificationDTO(id, "Personal " + id, "message", NotificationType.GENERAL, false, createdAt, null);
+    }
+
+    private static Notification broadcast(long broadcastId, LocalDateTime createdAt) {
+        Notification notification = new Notification();
+        notification.setNotificationId(-broadcastId);
+        notification.setTitle("Broadcast " + broadcastId);
+        notification.setType(NotificationType.ANNOUNCEMENT);
+        notification.setCreatedAt(createdAt);
+        return notification;
+    }
+}
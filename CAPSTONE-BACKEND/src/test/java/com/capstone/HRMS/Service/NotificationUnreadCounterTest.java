@@ -0,0 +1,125 @@
+package com.capstone.HRMS.Service;
+
+import com.capstone.HRMS.Entity.Role;
+import com.capstone.HRMS.Entity.Users;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NotificationUnreadCounterTest {
+
+    private NotificationUnreadCounter counter;
+
+    private final AtomicInteger recounts = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        counter = new NotificationUnreadCounter();
+        ReflectionTestUtils.setField(counter, "reconcileMs", 900_000L);
+    }
+
+    @Test
+    void cachedCountIsServedWithoutRecounting() {
+        Users user = user(1L, Role.EMPLOYEE);
+
+        assertThat(counter.get(user, u -> recount(3))).isEqualTo(3);
+        assertThat(counter.get(user, u -> recount(99))).isEqualTo(3);
+        assertThat(recounts).hasValue(1);
+    }
+
+    @Test
+    void incrementsUpdateOnlyTheAffectedEntries() {
+        Users employee = user(1L, Role.EMPLOYEE);
+        Users hr = user(2L, Role.HR);
+        counter.get(employee, u -> recount(1));
+        counter.get(hr, u -> recount(1));
+
+        counter.increment(1L);
+        counter.incrementRole(Role.HR);
+        counter.incrementAll();
+
+        assertThat(counter.get(employee, u -> recount(99))).isEqualTo(3);
+        assertThat(counter.get(hr, u -> recount(99))).isEqualTo(3);
+        assertThat(recounts).hasValue(2);
+    }
+
+    @Test
+    void invalidateForcesARecount() {
+        Users user = user(1L, Role.EMPLOYEE);
+        counter.get(user, u -> recount(2));
+
+        counter.invalidate(1L);
+
+        assertThat(counter.get(user, u -> recount(0))).isZero();
+        assertThat(recounts).hasValue(2);
+    }
+
+    @Test
+    void recountOverlappingAChangeForTheSameUserIsNotCached() {
+        Users user = user(1L, Role.EMPLOYEE);
+
+        long count = counter.get(user, u -> {
+            counter.increment(1L);
+            return recount(4);
+        });
+
+        assertThat(count).isEqualTo(4);
+        assertThat(counter.get(user, u -> recount(5))).isEqualTo(5);
+        assertThat(recounts).hasValue(2);
+    }
+
+    @Test
+    void recountOverlappingAnotherUsersChangeIsStillCached() {
+        Users user = user(1L, Role.EMPLOYEE);
+
+        counter.get(user, u -> {
+            counter.invalidate(2L);
+            counter.incrementRole(Role.HR);
+            return recount(4);
+        });
+
+        assertThat(counter.get(user, u -> recount(99))).isEqualTo(4);
+        assertThat(recounts).hasValue(1);
+    }
+
+    @Test
+    void recountOverlappingABroadcastIsNotCached() {
+        Users user = user(1L, Role.EMPLOYEE);
+
+        counter.get(user, u -> {
+            counter.incrementAll();
+            return recount(4);
+        });
+
+        assertThat(counter.get(user, u -> recount(5))).isEqualTo(5);
+        assertThat(recounts).hasValue(2);
+    }
+
+    @Test
+    void entriesOlderThanTheReconcileIntervalAreRecounted() {
+        Users user = user(1L, Role.EMPLOYEE);
+        counter.get(user, u -> recount(2));
+
+        ReflectionTestUtils.setField(counter, "reconcileMs", 0L);
+        counter.evictStale();
+
+        assertThat(counter.get(user, u -> recount(7))).isEqualTo(7);
+        assertThat(recounts).hasValue(2);
+    }
+
+    private long recount(long value) {
+        recounts.incrementAndGet();
+        return value;
+    }
+
+    private static Users user(long userId, Role role) {
+        Users user = new Users();
+        user.setUserId(userId);
+        user.setRole(role);
+        return user;
+    }
+}
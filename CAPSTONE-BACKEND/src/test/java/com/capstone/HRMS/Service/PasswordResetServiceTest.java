@@ -0,0 +1,211 @@
+package com.capstone.HRMS.Service;
+
+import com.capstone.HRMS.Entity.EmployeeDetails;
+import com.capstone.HRMS.Entity.PasswordResetToken;
+import com.capstone.HRMS.Entity.Users;
+import com.capstone.HRMS.Repository.PasswordResetTokenRepository;
+import com.capstone.HRMS.Repository.UserRepo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class PasswordResetServiceTest {
+
+    @Mock
+    private PasswordResetTokenRepository tokenRepository;
+
+    @Mock
+    private UserRepo userRepository;
+
+    @Mock
+    private EmailService emailService;
+
+    @Mock
+    private UserPrincipalCache userPrincipalCache;
+
+    @Mock
+    private UsersService usersService;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private RateLimiter rateLimiter;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private PasswordResetService passwordResetService;
+
+    @BeforeEach
+    void setUp() {
+        when(rateLimiter.tryAcquire(any(), anyString())).thenReturn(true);
+        when(userRepository.findByUsername(anyString())).thenReturn(Optional.empty());
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        // Run the queued reset work inline
+        ReflectionTestUtils.setField(passwordResetService, "resetExecutor", (Executor) Runnable::run);
+    }
+
+    @Test
+    void requestThreadDoesTheSameWorkForKnownAndUnknownIdentifiers() {
+        List<Runnable> queued = new ArrayList<>();
+        ReflectionTestUtils.setField(passwordResetService, "resetExecutor", (Executor) queued::add);
+        when(userRepository.findAllByEmailNormalized("ana@example.com")).thenReturn(List.of(user(1L, "ana@example.com")));
+
+        assertThat(passwordResetService.initiatePasswordReset("ana@example.com")).isTrue();
+        assertThat(passwordResetService.initiatePasswordReset("nobody@example.com")).isTrue();
+
+        assertThat(queued).hasSize(2);
+        verifyNoInteractions(userRepository, tokenRepository, emailService);
+
+        queued.forEach(Runnable::run);
+        verify(emailService).sendPasswordResetEmail(eq("ana@example.com"), anyString(), eq("Ana"), any());
+    }
+
+    @Test
+    void fullQueueAnswersLikeTheRateLimit() {
+        ReflectionTestUtils.setField(passwordResetService, "resetExecutor", (Executor) task -> {
+            throw new RejectedExecutionException();
+        });
+
+        assertThatThrownBy(() -> passwordResetService.initiatePasswordReset("ana@example.com"))
+                .hasMessage("Too many password reset requests. Please wait before trying again.");
+    }
+
+    @Test
+    void resetByEmailIsSentToTheSingleOwner() {
+        when(userRepository.findAllByEmailNormalized("ana@example.com")).thenReturn(List.of(user(1L, "Ana@Example.com")));
+
+        assertThat(passwordResetService.initiatePasswordReset(" Ana@Example.com ")).isTrue();
+
+        verify(tokenRepository).save(any(PasswordResetToken.class));
+        verify(emailService).sendPasswordResetEmail(eq("Ana@Example.com"), anyString(), eq("Ana"), any());
+    }
+
+    @Test
+    void sharedEmailMatchesNobodyButAnswersTheSame() {
+        when(userRepository.findAllByEmailNormalized("team@example.com"))
+                .thenReturn(List.of(user(1L, "team@example.com"), user(2L, "TEAM@example.com")));
+
+        assertThat(passwordResetService.initiatePasswordReset("team@example.com")).isTrue();
+
+        verify(tokenRepository, never()).save(any());
+        verify(emailService, never()).sendPasswordResetEmail(anyString(), anyString(), anyString(), any());
+    }
+
+    @Test
+    void issuedTokenIsSelectorDotVerifierAndValidates() {
+        String token = issueToken();
+
+        assertThat(token).matches("[A-Za-z0-9_-]{16}\\.[A-Za-z0-9_-]{43}");
+        assertThat(passwordResetService.validateResetToken(token)).isTrue();
+    }
+
+    @Test
+    void wrongVerifierForAKnownSelectorIsRejected() {
+        String token = issueToken();
+        String forged = token.substring(0, 17) + Base64.getUrlEncoder().withoutPadding().encodeToString(new byte[32]);
+
+        assertThat(passwordResetService.validateResetToken(forged)).isFalse();
+    }
+
+    @Test
+    void usedOrExpiredTokensAreRejected() {
+        String token = issueToken();
+        PasswordResetToken saved = savedToken();
+
+        saved.setExpiresAt(LocalDateTime.now().minusSeconds(1));
+        assertThat(passwordResetService.validateResetToken(token)).isFalse();
+
+        saved.setExpiresAt(LocalDateTime.now().plusMinutes(5));
+        saved.markAsUsed();
+        assertThat(passwordResetService.validateResetToken(token)).isFalse();
+    }
+
+    @Test
+    void malformedTokensNeverReachTheDatabase() {
+        String verifier = Base64.getUrlEncoder().withoutPadding().encodeToString(new byte[32]);
+        List<String> malformed = List.of(
+                "",
+                "legacy-single-part-token",
+                "short." + verifier,
+                "abcdefghijklmnopq." + verifier,
+                "abcdefghijklmnop." + verifier + ".extra",
+                "abcdefghijklmnop.not*base64",
+                "abcdefghijklmnop." + Base64.getUrlEncoder().withoutPadding().encodeToString(new byte[16]));
+
+        for (String token : malformed) {
+            assertThat(passwordResetService.validateResetToken(token)).as(token).isFalse();
+        }
+        assertThat(passwordResetService.validateResetToken(null)).isFalse();
+        verify(tokenRepository, never()).findBySelector(anyString());
+    }
+
+    @Test
+    void resetWithAMalformedTokenFails() {
+        assertThatThrownBy(() -> passwordResetService.resetPassword("nope", "Str0ng!Pass", "Str0ng!Pass"))
+                .hasMessage("Invalid or expired reset token");
+        verify(tokenRepository, never()).findBySelectorForUpdate(anyString());
+    }
+
+    // Runs a forgot-password request and wires the stored token back into the repository mock
+    private String issueToken() {
+        when(userRepository.findAllByEmailNormalized("ana@example.com")).thenReturn(List.of(user(1L, "ana@example.com")));
+        passwordResetService.initiatePasswordReset("ana@example.com");
+
+        ArgumentCaptor<String> token = ArgumentCaptor.forClass(String.class);
+        verify(emailService).sendPasswordResetEmail(anyString(), token.capture(), anyString(), any());
+        PasswordResetToken saved = savedToken();
+        when(tokenRepository.findBySelector(saved.getSelector())).thenReturn(Optional.of(saved));
+        return token.getValue();
+    }
+
+    private PasswordResetToken savedToken() {
+        ArgumentCaptor<PasswordResetToken> saved = ArgumentCaptor.forClass(PasswordResetToken.class);
+        verify(tokenRepository).save(saved.capture());
+        return saved.getValue();
+    }
+
+    private Users user(long id, String email) {
+        Users user = new Users();
+        user.setUserId(id);
+        user.setUsername("user" + id);
+        EmployeeDetails details = new EmployeeDetails();
+        details.setEmail(email);
+        details.setFirstName("Ana");
+        details.setUser(user);
+        return user;
+    }
+}
@@ -0,0 +1,127 @@
+package com.capstone.HRMS.Service;
+
+import com.capstone.HRMS.Entity.RefreshToken;
+import com.capstone.HRMS.Entity.Users;
+import com.capstone.HRMS.Repository.RefreshTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class RefreshTokenServiceTest {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Mock
+    private JwtService jwtService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private RefreshTokenService refreshTokenService;
+
+    private final Users user = new Users();
+
+    private RefreshToken presented;
+
+    @BeforeEach
+    void setUp() {
+        user.setUserId(7L);
+        ReflectionTestUtils.setField(refreshTokenService, "refreshTokenDays", 14L);
+        ReflectionTestUtils.setField(refreshTokenService, "reuseGraceSeconds", 10L);
+
+        presented = new RefreshToken("hash", "family-1", user, LocalDateTime.now().plusDays(1));
+        when(refreshTokenRepository.findByTokenHashForUpdate(anyString())).thenReturn(Optional.of(presented));
+        when(refreshTokenRepository.save(any(RefreshToken.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(jwtService.generateToken(user)).thenReturn("access");
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    void rotationMarksTheTokenUsedAndIssuesASuccessor() {
+        RefreshTokenService.TokenPair tokens = refreshTokenService.rotate("raw");
+
+        assertThat(tokens.accessToken()).isEqualTo("access");
+        assertThat(tokens.refreshToken()).isNotBlank().isNotEqualTo("raw");
+        assertThat(presented.getUsedAt()).isNotNull();
+        verify(refreshTokenRepository).save(any(RefreshToken.class));
+    }
+
+    @Test
+    void duplicateWithinGraceGetsTheSameSuccessor() {
+        RefreshTokenService.TokenPair first = refreshTokenService.rotate("raw");
+        RefreshTokenService.TokenPair second = refreshTokenService.rotate("raw");
+
+        assertThat(second.refreshToken()).isEqualTo(first.refreshToken());
+        verify(refreshTokenRepository, times(1)).save(any(RefreshToken.class));
+        verify(refreshTokenRepository, never()).revokeFamily(anyString(), any());
+    }
+
+    @Test
+    void duplicateWithinGraceFromAnotherNodeIsRefusedWithoutRevoking() {
+        presented.setUsedAt(LocalDateTime.now().minusSeconds(2));
+
+        assertThatThrownBy(() -> refreshTokenService.rotate("raw"))
+                .hasMessage("Refresh token was already exchanged");
+        verify(refreshTokenRepository, never()).revokeFamily(anyString(), any());
+    }
+
+    @Test
+    void reuseAfterGraceRevokesTheChain() {
+        presented.setUsedAt(LocalDateTime.now().minusMinutes(1));
+
+        assertThatThrownBy(() -> refreshTokenService.rotate("raw"))
+                .hasMessage("Refresh token has been revoked");
+        verify(refreshTokenRepository).revokeFamily(any(), any());
+    }
+
+    @Test
+    void revokedTokenIsRejected() {
+        presented.setRevokedAt(LocalDateTime.now());
+
+        assertThatThrownBy(() -> refreshTokenService.rotate("raw"))
+                .hasMessage("Refresh token has been revoked");
+        verify(refreshTokenRepository, never()).save(any(RefreshToken.class));
+    }
+
+    @Test
+    void tokenVersionBumpRevokesTheChain() {
+        user.setTokenVersion(1);
+
+        assertThatThrownBy(() -> refreshTokenService.rotate("raw"))
+                .hasMessage("Refresh token has been revoked");
+        verify(refreshTokenRepository).revokeFamily(any(), any());
+    }
+
+    @Test
+    void graceWindowIsInclusiveOfItsEnd() {
+        LocalDateTime now = LocalDateTime.now();
+
+        assertThat(refreshTokenService.withinGrace(now.minusSeconds(10), now)).isTrue();
+        assertThat(refreshTokenService.withinGrace(now.minusSeconds(11), now)).isFalse();
+    }
+}
@@ -0,0 +1,85 @@
+package com.capstone.HRMS.Service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class TimelogPhotoMigrationServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private PhotoStorageService photoStorageService;
+
+    @InjectMocks
+    private TimelogPhotoMigrationService migrationService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Connection connection = mock(Connection.class);
+        DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+        ResultSet columns = mock(ResultSet.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.getMetaData()).thenReturn(metaData);
+        when(metaData.getColumns(any(), any(), eq("timelog"), eq("time_in_photo"))).thenReturn(columns);
+        when(columns.next()).thenReturn(true);
+    }
+
+    @Test
+    void nonPersistentStoreLeavesLegacyPhotosInPlace() throws Exception {
+        when(photoStorageService.isDurable()).thenReturn(false);
+
+        migrationService.migrateLegacyPhotos();
+
+        verifyNoInteractions(jdbcTemplate);
+        verify(photoStorageService, never()).store(any());
+    }
+
+    @Test
+    void persistentStoreMovesPhotosAndClearsTheColumns() throws Exception {
+        Map<String, Object> row = new HashMap<>();
+        row.put("id", 5L);
+        row.put("time_in_photo", Base64.getEncoder().encodeToString("photo".getBytes()));
+        row.put("time_out_photo", null);
+        when(photoStorageService.isDurable()).thenReturn(true);
+        when(photoStorageService.store(any(InputStream.class))).thenReturn("key");
+        when(jdbcTemplate.queryForList(anyString(), eq(0L), any())).thenReturn(List.of(row));
+        when(jdbcTemplate.queryForList(anyString(), eq(5L), any())).thenReturn(List.of());
+
+        migrationService.migrateLegacyPhotos();
+
+        verify(jdbcTemplate).update(anyString(), eq("key"), isNull(), eq(5L));
+    }
+}
@@ -0,0 +1,92 @@
+package com.capstone.HRMS.Service;
+
+import com.capstone.HRMS.DTO.CursorPageDTO;
+import com.capstone.HRMS.DTO.TimelogFilter;
+import com.capstone.HRMS.DTO.TimelogSummaryDTO;
+import com.capstone.HRMS.Entity.TimelogStatus;
+import com.capstone.HRMS.Repository.TimelogRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TimelogServiceCursorTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2026, 3, 2, 0, 0);
+
+    @Mock
+    private TimelogRepository timelogRepository;
+
+    @InjectMocks
+    private TimelogService timelogService;
+
+    private final TimelogFilter filter = new TimelogFilter();
+
+    @Test
+    void fullPageReturnsCursorOfLastItem() {
+        when(timelogRepository.findTimelogSummaries(filter, null, null, 3))
+                .thenReturn(List.of(summary(30, DAY), summary(20, DAY), summary(10, DAY.minusDays(1))));
+
+        CursorPageDTO<TimelogSummaryDTO> page = timelogService.getAllTimelogsWithSearch(filter, null, 2);
+
+        assertThat(page.getItems()).extracting(TimelogSummaryDTO::getId).containsExactly(30L, 20L);
+        assertThat(page.isHasMore()).isTrue();
+        assertThat(page.getNextCursor()).isNotBlank();
+    }
+
+    @Test
+    void nextCursorResumesAfterTheLastItem() {
+        when(timelogRepository.findTimelogSummaries(filter, null, null, 3))
+                .thenReturn(List.of(summary(30, DAY), summary(20, DAY), summary(10, DAY.minusDays(1))));
+        String cursor = timelogService.getAllTimelogsWithSearch(filter, null, 2).getNextCursor();
+        when(timelogRepository.findTimelogSummaries(filter, DAY, 20L, 3))
+                .thenReturn(List.of(summary(10, DAY.minusDays(1))));
+
+        CursorPageDTO<TimelogSummaryDTO> next = timelogService.getAllTimelogsWithSearch(filter, cursor, 2);
+
+        assertThat(next.getItems()).extracting(TimelogSummaryDTO::getId).containsExactly(10L);
+        assertThat(next.isHasMore()).isFalse();
+        assertThat(next.getNextCursor()).isNull();
+    }
+
+    @Test
+    void pageSizeIsClamped() {
+        when(timelogRepository.findTimelogSummaries(eq(filter), isNull(), isNull(), anyInt())).thenReturn(List.of());
+
+        timelogService.getAllTimelogsWithSearch(filter, null, 10_000);
+        timelogService.getAllTimelogsWithSearch(filter, null, 0);
+
+        verify(timelogRepository).findTimelogSummaries(filter, null, null, 201);
+        verify(timelogRepository).findTimelogSummaries(filter, null, null, 2);
+    }
+
+    @Test
+    void malformedCursorIsRejectedBeforeQuerying() {
+        assertThatThrownBy(() -> timelogService.getAllTimelogsWithSearch(filter, "not a cursor!", 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> timelogService.getAllTimelogsWithSearch(filter, "b25seW9uZXBhcnQ", 10))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        verifyNoInteractions(timelogRepository);
+    }
+
+    private static TimelogSummaryDTO summary(long id, LocalDateTime logDate) {
+        return new TimelogSummaryDTO(id, 1L, "jdoe", "Jane", "Doe", "Operations", logDate,
+                logDate.plusHours(8), null, null, null, null, null, null, null, null, null, null, null,
+                TimelogStatus.CLOCKED_IN, null, null);
+    }
+}
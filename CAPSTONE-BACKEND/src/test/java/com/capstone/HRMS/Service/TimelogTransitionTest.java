@@ -0,0 +1,186 @@
+package com.capstone.HRMS.Service;
+
+import com.capstone.HRMS.Entity.Timelog;
+import com.capstone.HRMS.Entity.TimelogStatus;
+import com.capstone.HRMS.Entity.Users;
+import com.capstone.HRMS.Repository.TimelogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// The clock transitions are single conditional statements; these cover how the service maps
+// their outcomes (row returned, no row, unique-index violation) to results and errors
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class TimelogTransitionTest {
+
+    private static final String KEY = "a".repeat(64);
+
+    @Mock
+    private TimelogRepository timelogRepository;
+
+    @Mock
+    private PhotoStorageService photoStorageService;
+
+    @Mock
+    private ImageProcessingService imageProcessingService;
+
+    @Mock
+    private AttendanceBoard attendanceBoard;
+
+    @Mock
+    private WorkedHoursRollupService rollupService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private TimelogService timelogService;
+
+    private final Users user = new Users();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        user.setUserId(7L);
+        ReflectionTestUtils.setField(timelogService, "maxPhotoBytes", 1024L);
+        when(imageProcessingService.process(any(InputStream.class)))
+                .thenReturn(new ImageProcessingService.ProcessedImage(new byte[] {1}, new byte[] {2}));
+        when(photoStorageService.store(any(InputStream.class))).thenReturn(KEY);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    void clockInReturnsTheOpenedTimelog() {
+        Timelog opened = timelog(TimelogStatus.CLOCKED_IN);
+        when(timelogRepository.clockIn(eq(7L), any(), any(), any(), eq(KEY), eq(KEY))).thenReturn(Optional.of(opened));
+
+        assertThat(timelogService.clockIn(user, photo())).isSameAs(opened);
+        verify(attendanceBoard).update(opened);
+    }
+
+    @Test
+    void clockInMatchingNoRowMeansAlreadyClockedIn() {
+        when(timelogRepository.clockIn(eq(7L), any(), any(), any(), any(), any())).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> timelogService.clockIn(user, photo()))
+                .hasMessage("User is already clocked in or on break");
+        verify(attendanceBoard, never()).update(any());
+    }
+
+    @Test
+    void clockInRacingAnotherOpenTimelogHitsTheUniqueIndex() {
+        when(timelogRepository.clockIn(eq(7L), any(), any(), any(), any(), any()))
+                .thenThrow(new DataIntegrityViolationException("uk_timelog_active_user"));
+
+        assertThatThrownBy(() -> timelogService.clockIn(user, photo()))
+                .hasMessage("User is already clocked in or on break");
+    }
+
+    @Test
+    void clockOutWithoutOpenTimelogIsRejected() {
+        when(timelogRepository.clockOut(eq(7L), any(), any(), any())).thenReturn(Optional.empty());
+        when(timelogRepository.findActiveTimelogByUser(user)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> timelogService.clockOut(user, photo()))
+                .hasMessage("User is not currently clocked in");
+        verify(attendanceBoard, never()).update(any());
+        verify(imageProcessingService, never()).process(any(InputStream.class));
+    }
+
+    @Test
+    void clockInWhileClockedInSkipsThePhotoPipeline() throws IOException {
+        when(timelogRepository.findActiveTimelogByUser(user)).thenReturn(Optional.of(timelog(TimelogStatus.CLOCKED_IN)));
+
+        assertThatThrownBy(() -> timelogService.clockIn(user, photo()))
+                .hasMessage("User is already clocked in or on break");
+        verify(imageProcessingService, never()).process(any(InputStream.class));
+        verify(photoStorageService, never()).store(any(InputStream.class));
+    }
+
+    @Test
+    void rejectedTransitionDeletesItsUnreferencedPhotos() {
+        when(timelogRepository.clockIn(eq(7L), any(), any(), any(), any(), any())).thenReturn(Optional.empty());
+        when(timelogRepository.isPhotoKeyReferenced(KEY)).thenReturn(false);
+
+        assertThatThrownBy(() -> timelogService.clockIn(user, photo()));
+        verify(photoStorageService, times(2)).delete(KEY);
+    }
+
+    @Test
+    void rejectedTransitionKeepsPhotosTheWinnerReferences() {
+        when(timelogRepository.clockIn(eq(7L), any(), any(), any(), any(), any()))
+                .thenThrow(new DataIntegrityViolationException("uk_timelog_active_user"));
+        when(timelogRepository.isPhotoKeyReferenced(KEY)).thenReturn(true);
+
+        assertThatThrownBy(() -> timelogService.clockIn(user, photo()));
+        verify(photoStorageService, never()).delete(any());
+    }
+
+    @Test
+    void clockOutRefreshesRollupsForTheClosedDay() {
+        Timelog closed = timelog(TimelogStatus.CLOCKED_OUT);
+        when(timelogRepository.findActiveTimelogByUser(user)).thenReturn(Optional.of(timelog(TimelogStatus.CLOCKED_IN)));
+        when(timelogRepository.clockOut(eq(7L), any(), eq(KEY), eq(KEY))).thenReturn(Optional.of(closed));
+
+        assertThat(timelogService.clockOut(user, photo())).isSameAs(closed);
+        verify(rollupService).refresh(7L, closed.getLogDate().toLocalDate());
+        verify(attendanceBoard).update(closed);
+    }
+
+    @Test
+    void breakTransitionsExplainWhyNoRowMatched() {
+        when(timelogRepository.startBreak(anyLong(), any())).thenReturn(Optional.empty());
+        when(timelogRepository.endBreak(anyLong(), any())).thenReturn(Optional.empty());
+        when(timelogRepository.findActiveTimelogByUser(user)).thenReturn(Optional.of(timelog(TimelogStatus.ON_BREAK)));
+
+        assertThatThrownBy(() -> timelogService.startBreak(user)).hasMessage("User is already on break");
+
+        when(timelogRepository.findActiveTimelogByUser(user)).thenReturn(Optional.of(timelog(TimelogStatus.CLOCKED_IN)));
+        assertThatThrownBy(() -> timelogService.endBreak(user)).hasMessage("User is not currently on break");
+    }
+
+    @Test
+    void emptyPhotoIsRejectedBeforeAnyTransition() {
+        assertThatThrownBy(() -> timelogService.clockIn(user, new ByteArrayInputStream(new byte[0])))
+                .hasMessage("Photo is empty");
+        verify(timelogRepository, never()).clockIn(anyLong(), any(), any(), any(), any(), any());
+    }
+
+    private Timelog timelog(TimelogStatus status) {
+        Timelog timelog = new Timelog();
+        timelog.setUser(user);
+        timelog.setStatus(status);
+        timelog.setLogDate(LocalDateTime.of(2026, 3, 2, 8, 0));
+        return timelog;
+    }
+
+    private static InputStream photo() {
+        return new ByteArrayInputStream(new byte[] {(byte) 0xFF, (byte) 0xD8, 1, 2, 3});
+    }
+}
@@ -1,18 +1,11 @@
 import axios from 'axios';
+import { withSession } from './session';
 
 const API = axios.create({
   baseURL: import.meta.env.VITE_API_BASE_URL_ADMIN || 'http://localhost:8080/admin'
 });
 
-API.interceptors.request.use((config) => {
-  const token = localStorage.getItem('token');
-
-  if (token) {
-    config.headers.Authorization = `Bearer ${token}`;
-  }
-
-  return config;
-});
+withSession(API);
 
 // Admin Authentication
 export const adminLogin = async (loginData) => {
@@ -0,0 +1,89 @@
+import { refreshAccessToken } from './session';
+
+// Minimal Server-Sent Events client built on fetch, so the bearer token can be sent
+// (the browser's EventSource can't set an Authorization header).
+// Reconnects with backoff until close() is called.
+export const openEventStream = (path, onEvent, { lastEventId } = {}) => {
+  let controller = null;
+  let closed = false;
+  let retryDelay = 1000;
+  let resumeId = lastEventId;
+
+  const dispatch = (block) => {
+    let event = 'message';
+    let id = null;
+    const data = [];
+    block.split('\n').forEach((line) => {
+      if (!line || line.startsWith(':')) return;
+      const sep = line.indexOf(':');
+      const field = sep === -1 ? line : line.slice(0, sep);
+      const value = sep === -1 ? '' : line.slice(sep + 1).replace(/^ /, '');
+      if (field === 'event') event = value;
+      else if (field === 'data') data.push(value);
+      else if (field === 'id') id = value;
+    });
+    if (id !== null) resumeId = id;
+    if (data.length === 0) return;
+    try {
+      onEvent(event, JSON.parse(data.join('\n')), id);
+    } catch (err) {
+      console.error('Could not handle stream event', event, err);
+    }
+  };
+
+  const connect = async () => {
+    controller = new AbortController();
+    const headers = { Accept: 'text/event-stream' };
+    const token = localStorage.getItem('token');
+    if (token) headers.Authorization = `Bearer ${token}`;
+    if (resumeId) headers['Last-Event-ID'] = resumeId;
+
+    try {
+      const res = await fetch(`${import.meta.env.VITE_API_BASE_URL}${path}`, {
+        headers,
+        signal: controller.signal
+      });
+      if (res.status === 401) {
+        // Access token expired: renew it and reconnect right away; give up if the session is gone
+        try {
+          await refreshAccessToken();
+        } catch (err) {
+          closed = true;
+          return;
+        }
+        if (!closed) connect();
+        return;
+      }
+      if (!res.ok || !res.body) throw new Error(`Stream failed with status ${res.status}`);
+      retryDelay = 1000;
+
+      const reader = res.body.pipeThrough(new TextDecoderStream()).getReader();
+      let buffer = '';
+      while (true) {
+        const { value, done } = await reader.read();
+        if (done) break;
+        buffer += value.replace(/\r\n?/g, '\n');
+        let boundary;
+        while ((boundary = buffer.indexOf('\n\n')) !== -1) {
+          dispatch(buffer.slice(0, boundary));
+          buffer = buffer.slice(boundary + 2);
+        }
+      }
+    } catch (err) {
+      if (closed) return;
+      console.warn('Event stream interrupted:', err.message);
+    }
+
+    if (!closed) {
+      setTimeout(connect, retryDelay);
+      retryDelay = Math.min(retryDelay * 2, 30000);
+    }
+  };
+
+  connect();
+
+  return () => {
+    closed = true;
+    if (controller) controller.abort();
+  };
+};
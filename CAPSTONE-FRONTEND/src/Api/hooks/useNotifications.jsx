@@ -1,7 +1,8 @@
-import { useQuery, useMutation, useQueryClient } from '@tanstack/react-query';
+import { useEffect } from 'react';
+import { useQuery, useInfiniteQuery, useMutation, useQueryClient } from '@tanstack/react-query';
+import { openEventStream } from '../eventStream';
 import {
-  getUserNotifications,
-  getUnreadNotifications,
+  getUserNotificationsPage,
   getUnreadNotificationCount,
   markNotificationAsRead,
   markAllNotificationsAsRead,
@@ -11,35 +12,27 @@ import {
   sendNotificationToUser,
 } from '../notification';
 
+const INBOX_PAGE_SIZE = 50;
+
+// Applies fn to the loaded inbox items, keeping the infinite-query page structure intact
+const updateInboxItems = (old, fn) => {
+  if (!old) return old;
+  return { ...old, pages: old.pages.map((page) => ({ ...page, items: fn(page.items) })) };
+};
+
 // Query hooks
+// The inbox is loaded a page at a time; data is the flattened list of loaded notifications and
+// fetchNextPage/hasNextPage load older ones
 export const useUserNotifications = () => {
   const userId = localStorage.getItem('userId');
-  
-  // console.log('DEBUG: useUserNotifications - userId from localStorage:', userId);
-  
-  return useQuery({
-    queryKey: ['notifications', 'user', userId],
-    queryFn: () => {
-      // console.log('DEBUG: Calling getUserNotifications API');
-      return getUserNotifications();
-    },
-    enabled: !!userId, 
-    onSuccess: (data) => {
-      console.log('DEBUG: getUserNotifications success:', data);
-    },
-    onError: (error) => {
-      console.log('DEBUG: getUserNotifications error:', error);
-    }
-  });
-};
 
-export const useUnreadNotifications = () => {
-  const userId = localStorage.getItem('userId');
-  
-  return useQuery({
-    queryKey: ['notifications', 'unread', userId],
-    queryFn: getUnreadNotifications,
-    enabled: !!userId, 
+  return useInfiniteQuery({
+    queryKey: ['notifications', 'user', userId],
+    queryFn: ({ pageParam }) => getUserNotificationsPage(pageParam, INBOX_PAGE_SIZE),
+    initialPageParam: null,
+    getNextPageParam: (lastPage) => lastPage.nextCursor ?? undefined,
+    select: (data) => data.pages.flatMap((page) => page.items),
+    enabled: !!userId,
   });
 };
 
@@ -49,17 +42,43 @@ export const useUnreadNotificationCount = () => {
   return useQuery({
     queryKey: ['notifications', 'unread', 'count', userId],
     queryFn: getUnreadNotificationCount,
-    refetchInterval: 30000, 
+    // New notifications arrive through useNotificationStream; this slow poll is only a fallback
+    refetchInterval: 5 * 60 * 1000,
     enabled: !!userId,
   });
 };
 
+// Pushes new notifications into the cached inbox as they are created and refreshes the unread
+// queries. The stream resumes from its last cursor after a reconnect.
+export const useNotificationStream = () => {
+  const queryClient = useQueryClient();
+  const userId = localStorage.getItem('userId');
+
+  useEffect(() => {
+    if (!userId) return undefined;
+
+    return openEventStream('/notifications/stream', (event, data) => {
+      if (event !== 'notification') return;
+      queryClient.setQueryData(['notifications', 'user', userId], (old) => {
+        if (!old || old.pages.some((page) => page.items.some((notification) => notification.notificationId === data.notificationId))) return old;
+        const [first, ...rest] = old.pages;
+        return { ...old, pages: [{ ...first, items: [data, ...first.items] }, ...rest] };
+      });
+      queryClient.invalidateQueries({ queryKey: ['notifications', 'unread'] });
+    });
+  }, [queryClient, userId]);
+};
+
+// Every user's notifications (HR/admin), paged like the inbox
 export const useAllNotifications = () => {
   const userId = localStorage.getItem('userId');
   
-  return useQuery({
+  return useInfiniteQuery({
     queryKey: ['notifications', 'all', userId],
-    queryFn: getAllNotifications,
+    queryFn: ({ pageParam }) => getAllNotifications(pageParam, INBOX_PAGE_SIZE),
+    initialPageParam: null,
+    getNextPageParam: (lastPage) => lastPage.nextCursor ?? undefined,
+    select: (data) => data.pages.flatMap((page) => page.items),
     enabled: !!userId, 
   });
 };
@@ -72,24 +91,16 @@ export const useMarkNotificationAsRead = () => {
   return useMutation({
     mutationFn: markNotificationAsRead,
     onSuccess: (data, notificationId) => {
-      queryClient.setQueryData(['notifications', 'user', userId], (old) => {
-        if (!old) return old;
-        return old.map(notification => 
-          notification.notificationId === notificationId 
+      queryClient.setQueryData(['notifications', 'user', userId], (old) =>
+        updateInboxItems(old, (items) => items.map(notification =>
+          notification.notificationId === notificationId
             ? { ...notification, read: true }
             : notification
-        );
-      });
-
- 
-      queryClient.setQueryData(['notifications', 'unread', userId], (old) => {
-        if (!old) return old;
-        return old.filter(notification => notification.notificationId !== notificationId);
-      });
+        ))
+      );
 
    
       queryClient.invalidateQueries({ queryKey: ['notifications', 'user', userId] });
-      queryClient.invalidateQueries({ queryKey: ['notifications', 'unread', userId] });
       queryClient.invalidateQueries({ queryKey: ['notifications', 'unread', 'count', userId] });
     },
     onError: (error) => {
@@ -106,17 +117,12 @@ export const useMarkAllNotificationsAsRead = () => {
     mutationFn: markAllNotificationsAsRead,
     onSuccess: () => {
 
-      queryClient.setQueryData(['notifications', 'user', userId], (old) => {
-        if (!old) return old;
-        return old.map(notification => ({ ...notification, read: true }));
-      });
-
-
-      queryClient.setQueryData(['notifications', 'unread', userId], []);
+      queryClient.setQueryData(['notifications', 'user', userId], (old) =>
+        updateInboxItems(old, (items) => items.map(notification => ({ ...notification, read: true })))
+      );
 
 
       queryClient.invalidateQueries({ queryKey: ['notifications', 'user', userId] });
-      queryClient.invalidateQueries({ queryKey: ['notifications', 'unread', userId] });
       queryClient.invalidateQueries({ queryKey: ['notifications', 'unread', 'count', userId] });
     },
     onError: (error) => {
@@ -133,7 +139,6 @@ export const useDeleteNotification = () => {
     mutationFn: deleteNotification,
     onSuccess: () => {
       queryClient.invalidateQueries({ queryKey: ['notifications', 'user', userId] });
-      queryClient.invalidateQueries({ queryKey: ['notifications', 'unread', userId] });
       queryClient.invalidateQueries({ queryKey: ['notifications', 'unread', 'count', userId] });
     },
   });
@@ -1,4 +1,6 @@
+import { useEffect } from 'react';
 import { useQuery, useMutation, useQueryClient } from '@tanstack/react-query';
+import { openEventStream } from '../eventStream';
 import {
   getAllTimelogsForHR,
   downloadTimelogsCSV,
@@ -11,15 +13,11 @@ import {
 } from '../timelog';
 
 // Query hooks for HR timelog management
-export const useAllTimelogsForHR = (search, startDate, endDate) => {
-  console.log('useAllTimelogsForHR called with:', { search, startDate, endDate });
-  
+export const useAllTimelogsForHR = (search, startDate, endDate, cursor, size) => {
   return useQuery({
-    queryKey: ['timelogs', 'hr', search, startDate, endDate],
-    queryFn: () => {
-      console.log('Query function executing with:', { search, startDate, endDate });
-      return getAllTimelogsForHR(search, startDate, endDate);
-    },
+    queryKey: ['timelogs', 'hr', search, startDate, endDate, cursor, size],
+    queryFn: () => getAllTimelogsForHR(search, startDate, endDate, cursor, size),
+    placeholderData: (previousPage) => previousPage, // keep the current page visible while the next one loads
     staleTime: 2 * 60 * 1000, // 2 minutes
     cacheTime: 5 * 60 * 1000, // 5 minutes
   });
@@ -57,6 +55,34 @@ export const useIncompleteTimelogs = () => {
   });
 };
 
+// Keeps the clocked-in / on-break lists current from the live attendance stream
+// (snapshot first, then one delta per clock or break change) instead of polling.
+export const useAttendanceLive = (clockedInKey, onBreakKey) => {
+  const queryClient = useQueryClient();
+
+  useEffect(() => {
+    const withoutUser = (list, userId) => (list || []).filter((entry) => entry.userId !== userId);
+
+    return openEventStream('/timelog/hr/live', (event, data) => {
+      if (event === 'snapshot') {
+        queryClient.setQueryData(clockedInKey, data.clockedIn);
+        queryClient.setQueryData(onBreakKey, data.onBreak);
+      } else if (event === 'attendance') {
+        queryClient.setQueryData(clockedInKey, (list) => {
+          const rest = withoutUser(list, data.userId);
+          return data.status === 'CLOCKED_IN' ? [...rest, data.entry] : rest;
+        });
+        queryClient.setQueryData(onBreakKey, (list) => {
+          const rest = withoutUser(list, data.userId);
+          return data.status === 'ON_BREAK' ? [...rest, data.entry] : rest;
+        });
+        queryClient.invalidateQueries({ queryKey: ['incomplete-timelogs'] });
+      }
+    });
+    // eslint-disable-next-line react-hooks/exhaustive-deps
+  }, [queryClient]);
+};
+
 // Mutation hooks
 export const useAdjustTimelog = () => {
   const queryClient = useQueryClient();
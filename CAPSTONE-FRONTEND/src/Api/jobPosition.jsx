@@ -1,7 +1,11 @@
 import axios from 'axios';
+import { withSession } from './session';
 
 const API_BASE_URL = import.meta.env.VITE_API_BASE_URL_JOB_POSITION;
 
+// Renews the access token and retries once on 401
+const API = withSession(axios.create());
+
 // Get authentication token from localStorage
 const getAuthToken = () => {
   return localStorage.getItem('token');
@@ -18,7 +22,7 @@ const createAuthHeaders = () => ({
 
 export const createJobPosition = async (jobPositionData) => {
   try {
-    const response = await axios.post(`${API_BASE_URL}/add`, jobPositionData, createAuthHeaders());
+    const response = await API.post(`${API_BASE_URL}/add`, jobPositionData, createAuthHeaders());
     return response.data;
   } catch (error) {
     console.error('Error creating job position:', error);
@@ -28,7 +32,7 @@ export const createJobPosition = async (jobPositionData) => {
 
 export const getAllJobPositions = async () => {
   try {
-    const response = await axios.get(`${API_BASE_URL}`, createAuthHeaders());
+    const response = await API.get(`${API_BASE_URL}`, createAuthHeaders());
     return response.data;
   } catch (error) {
     console.error('Error fetching job positions:', error);
@@ -38,7 +42,7 @@ export const getAllJobPositions = async () => {
 
 export const getJobPositionById = async (id) => {
   try {
-    const response = await axios.get(`${API_BASE_URL}/${id}`, createAuthHeaders());
+    const response = await API.get(`${API_BASE_URL}/${id}`, createAuthHeaders());
     return response.data;
   } catch (error) {
     console.error('Error fetching job position by ID:', error);
@@ -48,7 +52,7 @@ export const getJobPositionById = async (id) => {
 
 export const updateJobPosition = async (id, jobPositionData) => {
   try {
-    const response = await axios.put(`${API_BASE_URL}/${id}`, jobPositionData, createAuthHeaders());
+    const response = await API.put(`${API_BASE_URL}/${id}`, jobPositionData, createAuthHeaders());
     return response.data;
   } catch (error) {
     console.error('Error updating job position:', error);
@@ -58,7 +62,7 @@ export const updateJobPosition = async (id, jobPositionData) => {
 
 export const deleteJobPosition = async (id) => {
   try {
-    const response = await axios.delete(`${API_BASE_URL}/${id}`, createAuthHeaders());
+    const response = await API.delete(`${API_BASE_URL}/${id}`, createAuthHeaders());
     return response.data;
   } catch (error) {
     console.error('Error deleting job position:', error);
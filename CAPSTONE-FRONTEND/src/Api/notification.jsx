@@ -1,18 +1,11 @@
 import axios from 'axios';
+import { withSession } from './session';
 
 const API = axios.create({
   baseURL: import.meta.env.VITE_API_BASE_URL_NOTIFICATION
 });
 
-API.interceptors.request.use((config) => {
-  const token = localStorage.getItem('token');
-
-  if (token) {
-    config.headers.Authorization = `Bearer ${token}`;
-  }
-
-  return config;
-});
+withSession(API);
 
 // Get user notifications
 export const getUserNotifications = async () => {
@@ -20,6 +13,16 @@ export const getUserNotifications = async () => {
   return res.data;
 };
 
+// Get one page of the user's inbox: { items, nextCursor, hasMore }
+export const getUserNotificationsPage = async (cursor, size, unreadOnly) => {
+  const params = {};
+  if (cursor) params.cursor = cursor;
+  if (size) params.size = size;
+  if (unreadOnly) params.unreadOnly = true;
+  const res = await API.get('/user/page', { params });
+  return res.data;
+};
+
 // Get unread notifications for user
 export const getUnreadNotifications = async () => {
   const res = await API.get('/user/unread');
@@ -51,8 +54,11 @@ export const deleteNotification = async (notificationId) => {
 };
 
 
-export const getAllNotifications = async () => {
-  const res = await API.get('/all');
+export const getAllNotifications = async (cursor, size) => {
+  const params = {};
+  if (cursor) params.cursor = cursor;
+  if (size) params.size = size;
+  const res = await API.get('/all', { params });
   return res.data;
 };
 
@@ -1,4 +1,5 @@
 import axios from 'axios';
+import { withSession } from './session';
 
 const API_BASE_URL = import.meta.env.VITE_API_BASE_URL_PASSWORD 
 
@@ -7,19 +8,7 @@ const api = axios.create({
   baseURL: API_BASE_URL,
 });
 
-// Request interceptor to add auth token
-api.interceptors.request.use(
-  (config) => {
-    const token = localStorage.getItem('token');
-    if (token) {
-      config.headers.Authorization = `Bearer ${token}`;
-    }
-    return config;
-  },
-  (error) => {
-    return Promise.reject(error);
-  }
-);
+withSession(api);
 
 
 api.interceptors.response.use(
@@ -1,4 +1,5 @@
 import axios from 'axios';
+import { withSession } from './session';
 
 const API_BASE_URL = import.meta.env.VITE_API_BASE_URL_PROFILE_PHOTO
 
@@ -7,14 +8,7 @@ const api = axios.create({
   baseURL: API_BASE_URL,
 });
 
-// Add token to requests
-api.interceptors.request.use((config) => {
-  const token = localStorage.getItem('token');
-  if (token) {
-    config.headers.Authorization = `Bearer ${token}`;
-  }
-  return config;
-});
+withSession(api);
 
 /**
  * Upload a profile picture
@@ -0,0 +1,133 @@
+import axios from 'axios';
+
+// Access tokens are short-lived; the refresh token from login renews them via /auth/refresh.
+// Every refresh rotates the refresh token, so both are replaced together.
+const AUTH_BASE_URL = import.meta.env.VITE_API_BASE_URL_PASSWORD;
+
+// Bare client so the refresh call itself never goes through the retry interceptor
+const authClient = axios.create({ baseURL: AUTH_BASE_URL });
+
+let refreshing = null;
+
+// Tabs share one localStorage session, so a refresh in one tab is announced to the others through a
+// short-lived lock entry; they wait for the rotated token (a storage event) instead of replaying the old one
+const REFRESH_LOCK_KEY = 'refreshLock';
+const REFRESH_LOCK_MS = 10000;
+const TAB_ID = Math.random().toString(36).slice(2);
+
+const readRefreshLock = () => {
+  try {
+    return JSON.parse(localStorage.getItem(REFRESH_LOCK_KEY));
+  } catch {
+    return null;
+  }
+};
+
+const otherTabRefreshing = () => {
+  const lock = readRefreshLock();
+  return Boolean(lock && lock.owner !== TAB_ID && Date.now() - lock.at < REFRESH_LOCK_MS);
+};
+
+// Resolves with the token another tab stored, or null if none arrived in time
+const waitForOtherTab = (staleToken) => new Promise((resolve, reject) => {
+  const cleanup = () => {
+    clearTimeout(timer);
+    window.removeEventListener('storage', onStorage);
+  };
+  const onStorage = (event) => {
+    if (event.key === 'token' && event.newValue && event.newValue !== staleToken) {
+      cleanup();
+      resolve(event.newValue);
+    } else if (event.key === 'refreshToken' && event.newValue === null) {
+      cleanup();
+      reject(new Error('Session ended in another tab'));
+    }
+  };
+  const timer = setTimeout(() => {
+    cleanup();
+    resolve(null);
+  }, REFRESH_LOCK_MS);
+  window.addEventListener('storage', onStorage);
+});
+
+const exchangeRefreshToken = () => {
+  const refreshToken = localStorage.getItem('refreshToken');
+  if (!refreshToken) {
+    return Promise.reject(new Error('No refresh token'));
+  }
+  localStorage.setItem(REFRESH_LOCK_KEY, JSON.stringify({ owner: TAB_ID, at: Date.now() }));
+  return authClient.post('/refresh', { refreshToken }).then((res) => {
+    saveSession(res.data);
+    return res.data.token;
+  }).finally(() => {
+    if (readRefreshLock()?.owner === TAB_ID) {
+      localStorage.removeItem(REFRESH_LOCK_KEY);
+    }
+  });
+};
+
+export const saveSession = ({ token, refreshToken }) => {
+  if (token) localStorage.setItem('token', token);
+  if (refreshToken) localStorage.setItem('refreshToken', refreshToken);
+};
+
+// Concurrent 401s share one refresh, also across tabs; a rotated token can only be exchanged once
+export const refreshAccessToken = () => {
+  if (!refreshing) {
+    const staleToken = localStorage.getItem('token');
+    refreshing = (otherTabRefreshing()
+      ? waitForOtherTab(staleToken).then((token) => token || exchangeRefreshToken())
+      : exchangeRefreshToken()
+    ).catch((error) => {
+      // Another tab may have rotated the session while this refresh was in flight
+      const current = localStorage.getItem('token');
+      if (current && current !== staleToken && localStorage.getItem('refreshToken')) {
+        return current;
+      }
+      localStorage.removeItem('token');
+      localStorage.removeItem('refreshToken');
+      throw error;
+    }).finally(() => {
+      refreshing = null;
+    });
+  }
+  return refreshing;
+};
+
+// Revoke the refresh token server-side, then drop everything stored locally
+export const endSession = () => {
+  const refreshToken = localStorage.getItem('refreshToken');
+  localStorage.clear();
+  if (refreshToken) {
+    authClient.post('/logout', { refreshToken }).catch(() => {});
+  }
+};
+
+// Attach the bearer token and retry a request once after refreshing on 401
+export const withSession = (api) => {
+  if (api.sessionAttached) return api;
+  api.sessionAttached = true;
+
+  api.interceptors.request.use((config) => {
+    const token = localStorage.getItem('token');
+    if (token) {
+      config.headers.Authorization = `Bearer ${token}`;
+    }
+    return config;
+  });
+
+  api.interceptors.response.use(
+    (response) => response,
+    async (error) => {
+      const config = error.config;
+      if (error.response?.status !== 401 || !config || config.sessionRetried || !config.headers?.Authorization) {
+        return Promise.reject(error);
+      }
+      config.sessionRetried = true;
+      const token = await refreshAccessToken();
+      config.headers.Authorization = `Bearer ${token}`;
+      return api(config);
+    }
+  );
+  return api;
+};
@@ -1,25 +1,29 @@
 import axios from 'axios';
+import { withSession } from './session';
 
 const API = axios.create({
   baseURL: import.meta.env.VITE_API_BASE_URL 
 });
 
-API.interceptors.request.use((config) => {
-  const token = localStorage.getItem('token');
-  if (token) {
-    config.headers.Authorization = `Bearer ${token}`;
-  }
-  return config;
-});
+withSession(API);
+
+// Send the captured photo as a binary multipart part instead of a base64 JSON string
+const toPhotoForm = async (photoBase64) => {
+  const dataUrl = photoBase64.startsWith('data:') ? photoBase64 : `data:image/jpeg;base64,${photoBase64}`;
+  const blob = await (await fetch(dataUrl)).blob();
+  const form = new FormData();
+  form.append('photo', blob, 'photo.jpg');
+  return form;
+};
 
 // Clock In/Out operations
 export const clockIn = async (photoBase64) => {
-  const res = await API.post('/timelog/time-in', { photo: photoBase64 });
+  const res = await API.post('/timelog/time-in', await toPhotoForm(photoBase64));
   return res.data;
 };
 
 export const clockOut = async (photoBase64) => {
-  const res = await API.post('/timelog/time-out', { photo: photoBase64 });
+  const res = await API.post('/timelog/time-out', await toPhotoForm(photoBase64));
   return res.data;
 };
 
@@ -64,6 +68,14 @@ export const getTotalWorkedHours = async (startDate, endDate) => {
   return res.data;
 };
 
+// Total worked hours for a calendar month (served from the monthly rollup)
+export const getMonthlyWorkedHours = async (year, month) => {
+  const res = await API.get('/timelog/hours/total', {
+    params: { year, month }
+  });
+  return res.data;
+};
+
 export const getMonthlyTimelogs = async (year, month) => {
   const res = await API.get('/timelog/monthly', {
     params: { year, month }
@@ -77,11 +89,6 @@ export const adjustTimelog = async (adjustmentData) => {
   return res.data;
 };
 
-export const getAllTimelogs = async () => {
-  const res = await API.get('/timelog/all');
-  return res.data;
-};
-
 export const getUsersClockedIn = async () => {
   const res = await API.get('/timelog/users/clocked-in');
   return res.data;
@@ -102,18 +109,16 @@ export const deleteTimelog = async (timelogId) => {
   return res.data;
 };
 
-// HR timelog management
-export const getAllTimelogsForHR = async (search, startDate, endDate) => {
+// HR timelog management: returns one page { items, nextCursor, hasMore }
+export const getAllTimelogsForHR = async (search, startDate, endDate, cursor, size) => {
   const params = {};
   if (search && search.trim()) params.search = search.trim();
   if (startDate && startDate.trim()) params.startDate = startDate.trim();
   if (endDate && endDate.trim()) params.endDate = endDate.trim();
-  
-  console.log('API call params:', params);
-  console.log('URL will be:', '/timelog/hr/all?' + new URLSearchParams(params).toString());
-  
+  if (cursor) params.cursor = cursor;
+  if (size) params.size = size;
+
   const res = await API.get('/timelog/hr/all', { params });
-  console.log('API response:', { status: res.status, dataLength: res.data?.length });
   return res.data;
 };
 
@@ -134,3 +139,13 @@ export const getTimelogById = async (timelogId) => {
   const res = await API.get(`/timelog/hr/${timelogId}`);
   return res.data;
 };
+
+// Fetch a clock-in ('in') or clock-out ('out') photo as an object URL.
+// Pass variant 'thumbnail' for list views.
+export const getTimelogPhoto = async (timelogId, kind, variant = 'full') => {
+  const res = await API.get(`/timelog/${timelogId}/photo/${kind}`, {
+    params: { variant },
+    responseType: 'blob'
+  });
+  return URL.createObjectURL(res.data);
+};
@@ -1,7 +1,11 @@
 import axios from 'axios';
+import { withSession } from './session';
 
 const API_BASE_URL = import.meta.env.VITE_API_BASE_URL_HR;
 
+// Renews the access token and retries once on 401
+const API = withSession(axios.create());
+
 // Get authentication token from localStorage
 const getAuthToken = () => {
   return localStorage.getItem('token');
@@ -18,7 +22,7 @@ const createAuthHeaders = () => ({
 // Get all users with optional search
 export const getAllUsers = async (searchTerm = '') => {
   try {
-    const response = await axios.get(`${API_BASE_URL}/users`, {
+    const response = await API.get(`${API_BASE_URL}/users`, {
       ...createAuthHeaders(),
       params: {
         search: searchTerm
@@ -34,7 +38,7 @@ export const getAllUsers = async (searchTerm = '') => {
 // Get specific user details
 export const getUserDetails = async (userId) => {
   try {
-    const response = await axios.get(`${API_BASE_URL}/users/${userId}`, createAuthHeaders());
+    const response = await API.get(`${API_BASE_URL}/users/${userId}`, createAuthHeaders());
     return response.data;
   } catch (error) {
     console.error('Error fetching user details:', error);
@@ -45,7 +49,7 @@ export const getUserDetails = async (userId) => {
 // Disable user account
 export const disableUserAccount = async (userId) => {
   try {
-    const response = await axios.put(`${API_BASE_URL}/users/${userId}/disable`, {}, createAuthHeaders());
+    const response = await API.put(`${API_BASE_URL}/users/${userId}/disable`, {}, createAuthHeaders());
     return response.data;
   } catch (error) {
     console.error('Error disabling user account:', error);
@@ -56,7 +60,7 @@ export const disableUserAccount = async (userId) => {
 // Enable user account
 export const enableUserAccount = async (userId) => {
   try {
-    const response = await axios.put(`${API_BASE_URL}/users/${userId}/enable`, {}, createAuthHeaders());
+    const response = await API.put(`${API_BASE_URL}/users/${userId}/enable`, {}, createAuthHeaders());
     return response.data;
   } catch (error) {
     console.error('Error enabling user account:', error);
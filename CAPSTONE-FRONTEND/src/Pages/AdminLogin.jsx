@@ -32,6 +32,7 @@ const AdminLogin = () => {
       onSuccess: (data) => {
         console.log('Admin login response:', data);
         localStorage.setItem('token', data.token);
+        localStorage.setItem('refreshToken', data.refreshToken);
         localStorage.setItem('userRole', data.role);
         localStorage.setItem('username', data.username);
         localStorage.setItem('userId', data.userId);
@@ -1,17 +1,25 @@
-import React, { useState } from 'react';
+import React, { useState, useEffect } from 'react';
 import { Bell, Check, Trash2, CheckCheck, Eye, ChevronLeft, ChevronRight, AlertTriangle } from 'lucide-react';
 import Header from '../../components/Header';
 import { 
   useUserNotifications, 
-  useUnreadNotifications,
+  useUnreadNotificationCount,
   useMarkNotificationAsRead, 
   useMarkAllNotificationsAsRead,
   useDeleteNotification 
 } from '../../Api';
 
 const Notifications = () => {
-  const { data: allNotifications = [], isLoading } = useUserNotifications();
-  const { data: unreadNotifications = [] } = useUnreadNotifications();
+  const {
+    data: allNotifications = [],
+    isLoading,
+    hasNextPage,
+    isFetchingNextPage,
+    fetchNextPage,
+  } = useUserNotifications();
+  // The unread total comes from the cached count endpoint; only the inbox itself is paged
+  const { data: unreadCount = 0 } = useUnreadNotificationCount();
+  const readCount = allNotifications.filter((notification) => notification.read).length;
   const markAsReadMutation = useMarkNotificationAsRead();
   const markAllAsReadMutation = useMarkAllNotificationsAsRead();
   const deleteMutation = useDeleteNotification();
@@ -34,6 +42,13 @@ const Notifications = () => {
   const endIndex = startIndex + itemsPerPage;
   const currentNotifications = allNotifications.slice(startIndex, endIndex);
 
+  // Load the next inbox page from the server once the last loaded page is on screen
+  useEffect(() => {
+    if (currentPage >= totalPages && hasNextPage && !isFetchingNextPage) {
+      fetchNextPage();
+    }
+  }, [currentPage, totalPages, hasNextPage, isFetchingNextPage, fetchNextPage]);
+
 
   const goToPage = (page) => {
     setCurrentPage(page);
@@ -146,7 +161,7 @@ const Notifications = () => {
               Stay updated with company announcements and important messages
             </p>
           </div>
-          {unreadNotifications.length > 0 && (
+          {unreadCount > 0 && (
             <button
               onClick={handleMarkAllAsRead}
               disabled={markAllAsReadMutation.isPending}
@@ -188,7 +203,7 @@ const Notifications = () => {
               </div>
               <div className="ml-4">
                 <p className="text-sm font-medium text-gray-600">Unread</p>
-                <p className="text-2xl font-semibold text-gray-900">{unreadNotifications.length}</p>
+                <p className="text-2xl font-semibold text-gray-900">{unreadCount}</p>
               </div>
             </div>
           </div>
@@ -201,7 +216,7 @@ const Notifications = () => {
               <div className="ml-4">
                 <p className="text-sm font-medium text-gray-600">Read</p>
                 <p className="text-2xl font-semibold text-gray-900">
-                  {allNotifications.length - unreadNotifications.length}
+                  {readCount}
                 </p>
               </div>
             </div>
@@ -224,7 +239,7 @@ const Notifications = () => {
               {totalPages > 1 && (
                 <div className="px-6 py-3 border-b border-gray-200 bg-gray-50">
                   <p className="text-sm text-gray-600">
-                    Showing {startIndex + 1}-{Math.min(endIndex, totalItems)} of {totalItems} notifications
+                    Showing {startIndex + 1}-{Math.min(endIndex, totalItems)} of {totalItems}{hasNextPage ? '+' : ''} notifications
                   </p>
                 </div>
               )}
@@ -25,6 +25,7 @@ import LeaveRequestsList from '../components/LeaveRequestsList';
 import { useActiveAnnouncements } from '../Api';
 import { useClearNotificationCache } from '../Api/hooks/useNotifications';
 import { useQueryClient } from '@tanstack/react-query';
+import { endSession } from '../Api/session';
 
 const EmployeePage = () => {
   const [isProfileDropdownOpen, setIsProfileDropdownOpen] = useState(false);
@@ -61,7 +62,7 @@ const EmployeePage = () => {
 
     queryClient.clear();
     clearNotificationCache();
-    localStorage.clear();
+    endSession();
     navigate('/login');
   };
 
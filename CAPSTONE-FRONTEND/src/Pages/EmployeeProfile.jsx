@@ -6,6 +6,7 @@ import Header from '../components/Header';
 import ChangePasswordForm from '../components/ChangePasswordForm';
 import ProfilePictureUpload from '../components/ProfilePictureUpload';
 import { useClearNotificationCache } from '../Api/hooks/useNotifications';
+import { endSession } from '../Api/session';
 
 const EmployeeProfile = () => {
    const [isDropdownOpen, setIsDropdownOpen] = useState(false);
@@ -17,7 +18,7 @@ const EmployeeProfile = () => {
     setIsDropdownOpen(false);
     queryClient.clear();
     clearNotificationCache();
-    localStorage.clear();
+    endSession();
   };
 
   const initialFormState = {
@@ -1,10 +1,16 @@
-import { useState } from "react"
+import { useState, useEffect } from "react"
 import Header from "../../components/Header"
 import { useAllNotifications, useSendNotification } from "../../Api"
 import { Bell, Send, User, AlertCircle, CheckCircle, X, ChevronLeft, ChevronRight, Filter } from "lucide-react"
 
 const Notifications = () => {
-  const { data: notifications = [], isLoading } = useAllNotifications()
+  const {
+    data: notifications = [],
+    isLoading,
+    hasNextPage,
+    isFetchingNextPage,
+    fetchNextPage,
+  } = useAllNotifications()
   const sendMutation = useSendNotification()
 
   const [showSendForm, setShowSendForm] = useState(false)
@@ -109,6 +115,13 @@ const Notifications = () => {
     indexOfLastNotification
   )
 
+  // Load the next batch from the server once the last loaded page is reached
+  useEffect(() => {
+    if (currentPage >= totalPages && hasNextPage && !isFetchingNextPage) {
+      fetchNextPage()
+    }
+  }, [currentPage, totalPages, hasNextPage, isFetchingNextPage, fetchNextPage])
+
   const paginate = (pageNumber) => setCurrentPage(pageNumber)
 
   const nextPage = () => {
@@ -305,7 +318,7 @@ const Notifications = () => {
           <div className="p-6 border-b border-gray-200">
             <h2 className="text-xl font-semibold text-gray-800 flex items-center gap-2">
               <Bell className="w-5 h-5" />
-              All System Notifications ({filteredNotifications.length})
+              All System Notifications ({filteredNotifications.length}{hasNextPage ? '+' : ''})
             </h2>
           </div>
 
@@ -323,7 +336,7 @@ const Notifications = () => {
               <>
                 <div className="space-y-4">
                   {currentNotifications.map((notification) => (
-                    <div key={notification.id} className="border border-gray-200 rounded-lg p-4 hover:bg-gray-50">
+                    <div key={notification.notificationId} className="border border-gray-200 rounded-lg p-4 hover:bg-gray-50">
                       <div className="flex items-start justify-between">
                         <div className="flex items-start gap-3 flex-1">
                           {getNotificationIcon(notification.type)}
@@ -353,7 +366,7 @@ const Notifications = () => {
                 {totalPages > 1 && (
                   <div className="flex justify-between items-center mt-6">
                     <div className="text-sm text-gray-500">
-                      Showing {indexOfFirstNotification + 1} to {Math.min(indexOfLastNotification, filteredNotifications.length)} of {filteredNotifications.length} notifications
+                      Showing {indexOfFirstNotification + 1} to {Math.min(indexOfLastNotification, filteredNotifications.length)} of {filteredNotifications.length}{hasNextPage ? '+' : ''} notifications
                     </div>
                     <div className="flex items-center space-x-2">
                       <button
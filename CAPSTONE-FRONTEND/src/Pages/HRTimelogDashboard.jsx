@@ -3,13 +3,16 @@ import { useQuery, useMutation, useQueryClient } from '@tanstack/react-query';
 import { Users, Clock, AlertTriangle, Edit, Trash2, Eye } from 'lucide-react';
 import { toast } from 'sonner';
 import {
-  getAllTimelogs,
+  getAllTimelogsForHR,
   getUsersClockedIn,
   getUsersOnBreak,
   getIncompleteTimelogs,
   adjustTimelog,
   deleteTimelog
 } from '../Api/timelog';
+import { useAttendanceLive } from '../Api/hooks/useTimelog';
+
+const RECENT_TIMELOG_LIMIT = 50;
 
 const HRTimelogDashboard = () => {
   const [selectedTimelog, setSelectedTimelog] = useState(null);
@@ -22,26 +25,28 @@ const HRTimelogDashboard = () => {
   });
   const queryClient = useQueryClient();
 
-  // Fetch all timelogs
-  const { data: allTimelogs, isLoading: timelogsLoading } = useQuery({
+  // Most recent timelogs: the first page of the HR listing
+  const { data: recentPage, isLoading: timelogsLoading } = useQuery({
     queryKey: ['all-timelogs'],
-    queryFn: getAllTimelogs,
+    queryFn: () => getAllTimelogsForHR(undefined, undefined, undefined, null, RECENT_TIMELOG_LIMIT),
   });
+  const allTimelogs = recentPage?.items;
 
-  // Fetch users currently clocked in
+  // Users currently clocked in / on break: loaded once, then kept current by the live stream
   const { data: clockedInUsers } = useQuery({
     queryKey: ['clocked-in-users'],
     queryFn: getUsersClockedIn,
-    refetchInterval: 30000,
+    staleTime: Infinity,
   });
 
-  // Fetch users on break
   const { data: usersOnBreak } = useQuery({
     queryKey: ['users-on-break'],
     queryFn: getUsersOnBreak,
-    refetchInterval: 30000,
+    staleTime: Infinity,
   });
 
+  useAttendanceLive(['clocked-in-users'], ['users-on-break']);
+
   // Fetch incomplete timelogs
   const { data: incompleteTimelogs } = useQuery({
     queryKey: ['incomplete-timelogs'],
@@ -169,10 +174,10 @@ const HRTimelogDashboard = () => {
         <div className="bg-white p-4 rounded-lg shadow-sm border border-gray-200">
           <div className="flex items-center space-x-2">
             <Users className="h-5 w-5 text-blue-600" />
-            <span className="text-sm font-medium text-gray-900">Total Records</span>
+            <span className="text-sm font-medium text-gray-900">Recent Records</span>
           </div>
           <p className="text-2xl font-bold text-blue-600 mt-1">
-            {allTimelogs?.length || 0}
+            {allTimelogs?.length || 0}{recentPage?.hasMore ? '+' : ''}
           </p>
         </div>
       </div>
@@ -189,7 +194,7 @@ const HRTimelogDashboard = () => {
                 {clockedInUsers.map((user) => (
                   <div key={user.userId} className="flex items-center justify-between p-2 bg-green-50 rounded">
                     <span className="font-medium">{user.username}</span>
-                    <span className="text-sm text-gray-600">{user.position?.title}</span>
+                    <span className="text-sm text-gray-600">{user.positionTitle}</span>
                   </div>
                 ))}
               </div>
@@ -210,7 +215,7 @@ const HRTimelogDashboard = () => {
                 {usersOnBreak.map((user) => (
                   <div key={user.userId} className="flex items-center justify-between p-2 bg-yellow-50 rounded">
                     <span className="font-medium">{user.username}</span>
-                    <span className="text-sm text-gray-600">{user.position?.title}</span>
+                    <span className="text-sm text-gray-600">{user.positionTitle}</span>
                   </div>
                 ))}
               </div>
@@ -261,15 +266,15 @@ const HRTimelogDashboard = () => {
                   </td>
                 </tr>
               ) : allTimelogs?.length > 0 ? (
-                allTimelogs.slice(0, 50).map((timelog) => (
+                allTimelogs.map((timelog) => (
                   <tr key={timelog.id} className="hover:bg-gray-50">
                     <td className="px-6 py-4 whitespace-nowrap">
                       <div>
                         <div className="text-sm font-medium text-gray-900">
-                          {timelog.user?.username}
+                          {timelog.employeeName}
                         </div>
                         <div className="text-sm text-gray-500">
-                          {timelog.user?.position?.title}
+                          {timelog.department}
                         </div>
                       </div>
                     </td>
@@ -25,6 +25,7 @@ import {
   useClearNotificationCache,
 } from "../Api/hooks/useNotifications"
 import { toast } from 'react-toastify'
+import { endSession } from '../Api/session'
 
 const HrPage = () => {
   const [isDropdownOpen, setIsDropdownOpen] = useState(false)
@@ -60,7 +61,13 @@ const HrPage = () => {
   const { data: positions = [], createPositionMutation } = usePositions()
 
 
-  const { data: notifications = [], isLoading: notificationsLoading } = useUserNotifications()
+  const {
+    data: notifications = [],
+    isLoading: notificationsLoading,
+    hasNextPage: hasMoreNotifications,
+    isFetchingNextPage: fetchingMoreNotifications,
+    fetchNextPage: fetchMoreNotifications,
+  } = useUserNotifications()
   const markAsReadMutation = useMarkNotificationAsRead()
   const markAllAsReadMutation = useMarkAllNotificationsAsRead()
   const deleteMutation = useDeleteNotification()
@@ -149,7 +156,7 @@ const HrPage = () => {
 
     queryClient.clear()
     clearNotificationCache()
-    localStorage.clear()
+    endSession()
     window.location.href = "/login"
   }
 
@@ -258,6 +265,13 @@ const HrPage = () => {
   const endIndex = startIndex + notificationsPerPage
   const paginatedNotifications = visibleNotifications.slice(startIndex, endIndex)
 
+  // Load the next inbox page from the server once the last loaded page is on screen
+  useEffect(() => {
+    if (notificationsPage >= totalPages && hasMoreNotifications && !fetchingMoreNotifications) {
+      fetchMoreNotifications()
+    }
+  }, [notificationsPage, totalPages, hasMoreNotifications, fetchingMoreNotifications, fetchMoreNotifications])
+
 
   const CustomPagination = ({ currentPage, totalPages, onPageChange }) => {
     if (totalPages <= 1) return null
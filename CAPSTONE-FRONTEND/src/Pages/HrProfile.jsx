@@ -5,6 +5,7 @@ import { fetchCurrentUserDetails, updateUserProfile } from "../Api/hr"
 import Header from "../components/Header"
 import ChangePasswordForm from "../components/ChangePasswordForm"
 import ProfilePictureUpload from "../components/ProfilePictureUpload"
+import { endSession } from "../Api/session"
 
 const HrProfile = () => {
   const [isDropdownOpen, setIsDropdownOpen] = useState(false)
@@ -12,7 +13,7 @@ const HrProfile = () => {
 
   const handleLogout = () => {
     setIsDropdownOpen(false)
-    localStorage.clear()
+    endSession()
   }
 
   const initialFormState = {
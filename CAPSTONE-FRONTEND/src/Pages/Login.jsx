@@ -49,6 +49,7 @@ const LoginPage = () => {
     onSuccess: (data) => {
       console.log("Login success:", data)
       localStorage.setItem("token", data.token)
+      localStorage.setItem("refreshToken", data.refreshToken)
       localStorage.setItem("username", data.username)
       localStorage.setItem("userId", data.userId)
       localStorage.setItem("user", JSON.stringify({ role: data.role }))
@@ -47,6 +47,7 @@ const LoginHr = () => {
     },
     onSuccess: (data) => {
       localStorage.setItem("token", data.token)
+      localStorage.setItem("refreshToken", data.refreshToken)
       localStorage.setItem("username", data.username)
       localStorage.setItem("userId", data.userId)
       localStorage.setItem("user", JSON.stringify({ role: data.role }))
@@ -3,7 +3,7 @@ import { useQuery, useQueryClient } from '@tanstack/react-query';
 import { Calendar, Clock, Download, Filter, RefreshCw, Edit } from 'lucide-react';
 import Header from '../components/Header';
 import TimelogWidget from '../components/TimelogWidget';
-import { getTimelogsByDateRange, getMonthlyTimelogs, getTotalWorkedHours } from '../Api/timelog';
+import { getTimelogsByDateRange, getMonthlyTimelogs, getMonthlyWorkedHours } from '../Api/timelog';
 import { useHrStaff, useCreateTimelogEditRequest } from '../Api/hooks/useTimelogEditRequest';
 
 const TimelogPage = () => {
@@ -36,11 +36,7 @@ const TimelogPage = () => {
   // Fetch total hours for current month
   const { data: totalHoursData } = useQuery({
     queryKey: ['total-hours', selectedYear, selectedMonth],
-    queryFn: () => {
-      const startDate = new Date(selectedYear, selectedMonth - 1, 1).toISOString();
-      const endDate = new Date(selectedYear, selectedMonth, 0, 23, 59, 59).toISOString();
-      return getTotalWorkedHours(startDate, endDate);
-    },
+    queryFn: () => getMonthlyWorkedHours(selectedYear, selectedMonth),
     staleTime: 0, 
     cacheTime: 1 * 60 * 1000,
     refetchOnWindowFocus: true, 
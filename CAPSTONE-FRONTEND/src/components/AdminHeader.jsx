@@ -1,13 +1,14 @@
 import React from 'react';
 import { Link, useNavigate, useLocation } from 'react-router-dom';
 import { Shield, User, LogOut, Home, Users, Building2, Settings } from 'lucide-react';
+import { endSession } from '../Api/session';
 
 const AdminHeader = () => {
   const navigate = useNavigate();
   const location = useLocation();
 
   const handleLogout = () => {
-    localStorage.clear();
+    endSession();
     navigate('/admin');
   };
 
@@ -1,15 +1,17 @@
 "use client"
 import { Link, useNavigate, useLocation } from "react-router-dom"
 import { Bell, User, LogOut, Home, Users, FileText, Briefcase, UserCheck } from "lucide-react"
-import { useUnreadNotificationCount } from "../Api"
+import { useNotificationStream, useUnreadNotificationCount } from "../Api"
+import { endSession } from "../Api/session"
 
 const Header = ({ userRole }) => {
   const navigate = useNavigate()
   const location = useLocation()
   const { data: unreadCount } = useUnreadNotificationCount()
+  useNotificationStream()
 
   const handleLogout = () => {
-    localStorage.clear()
+    endSession()
     navigate("/login")
   }
 
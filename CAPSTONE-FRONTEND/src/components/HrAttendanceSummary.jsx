@@ -1,7 +1,7 @@
 import React, { useState } from 'react';
 import { useQuery, useQueryClient } from '@tanstack/react-query';
 import { Calendar, Clock, RefreshCw } from 'lucide-react';
-import { getMonthlyTimelogs, getTotalWorkedHours } from '../Api/timelog';
+import { getMonthlyTimelogs, getMonthlyWorkedHours } from '../Api/timelog';
 
 const HrAttendanceSummary = () => {
   const [selectedMonth, setSelectedMonth] = useState(new Date().getMonth() + 1);
@@ -21,11 +21,7 @@ const HrAttendanceSummary = () => {
   // Fetch total hours for current month for HR user
   const { data: totalHoursData } = useQuery({
     queryKey: ['total-hours', selectedYear, selectedMonth],
-    queryFn: () => {
-      const startDate = new Date(selectedYear, selectedMonth - 1, 1).toISOString();
-      const endDate = new Date(selectedYear, selectedMonth, 0, 23, 59, 59).toISOString();
-      return getTotalWorkedHours(startDate, endDate);
-    },
+    queryFn: () => getMonthlyWorkedHours(selectedYear, selectedMonth),
     staleTime: 0, 
     cacheTime: 1 * 60 * 1000, 
     refetchOnWindowFocus: true, 
@@ -2,6 +2,7 @@ import React, { useState } from 'react';
 import { Button } from '@/components/ui/button';
 import { FiSearch, FiDownload, FiEdit, FiCalendar, FiClock, FiUser, FiX, FiImage, FiEye, FiRefreshCw } from 'react-icons/fi';
 import { useAllTimelogsForHR, useAdjustTimelog, useDownloadTimelogsCSV, useTimelogById } from '../Api/hooks/useTimelog';
+import { getTimelogPhoto } from '../Api/timelog';
 
 const TimelogManagement = () => {
   const [search, setSearch] = useState('');
@@ -14,32 +15,28 @@ const TimelogManagement = () => {
   const [photoType, setPhotoType] = useState('');
   const [isDownloading, setIsDownloading] = useState(false);
   const [currentPage, setCurrentPage] = useState(1);
+  // Cursor that starts each visited page; index 0 is the first page
+  const [pageCursors, setPageCursors] = useState([null]);
   const itemsPerPage = 6;
 
   // Query hooks
-  const { data: timelogs = [], isLoading, refetch, error } = useAllTimelogsForHR(search, startDate, endDate);
-  
-  console.log('TimelogManagement render:', {
-    search,
-    startDate, 
-    endDate,
-    timelogsLength: timelogs?.length,
-    firstTimelog: timelogs?.[0]?.user?.username,
-    isLoading
-  });
-  
+  const { data: page, isLoading, refetch, error } = useAllTimelogsForHR(
+    search, startDate, endDate, pageCursors[currentPage - 1], itemsPerPage
+  );
+  const timelogs = page?.items || [];
+
   // Mutation hooks
   const adjustTimelogMutation = useAdjustTimelog();
   const downloadCSVMutation = useDownloadTimelogsCSV();
 
-  // Calculate pagination
-  const totalPages = Math.ceil(timelogs.length / itemsPerPage);
-  const startIndex = (currentPage - 1) * itemsPerPage;
-  const paginatedTimelogs = timelogs.slice(startIndex, startIndex + itemsPerPage);
+  const resetPaging = () => {
+    setCurrentPage(1);
+    setPageCursors([null]);
+  };
 
   const handleSearch = () => {
     console.log('Search triggered with:', { search, startDate, endDate });
-    setCurrentPage(1); 
+    resetPaging();
     refetch();
   };
 
@@ -48,7 +45,7 @@ const TimelogManagement = () => {
     setSearch('');
     setStartDate('');
     setEndDate('');
-    setCurrentPage(1);
+    resetPaging();
     refetch();
   };
 
@@ -88,28 +85,13 @@ const TimelogManagement = () => {
     return `${mins}m`;
   };
 
-  const handleViewPhoto = (photo, type, employeeName) => {
-    if (photo) {
-      setSelectedPhoto(photo);
-      setPhotoType(`${type} - ${employeeName}`);
-      setIsPhotoModalOpen(true);
-    }
-  };
-
-  const decryptPhoto = (encryptedPhoto) => {
-    if (!encryptedPhoto) return null;
-    if (encryptedPhoto.startsWith('data:image/')) {
-      return encryptedPhoto;
-    }
-    return `data:image/jpeg;base64,${encryptedPhoto}`;
+  const handleViewPhoto = (timelogId, kind, type, employeeName) => {
+    setSelectedPhoto({ timelogId, kind });
+    setPhotoType(`${type} - ${employeeName}`);
+    setIsPhotoModalOpen(true);
   };
 
-  const getEmployeeName = (user) => {
-    if (user?.employeeDetails?.firstName && user?.employeeDetails?.lastName) {
-      return `${user.employeeDetails.firstName} ${user.employeeDetails.lastName}`;
-    }
-    return user?.username || 'Unknown';
-  };
+  const getEmployeeName = (timelog) => timelog?.employeeName || timelog?.username || 'Unknown';
 
   const getStatusBadge = (status) => {
     const statusColors = {
@@ -124,7 +106,13 @@ const TimelogManagement = () => {
     );
   };
 
-  const paginate = (pageNumber) => setCurrentPage(pageNumber);
+  const goToNextPage = () => {
+    if (!page?.hasMore) return;
+    setPageCursors((cursors) => [...cursors.slice(0, currentPage), page.nextCursor]);
+    setCurrentPage(currentPage + 1);
+  };
+
+  const goToPreviousPage = () => setCurrentPage(Math.max(1, currentPage - 1));
 
   return (
     <div className="bg-white rounded-lg shadow p-6">
@@ -157,7 +145,10 @@ const TimelogManagement = () => {
             type="text"
             placeholder="Search by name or username..."
             value={search}
-            onChange={(e) => setSearch(e.target.value)}
+            onChange={(e) => {
+              setSearch(e.target.value);
+              resetPaging();
+            }}
             onKeyPress={(e) => e.key === 'Enter' && handleSearch()}
             className="pl-10 pr-4 py-2 w-full border border-gray-300 rounded-lg focus:ring-2 focus:ring-[#8b1e3f] focus:border-transparent"
           />
@@ -171,6 +162,7 @@ const TimelogManagement = () => {
             onChange={(e) => {
               setStartDate(e.target.value);
               setEndDate(''); 
+              resetPaging();
             }}
             className="pl-10 pr-4 py-2 w-full border border-gray-300 rounded-lg focus:ring-2 focus:ring-[#8b1e3f] focus:border-transparent"
           />
@@ -187,11 +179,11 @@ const TimelogManagement = () => {
       {/* Results Count and Pagination Info */}
       <div className="flex justify-between items-center mb-4">
         <div className="text-sm text-gray-600">
-          Showing {paginatedTimelogs.length} of {timelogs.length} timelogs
+          Showing {timelogs.length} timelogs
         </div>
-        {totalPages > 1 && (
+        {(currentPage > 1 || page?.hasMore) && (
           <div className="text-sm text-gray-600">
-            Page {currentPage} of {totalPages}
+            Page {currentPage}
           </div>
         )}
       </div>
@@ -237,16 +229,16 @@ const TimelogManagement = () => {
                 </tr>
               </thead>
               <tbody className="bg-white divide-y divide-gray-200">
-                {paginatedTimelogs.map((timelog) => (
+                {timelogs.map((timelog) => (
                   <tr key={timelog.id} className="hover:bg-gray-50">
                     <td className="px-6 py-4 whitespace-nowrap">
                       <div className="flex items-center">
                         <FiUser className="mr-2 text-gray-400" />
                         <div>
                           <div className="text-sm font-medium text-gray-900">
-                            {getEmployeeName(timelog.user)}
+                            {getEmployeeName(timelog)}
                           </div>
-                          <div className="text-sm text-gray-500">{timelog.user?.username}</div>
+                          <div className="text-sm text-gray-500">{timelog.username}</div>
                         </div>
                       </div>
                     </td>
@@ -300,9 +292,9 @@ const TimelogManagement = () => {
                     </td>
                     <td className="px-6 py-4 whitespace-nowrap text-sm text-gray-900">
                       <div className="flex space-x-2">
-                        {timelog.timeInPhoto && (
+                        {timelog.timeInPhotoKey && (
                           <Button
-                            onClick={() => handleViewPhoto(timelog.timeInPhoto, 'Time In', getEmployeeName(timelog.user))}
+                            onClick={() => handleViewPhoto(timelog.id, 'in', 'Time In', getEmployeeName(timelog))}
                             variant="outline"
                             size="sm"
                             className="text-green-600 hover:text-green-700"
@@ -311,9 +303,9 @@ const TimelogManagement = () => {
                             In
                           </Button>
                         )}
-                        {timelog.timeOutPhoto && (
+                        {timelog.timeOutPhotoKey && (
                           <Button
-                            onClick={() => handleViewPhoto(timelog.timeOutPhoto, 'Time Out', getEmployeeName(timelog.user))}
+                            onClick={() => handleViewPhoto(timelog.id, 'out', 'Time Out', getEmployeeName(timelog))}
                             variant="outline"
                             size="sm"
                             className="text-red-600 hover:text-red-700"
@@ -344,32 +336,20 @@ const TimelogManagement = () => {
             </table>
 
             {/* Pagination Controls */}
-            {totalPages > 1 && (
+            {(currentPage > 1 || page?.hasMore) && (
               <div className="flex justify-center items-center mt-6 space-x-2">
                 <Button
-                  onClick={() => paginate(Math.max(1, currentPage - 1))}
+                  onClick={goToPreviousPage}
                   disabled={currentPage === 1}
                   variant="outline"
                   size="sm"
                 >
                   Previous
                 </Button>
-                
-                {Array.from({ length: totalPages }, (_, i) => i + 1).map((page) => (
-                  <Button
-                    key={page}
-                    onClick={() => paginate(page)}
-                    variant={currentPage === page ? "default" : "outline"}
-                    size="sm"
-                    className={currentPage === page ? "bg-[#8b1e3f] text-white" : ""}
-                  >
-                    {page}
-                  </Button>
-                ))}
-                
+
                 <Button
-                  onClick={() => paginate(Math.min(totalPages, currentPage + 1))}
-                  disabled={currentPage === totalPages}
+                  onClick={goToNextPage}
+                  disabled={!page?.hasMore}
                   variant="outline"
                   size="sm"
                 >
@@ -470,12 +450,7 @@ const EditTimelogModal = ({ timelog, isOpen, onClose, onSave, isLoading }) => {
     }
   }, [isOpen, isLoading]);
 
-  const getEmployeeName = (user) => {
-    if (user?.employeeDetails?.firstName && user?.employeeDetails?.lastName) {
-      return `${user.employeeDetails.firstName} ${user.employeeDetails.lastName}`;
-    }
-    return user?.username || 'Unknown';
-  };
+  const getEmployeeName = (timelog) => timelog?.employeeName || timelog?.username || 'Unknown';
 
   if (!isOpen) return null;
 
@@ -491,7 +466,7 @@ const EditTimelogModal = ({ timelog, isOpen, onClose, onSave, isLoading }) => {
 
         <div className="mb-4">
           <p className="text-sm text-gray-600">
-            Employee: <span className="font-medium">{getEmployeeName(timelog.user)}</span>
+            Employee: <span className="font-medium">{getEmployeeName(timelog)}</span>
           </p>
           <p className="text-sm text-gray-600">
             Date: <span className="font-medium">{new Date(timelog.logDate).toLocaleDateString()}</span>
@@ -576,13 +551,29 @@ const EditTimelogModal = ({ timelog, isOpen, onClose, onSave, isLoading }) => {
 const PhotoVerificationModal = ({ photo, photoType, isOpen, onClose }) => {
   const [isImageLoaded, setIsImageLoaded] = useState(false);
   const [imageError, setImageError] = useState(false);
+  const [photoUrl, setPhotoUrl] = useState(null);
 
-  const decryptedPhoto = React.useMemo(() => {
-    if (!photo) return null;
-    if (photo.startsWith('data:image/')) {
-      return photo;
-    }
-    return `data:image/jpeg;base64,${photo}`;
+  // Photos are served from the photo store, so fetch them with the auth header
+  React.useEffect(() => {
+    if (!photo) return undefined;
+    let objectUrl = null;
+    let cancelled = false;
+    getTimelogPhoto(photo.timelogId, photo.kind)
+      .then((url) => {
+        objectUrl = url;
+        if (cancelled) {
+          URL.revokeObjectURL(url);
+        } else {
+          setPhotoUrl(url);
+        }
+      })
+      .catch(() => {
+        if (!cancelled) setImageError(true);
+      });
+    return () => {
+      cancelled = true;
+      if (objectUrl) URL.revokeObjectURL(objectUrl);
+    };
   }, [photo]);
 
   if (!isOpen) return null;
@@ -614,16 +605,18 @@ const PhotoVerificationModal = ({ photo, photoType, isOpen, onClose }) => {
                   <p className="text-gray-500 mt-2">Loading photo...</p>
                 </div>
               )}
-              <img
-                src={decryptedPhoto}
-                alt={`${photoType} verification photo`}
-                className={`max-w-full h-auto rounded-lg shadow-lg ${!isImageLoaded ? 'hidden' : ''}`}
-                onLoad={() => setIsImageLoaded(true)}
-                onError={() => {
-                  setImageError(true);
-                  setIsImageLoaded(false);
-                }}
-              />
+              {photoUrl && (
+                <img
+                  src={photoUrl}
+                  alt={`${photoType} verification photo`}
+                  className={`max-w-full h-auto rounded-lg shadow-lg ${!isImageLoaded ? 'hidden' : ''}`}
+                  onLoad={() => setIsImageLoaded(true)}
+                  onError={() => {
+                    setImageError(true);
+                    setIsImageLoaded(false);
+                  }}
+                />
+              )}
             </div>
           )}
         </div>